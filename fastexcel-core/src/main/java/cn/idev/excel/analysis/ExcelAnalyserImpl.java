@@ -3,6 +3,7 @@ package cn.idev.excel.analysis;
 import cn.idev.excel.analysis.csv.CsvExcelReadExecutor;
 import cn.idev.excel.analysis.v03.XlsSaxAnalyser;
 import cn.idev.excel.analysis.v07.XlsxSaxAnalyser;
+import cn.idev.excel.cache.ReadCacheStatistics;
 import cn.idev.excel.context.AnalysisContext;
 import cn.idev.excel.context.csv.CsvReadContext;
 import cn.idev.excel.context.csv.DefaultCsvReadContext;
@@ -200,6 +201,7 @@ public class ExcelAnalyserImpl implements ExcelAnalyser {
         try {
             if (readWorkbookHolder.getReadCache() != null) {
                 readWorkbookHolder.getReadCache().destroy();
+                readCacheStatistics(readWorkbookHolder);
             }
         } catch (Throwable t) {
             throwable = t;
@@ -258,6 +260,26 @@ public class ExcelAnalyserImpl implements ExcelAnalyser {
         }
     }
     
+    /**
+     * Keep the statistics of the read cache in the holder, they can be read after the read is finished.
+     */
+    private void readCacheStatistics(ReadWorkbookHolder readWorkbookHolder) {
+        ReadCacheStatistics readCacheStatistics = readWorkbookHolder.getReadCache().statistics();
+        if (readCacheStatistics == null) {
+            return;
+        }
+        readCacheStatistics.setParseTime(readWorkbookHolder.getSharedStringsParseTime());
+        readWorkbookHolder.setReadCacheStatistics(readCacheStatistics);
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Read cache:{}, get:{}, miss:{}, loaded batch:{}, stored:{}, stored bytes:{}, peak resident "
+                            + "size:{}, parse time:{}", readCacheStatistics.getCacheName(),
+                    readCacheStatistics.getGetCount(), readCacheStatistics.getMissCount(),
+                    readCacheStatistics.getLoadedBatchCount(), readCacheStatistics.getStoredCount(),
+                    readCacheStatistics.getStoredBytes(), readCacheStatistics.getPeakResidentSize(),
+                    readCacheStatistics.getParseTime());
+        }
+    }
+    
     /**
      * Removes thread-local caches used during the analysis process to free up memory.
      */
@@ -8,8 +8,10 @@ import cn.idev.excel.enums.RowTypeEnum;
 import cn.idev.excel.exception.ExcelAnalysisException;
 import cn.idev.excel.exception.ExcelAnalysisStopSheetException;
 import cn.idev.excel.metadata.Cell;
+import cn.idev.excel.metadata.DenseRowMap;
 import cn.idev.excel.metadata.data.ReadCellData;
 import cn.idev.excel.read.metadata.ReadSheet;
+import cn.idev.excel.read.metadata.holder.ReadRowArena;
 import cn.idev.excel.read.metadata.holder.ReadRowHolder;
 import cn.idev.excel.read.metadata.holder.csv.CsvReadWorkbookHolder;
 import cn.idev.excel.util.SheetUtils;
@@ -27,7 +29,6 @@ import java.io.InputStreamReader;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -89,6 +90,15 @@ public class CsvExcelReadExecutor implements ExcelReadExecutor {
                 int rowIndex = 0;
                 
                 for (CSVRecord record : csvParser) {
+                    // The records after the last row to read are not parsed
+                    if (csvReadContext.csvReadSheetHolder().afterEndRow(rowIndex)) {
+                        break;
+                    }
+                    // The records before the first row to read are not turned into cells
+                    if (!csvReadContext.csvReadSheetHolder().includeRow(rowIndex)) {
+                        rowIndex++;
+                        continue;
+                    }
                     // Process the current record, incrementing the row index after each processing
                     dealRecord(record, rowIndex++);
                 }
@@ -163,7 +173,7 @@ public class CsvExcelReadExecutor implements ExcelReadExecutor {
      *
      * @param record   The CSV record to be processed.
      * @param rowIndex The index of the current row being processed. This method performs the following steps: 1.
-     *                 Initializes a `LinkedHashMap` to store cell data, ensuring the order of columns is preserved. 2.
+     *                 Initializes a `DenseRowMap` to store cell data, ensuring the order of columns is preserved. 2.
      *                 Iterates through each cell in the CSV record using an iterator. 3. For each cell, creates a
      *                 `ReadCellData` object and sets its metadata (row index, column index, type, and value). - If the
      *                 cell is not blank, it is treated as a string and optionally trimmed based on the `autoTrim`
@@ -175,13 +185,20 @@ public class CsvExcelReadExecutor implements ExcelReadExecutor {
      *                 ended.
      */
     private void dealRecord(CSVRecord record, int rowIndex) {
-        Map<Integer, Cell> cellMap = new LinkedHashMap<>();
+        ReadRowArena readRowArena = csvReadContext.csvReadSheetHolder().getReadRowArena();
+        Map<Integer, Cell> cellMap = readRowArena == null ? new DenseRowMap<>(record.size())
+                : readRowArena.getCellMap();
         Iterator<String> cellIterator = record.iterator();
         int columnIndex = 0;
         Boolean autoTrim = csvReadContext.currentReadHolder().globalConfiguration().getAutoTrim();
         while (cellIterator.hasNext()) {
             String cellString = cellIterator.next();
-            ReadCellData<String> readCellData = new ReadCellData<>();
+            if (!csvReadContext.csvReadSheetHolder().includeColumn(rowIndex, columnIndex)) {
+                columnIndex++;
+                continue;
+            }
+            ReadCellData<?> readCellData = readRowArena == null ? new ReadCellData<>()
+                    : readRowArena.cellData(CellDataTypeEnum.EMPTY);
             readCellData.setRowIndex(rowIndex);
             readCellData.setColumnIndex(columnIndex);
             
@@ -196,12 +213,21 @@ public class CsvExcelReadExecutor implements ExcelReadExecutor {
         }
         
         RowTypeEnum rowType = MapUtils.isEmpty(cellMap) ? RowTypeEnum.EMPTY : RowTypeEnum.DATA;
-        ReadRowHolder readRowHolder = new ReadRowHolder(rowIndex, rowType,
-                csvReadContext.readWorkbookHolder().getGlobalConfiguration(), cellMap);
+        ReadRowHolder readRowHolder;
+        if (readRowArena == null) {
+            readRowHolder = new ReadRowHolder(rowIndex, rowType,
+                    csvReadContext.readWorkbookHolder().getGlobalConfiguration(), cellMap);
+        } else {
+            readRowHolder = readRowArena.readRowHolder(rowIndex, rowType,
+                    csvReadContext.readWorkbookHolder().getGlobalConfiguration());
+        }
         csvReadContext.readRowHolder(readRowHolder);
         
         csvReadContext.csvReadSheetHolder().setCellMap(cellMap);
         csvReadContext.csvReadSheetHolder().setRowIndex(rowIndex);
         csvReadContext.analysisEventProcessor().endRow(csvReadContext);
+        if (readRowArena != null) {
+            readRowArena.recycle();
+        }
     }
 }
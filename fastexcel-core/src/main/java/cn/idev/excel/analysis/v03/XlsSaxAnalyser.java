@@ -7,6 +7,7 @@ import cn.idev.excel.analysis.v03.handlers.BoolErrRecordHandler;
 import cn.idev.excel.analysis.v03.handlers.BoundSheetRecordHandler;
 import cn.idev.excel.analysis.v03.handlers.DummyRecordHandler;
 import cn.idev.excel.analysis.v03.handlers.EofRecordHandler;
+import cn.idev.excel.analysis.v03.handlers.ExtendedFormatRecordHandler;
 import cn.idev.excel.analysis.v03.handlers.FormulaRecordHandler;
 import cn.idev.excel.analysis.v03.handlers.HyperlinkRecordHandler;
 import cn.idev.excel.analysis.v03.handlers.IndexRecordHandler;
@@ -20,25 +21,37 @@ import cn.idev.excel.analysis.v03.handlers.RkRecordHandler;
 import cn.idev.excel.analysis.v03.handlers.SstRecordHandler;
 import cn.idev.excel.analysis.v03.handlers.StringRecordHandler;
 import cn.idev.excel.analysis.v03.handlers.TextObjectRecordHandler;
+import cn.idev.excel.context.xls.DefaultXlsReadContext;
 import cn.idev.excel.context.xls.XlsReadContext;
 import cn.idev.excel.exception.ExcelAnalysisException;
 import cn.idev.excel.exception.ExcelAnalysisStopException;
 import cn.idev.excel.exception.ExcelAnalysisStopSheetException;
 import cn.idev.excel.read.metadata.ReadSheet;
+import cn.idev.excel.read.metadata.holder.xls.XlsReadSheetHolder;
 import cn.idev.excel.read.metadata.holder.xls.XlsReadWorkbookHolder;
+import cn.idev.excel.util.BooleanUtils;
+import cn.idev.excel.util.IoUtils;
+import cn.idev.excel.util.ParallelSheetUtils;
+import cn.idev.excel.util.SheetUtils;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.hssf.eventusermodel.AbortableHSSFListener;
 import org.apache.poi.hssf.eventusermodel.EventWorkbookBuilder;
 import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
 import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
 import org.apache.poi.hssf.eventusermodel.HSSFListener;
 import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.eventusermodel.HSSFUserException;
 import org.apache.poi.hssf.eventusermodel.MissingRecordAwareHSSFListener;
+import org.apache.poi.hssf.eventusermodel.dummyrecord.MissingCellDummyRecord;
 import org.apache.poi.hssf.record.BOFRecord;
 import org.apache.poi.hssf.record.BlankRecord;
 import org.apache.poi.hssf.record.BoolErrRecord;
 import org.apache.poi.hssf.record.BoundSheetRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
 import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.ExtendedFormatRecord;
 import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.FilePassRecord;
 import org.apache.poi.hssf.record.HyperlinkRecord;
 import org.apache.poi.hssf.record.IndexRecord;
 import org.apache.poi.hssf.record.LabelRecord;
@@ -49,16 +62,30 @@ import org.apache.poi.hssf.record.NumberRecord;
 import org.apache.poi.hssf.record.ObjRecord;
 import org.apache.poi.hssf.record.RKRecord;
 import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.RecordInputStream;
 import org.apache.poi.hssf.record.SSTRecord;
 import org.apache.poi.hssf.record.StringRecord;
 import org.apache.poi.hssf.record.TextObjectRecord;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.poifs.filesystem.DirectoryNode;
+import org.apache.poi.poifs.filesystem.DocumentInputStream;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.util.IOUtils;
+import org.apache.poi.util.LittleEndian;
+import org.apache.poi.util.LittleEndianConsts;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
 
 /**
  * A text extractor for Excel files.
@@ -84,6 +111,31 @@ public class XlsSaxAnalyser implements HSSFListener, ExcelReadExecutor {
     
     private final XlsReadContext xlsReadContext;
     
+    /**
+     * The formula of the last cell is skipped, so is its string record.
+     */
+    private boolean skipFormulaString;
+    
+    /**
+     * The current sheet is stopped and no later sheet is read, so the rest of the workbook is not read.
+     */
+    private boolean restIgnored;
+    
+    /**
+     * The first failure of the sheets read in parallel, null if the analyser reads the whole workbook.
+     */
+    private final AtomicReference<Throwable> failure;
+    
+    /**
+     * The depth of the BOF records of a sheet read in parallel, the charts in a sheet have their own BOF records.
+     */
+    private int bofDepth;
+    
+    /**
+     * The sheet read in parallel is stopped by the listener.
+     */
+    private boolean sheetStopped;
+    
     private static final Map<Short, XlsRecordHandler> XLS_RECORD_HANDLER_MAP = new HashMap<Short, XlsRecordHandler>(32);
     
     static {
@@ -94,6 +146,7 @@ public class XlsSaxAnalyser implements HSSFListener, ExcelReadExecutor {
         XLS_RECORD_HANDLER_MAP.put(BoundSheetRecord.sid, new BoundSheetRecordHandler());
         XLS_RECORD_HANDLER_MAP.put(DUMMY_RECORD_SID, new DummyRecordHandler());
         XLS_RECORD_HANDLER_MAP.put(EOFRecord.sid, new EofRecordHandler());
+        XLS_RECORD_HANDLER_MAP.put(ExtendedFormatRecord.sid, new ExtendedFormatRecordHandler());
         XLS_RECORD_HANDLER_MAP.put(FormulaRecord.sid, new FormulaRecordHandler());
         XLS_RECORD_HANDLER_MAP.put(HyperlinkRecord.sid, new HyperlinkRecordHandler());
         XLS_RECORD_HANDLER_MAP.put(IndexRecord.sid, new IndexRecordHandler());
@@ -115,7 +168,18 @@ public class XlsSaxAnalyser implements HSSFListener, ExcelReadExecutor {
      * @param xlsReadContext The context containing necessary information for reading the Excel file.
      */
     public XlsSaxAnalyser(XlsReadContext xlsReadContext) {
-        this.xlsReadContext = xlsReadContext;
+        this(xlsReadContext, null);
+    }
+    
+    /**
+     * Read the records of a sheet, the sheet has been set on the context.
+     *
+     * @param sheetReadContext The context of the sheet
+     * @param failure          The first failure of the sheets read in parallel
+     */
+    private XlsSaxAnalyser(XlsReadContext sheetReadContext, AtomicReference<Throwable> failure) {
+        this.xlsReadContext = sheetReadContext;
+        this.failure = failure;
     }
     
     /**
@@ -152,12 +216,27 @@ public class XlsSaxAnalyser implements HSSFListener, ExcelReadExecutor {
         EventWorkbookBuilder.SheetRecordCollectingListener workbookBuildingListener = new EventWorkbookBuilder.SheetRecordCollectingListener(
                 xlsReadWorkbookHolder.getFormatTrackingHSSFListener());
         xlsReadWorkbookHolder.setHssfWorkbook(workbookBuildingListener.getStubHSSFWorkbook());
-        HSSFEventFactory factory = new HSSFEventFactory();
-        HSSFRequest request = new HSSFRequest();
-        request.addListenerForAllRecords(xlsReadWorkbookHolder.getFormatTrackingHSSFListener());
         try {
-            factory.processWorkbookEvents(request, xlsReadWorkbookHolder.getPoifsFileSystem());
-        } catch (IOException e) {
+            DirectoryNode root = xlsReadWorkbookHolder.getPoifsFileSystem().getRoot();
+            String workbookName = HSSFWorkbook.getWorkbookDirEntryName(root);
+            Executor parallelSheetExecutor = xlsReadWorkbookHolder.getParallelSheetExecutor();
+            boolean seekable = (parallelSheetExecutor != null || xlsReadWorkbookHolder.getSeekXlsSheet())
+                    && !isEncrypted(root, workbookName);
+            if (seekable && parallelSheetExecutor != null) {
+                // Each sheet is ended by its own task
+                executeParallel(root, workbookName, parallelSheetExecutor);
+                return;
+            }
+            if (seekable) {
+                executeSeek(root, workbookName);
+            } else {
+                HSSFEventFactory factory = new HSSFEventFactory();
+                HSSFRequest request = new HSSFRequest();
+                request.addListenerForAllRecords(
+                        new StoppableListener(xlsReadWorkbookHolder.getFormatTrackingHSSFListener()));
+                factory.abortableProcessWorkbookEvents(request, xlsReadWorkbookHolder.getPoifsFileSystem());
+            }
+        } catch (IOException | HSSFUserException e) {
             throw new ExcelAnalysisException(e);
         }
         
@@ -165,6 +244,145 @@ public class XlsSaxAnalyser implements HSSFListener, ExcelReadExecutor {
         xlsReadContext.analysisEventProcessor().endSheet(xlsReadContext);
     }
     
+    /**
+     * Read the workbook globals, then jump to the BOF of each sheet to read with the offsets of the bound sheet
+     * records. The records of the other sheets are not decoded.
+     */
+    private void executeSeek(DirectoryNode root, String workbookName) throws IOException {
+        XlsReadWorkbookHolder xlsReadWorkbookHolder = xlsReadContext.xlsReadWorkbookHolder();
+        // The bound sheet records may have been read by the sheet list
+        xlsReadWorkbookHolder.getBoundSheetRecordList().clear();
+        processSubstream(root, workbookName, 0, xlsReadWorkbookHolder.getFormatTrackingHSSFListener(), () -> false);
+        BofRecordHandler.initReadSheetDataList(xlsReadWorkbookHolder);
+        BoundSheetRecord[] boundSheetRecords = BoundSheetRecord.orderByBofPosition(
+                xlsReadWorkbookHolder.getBoundSheetRecordList());
+        List<ReadSheet> actualSheetDataList = xlsReadWorkbookHolder.getActualSheetDataList();
+        for (int i = 0; i < boundSheetRecords.length && i < actualSheetDataList.size(); i++) {
+            if (SheetUtils.match(actualSheetDataList.get(i), xlsReadContext) == null) {
+                continue;
+            }
+            // The BOF record of the sheet is matched to the sheet by the index
+            xlsReadWorkbookHolder.setReadSheetIndex(i);
+            xlsReadWorkbookHolder.setIgnoreRecord(Boolean.TRUE);
+            processSubstream(root, workbookName, boundSheetRecords[i].getPositionOfBof(),
+                    xlsReadWorkbookHolder.getFormatTrackingHSSFListener(),
+                    () -> BooleanUtils.isTrue(xlsReadWorkbookHolder.getCurrentSheetStopped()));
+            // The EOF record of a stopped sheet is not read
+            xlsReadContext.analysisEventProcessor().endSheet(xlsReadContext);
+        }
+    }
+    
+    /**
+     * Read the workbook globals, then read each sheet with its own context on the executor, from the offset of its
+     * bound sheet record. Each sheet has its own stream of the workbook. The file system of a file reads the file
+     * through one channel, so the workbook stream of a file is read into memory once and the streams of the sheets
+     * are over the same bytes, the file system of an input stream is already in memory and is read directly. When a
+     * sheet fails, the other sheets stop at their next record, and the first exception is thrown after all the sheets
+     * are finished.
+     */
+    private void executeParallel(DirectoryNode root, String workbookName, Executor parallelSheetExecutor)
+            throws IOException {
+        XlsReadWorkbookHolder xlsReadWorkbookHolder = xlsReadContext.xlsReadWorkbookHolder();
+        byte[] workbookBytes = null;
+        if (xlsReadWorkbookHolder.getFile() != null) {
+            try (DocumentInputStream inputStream = root.createDocumentInputStream(workbookName)) {
+                workbookBytes = IoUtils.toByteArray(inputStream, inputStream.available());
+            }
+        }
+        // The bound sheet records may have been read by the sheet list
+        xlsReadWorkbookHolder.getBoundSheetRecordList().clear();
+        try (InputStream inputStream = workbookInputStream(root, workbookName, workbookBytes)) {
+            processSubstream(inputStream, 0, xlsReadWorkbookHolder.getFormatTrackingHSSFListener(), () -> false);
+        }
+        BofRecordHandler.initReadSheetDataList(xlsReadWorkbookHolder);
+        // The extended formats are all read, the table is shared by the sheets
+        xlsReadWorkbookHolder.initDataFormatDataTable();
+        BoundSheetRecord[] boundSheetRecords = BoundSheetRecord.orderByBofPosition(
+                xlsReadWorkbookHolder.getBoundSheetRecordList());
+        List<ReadSheet> actualSheetDataList = xlsReadWorkbookHolder.getActualSheetDataList();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Runnable> taskList = new ArrayList<>();
+        for (int i = 0; i < boundSheetRecords.length && i < actualSheetDataList.size(); i++) {
+            ReadSheet actualReadSheet = SheetUtils.match(actualSheetDataList.get(i), xlsReadContext);
+            if (actualReadSheet == null) {
+                continue;
+            }
+            XlsReadContext sheetReadContext = new DefaultXlsReadContext(xlsReadWorkbookHolder);
+            sheetReadContext.currentSheet(actualReadSheet);
+            int offset = boundSheetRecords[i].getPositionOfBof();
+            byte[] sheetWorkbookBytes = workbookBytes;
+            taskList.add(() -> {
+                XlsSaxAnalyser sheetAnalyser = new XlsSaxAnalyser(sheetReadContext, failure);
+                try (InputStream inputStream = workbookInputStream(root, workbookName, sheetWorkbookBytes)) {
+                    processSubstream(inputStream, offset, new MissingRecordAwareHSSFListener(sheetAnalyser),
+                            () -> sheetAnalyser.sheetStopped);
+                } catch (IOException e) {
+                    throw new ExcelAnalysisException(e);
+                }
+                // There are some special xls that do not have the terminator "[EOF]"
+                sheetReadContext.analysisEventProcessor().endSheet(sheetReadContext);
+            });
+        }
+        ParallelSheetUtils.execute(parallelSheetExecutor, taskList, failure);
+    }
+    
+    private static InputStream workbookInputStream(DirectoryNode root, String workbookName, byte[] workbookBytes)
+            throws IOException {
+        if (workbookBytes != null) {
+            return new ByteArrayInputStream(workbookBytes);
+        }
+        return root.createDocumentInputStream(workbookName);
+    }
+    
+    /**
+     * Process the records from the BOF record at the offset to its EOF record, or until the sheet is stopped.
+     */
+    private void processSubstream(DirectoryNode root, String workbookName, int offset, HSSFListener listener,
+            BooleanSupplier sheetStopped) throws IOException {
+        try (DocumentInputStream inputStream = root.createDocumentInputStream(workbookName)) {
+            processSubstream(inputStream, offset, listener, sheetStopped);
+        }
+    }
+    
+    private static void processSubstream(InputStream inputStream, int offset, HSSFListener listener,
+            BooleanSupplier sheetStopped) throws IOException {
+        if (IOUtils.skipFully(inputStream, offset) != offset || !isBof(inputStream)) {
+            throw new ExcelAnalysisException(
+                    "The offset of the sheet is not a BOF record, please read the file without seekXlsSheet and "
+                            + "parallelSheets:" + offset);
+        }
+        HSSFRequest request = new HSSFRequest();
+        request.addListenerForAllRecords(new SubstreamListener(listener, sheetStopped));
+        try {
+            new HSSFEventFactory().abortableProcessEvents(request, inputStream);
+        } catch (HSSFUserException e) {
+            throw new ExcelAnalysisException(e);
+        }
+    }
+    
+    private static boolean isBof(InputStream inputStream) throws IOException {
+        inputStream.mark(LittleEndianConsts.SHORT_SIZE);
+        int sid = LittleEndian.readUShort(inputStream);
+        inputStream.reset();
+        return sid == BOFRecord.sid;
+    }
+    
+    /**
+     * The records of an encrypted file can not be decrypted from the middle of the stream.
+     */
+    private boolean isEncrypted(DirectoryNode root, String workbookName) throws IOException {
+        try (DocumentInputStream inputStream = root.createDocumentInputStream(workbookName)) {
+            RecordInputStream recordInputStream = new RecordInputStream(inputStream);
+            if (!recordInputStream.hasNextRecord()) {
+                return false;
+            }
+            recordInputStream.nextRecord();
+            recordInputStream.readRemainder();
+            // The FILEPASS record is right after the BOF record of the workbook globals
+            return recordInputStream.hasNextRecord() && recordInputStream.getNextSid() == FilePassRecord.sid;
+        }
+    }
+    
     /**
      * Processes a single Excel record.
      * <p>
@@ -175,6 +393,9 @@ public class XlsSaxAnalyser implements HSSFListener, ExcelReadExecutor {
      */
     @Override
     public void processRecord(Record record) {
+        if (failure != null && !acceptParallelSheetRecord(record)) {
+            return;
+        }
         XlsRecordHandler handler = XLS_RECORD_HANDLER_MAP.get(record.getSid());
         if (handler == null) {
             return;
@@ -188,6 +409,9 @@ public class XlsSaxAnalyser implements HSSFListener, ExcelReadExecutor {
         if (!handler.support(xlsReadContext, record)) {
             return;
         }
+        if (!includeCell(record)) {
+            return;
+        }
         
         try {
             handler.processRecord(xlsReadContext, record);
@@ -195,9 +419,141 @@ public class XlsSaxAnalyser implements HSSFListener, ExcelReadExecutor {
             if (log.isDebugEnabled()) {
                 log.debug("Custom stop!", e);
             }
+            if (failure != null) {
+                // The ignored record is shared by the sheets read in parallel, so the sheet is stopped here
+                sheetStopped = true;
+                xlsReadContext.analysisEventProcessor().endSheet(xlsReadContext);
+                return;
+            }
             xlsReadContext.xlsReadWorkbookHolder().setIgnoreRecord(Boolean.TRUE);
             xlsReadContext.xlsReadWorkbookHolder().setCurrentSheetStopped(Boolean.TRUE);
+            restIgnored = !readLaterSheet();
         }
     }
     
+    /**
+     * Whether a sheet after the current one is read, the records of the other sheets are ignored.
+     */
+    private boolean readLaterSheet() {
+        XlsReadWorkbookHolder xlsReadWorkbookHolder = xlsReadContext.xlsReadWorkbookHolder();
+        List<ReadSheet> actualSheetDataList = xlsReadWorkbookHolder.getActualSheetDataList();
+        // The index of the next sheet
+        Integer readSheetIndex = xlsReadWorkbookHolder.getReadSheetIndex();
+        if (actualSheetDataList == null || readSheetIndex == null) {
+            return true;
+        }
+        for (int i = readSheetIndex; i < actualSheetDataList.size(); i++) {
+            if (SheetUtils.match(actualSheetDataList.get(i), xlsReadContext) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * The sheet read in parallel has been set on the context, so the BOF records are not matched to the sheets, and
+     * only the EOF record of the sheet ends it.
+     *
+     * @param record
+     * @return false if the record is not processed
+     */
+    private boolean acceptParallelSheetRecord(Record record) {
+        if (failure.get() != null) {
+            throw new ExcelAnalysisStopException("Another sheet failed to read.");
+        }
+        if (record instanceof BOFRecord) {
+            bofDepth++;
+            return false;
+        }
+        if (record instanceof EOFRecord) {
+            return --bofDepth == 0 && !sheetStopped;
+        }
+        return !sheetStopped;
+    }
+    
+    /**
+     * Whether the cell of the record should be read, see
+     * {@link cn.idev.excel.read.metadata.holder.ReadSheetHolder#includeColumn(int, int)}.
+     *
+     * @param record
+     * @return false if the record is a skipped cell
+     */
+    private boolean includeCell(Record record) {
+        if (record instanceof StringRecord) {
+            boolean include = !skipFormulaString;
+            skipFormulaString = false;
+            return include;
+        }
+        int rowIndex;
+        int columnIndex;
+        if (record instanceof CellValueRecordInterface) {
+            rowIndex = ((CellValueRecordInterface) record).getRow();
+            columnIndex = ((CellValueRecordInterface) record).getColumn();
+        } else if (record instanceof MissingCellDummyRecord) {
+            rowIndex = ((MissingCellDummyRecord) record).getRow();
+            columnIndex = ((MissingCellDummyRecord) record).getColumn();
+        } else {
+            return true;
+        }
+        XlsReadSheetHolder xlsReadSheetHolder = xlsReadContext.xlsReadSheetHolder();
+        if (xlsReadSheetHolder == null || xlsReadSheetHolder.includeColumn(rowIndex, columnIndex)) {
+            return true;
+        }
+        if (record instanceof FormulaRecord
+                && ((FormulaRecord) record).getCachedResultTypeEnum() == CellType.STRING) {
+            skipFormulaString = true;
+        }
+        return false;
+    }
+    
+    /**
+     * Stop reading the workbook when the current sheet is stopped and no later sheet is read, like after the end row
+     * of the last sheet that is read.
+     */
+    private class StoppableListener extends AbortableHSSFListener {
+        
+        private final HSSFListener listener;
+        
+        private StoppableListener(HSSFListener listener) {
+            this.listener = listener;
+        }
+        
+        @Override
+        public short abortableProcessRecord(Record record) {
+            listener.processRecord(record);
+            return restIgnored ? (short) 1 : 0;
+        }
+    }
+    
+    /**
+     * Stop after the EOF record of the substream, the charts in a sheet have their own BOF and EOF records. The sheet
+     * also stops when it is stopped by the listener or after its end row, the rest of its records are not read.
+     */
+    private static class SubstreamListener extends AbortableHSSFListener {
+        
+        private final HSSFListener listener;
+        
+        private final BooleanSupplier sheetStopped;
+        
+        private int bofDepth;
+        
+        private SubstreamListener(HSSFListener listener, BooleanSupplier sheetStopped) {
+            this.listener = listener;
+            this.sheetStopped = sheetStopped;
+        }
+        
+        @Override
+        public short abortableProcessRecord(Record record) {
+            listener.processRecord(record);
+            if (sheetStopped.getAsBoolean()) {
+                return 1;
+            }
+            if (record instanceof BOFRecord) {
+                bofDepth++;
+            } else if (record instanceof EOFRecord && --bofDepth <= 0) {
+                return 1;
+            }
+            return 0;
+        }
+    }
 }
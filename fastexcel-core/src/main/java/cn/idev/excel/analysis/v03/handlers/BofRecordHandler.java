@@ -26,6 +26,7 @@ public class BofRecordHandler extends AbstractXlsRecordHandler {
         if (br.getType() == BOFRecord.TYPE_WORKBOOK) {
             xlsReadWorkbookHolder.setReadSheetIndex(null);
             xlsReadWorkbookHolder.setIgnoreRecord(Boolean.FALSE);
+            xlsReadWorkbookHolder.setExtendedFormatCount(0);
             return;
         }
         if (br.getType() != BOFRecord.TYPE_WORKSHEET) {
@@ -53,7 +54,12 @@ public class BofRecordHandler extends AbstractXlsRecordHandler {
         xlsReadWorkbookHolder.setReadSheetIndex(xlsReadWorkbookHolder.getReadSheetIndex() + 1);
     }
     
-    private void initReadSheetDataList(XlsReadWorkbookHolder xlsReadWorkbookHolder) {
+    /**
+     * Init the actual sheets from the bound sheet records, in the order of their BOF records.
+     *
+     * @param xlsReadWorkbookHolder
+     */
+    public static void initReadSheetDataList(XlsReadWorkbookHolder xlsReadWorkbookHolder) {
         if (xlsReadWorkbookHolder.getActualSheetDataList() != null) {
             return;
         }
@@ -3,7 +3,9 @@ package cn.idev.excel.analysis.v03.handlers;
 import cn.idev.excel.analysis.v03.IgnorableXlsRecordHandler;
 import cn.idev.excel.context.xls.XlsReadContext;
 import cn.idev.excel.enums.RowTypeEnum;
+import cn.idev.excel.exception.ExcelAnalysisStopSheetException;
 import cn.idev.excel.metadata.Cell;
+import cn.idev.excel.metadata.DenseRowMap;
 import cn.idev.excel.metadata.data.ReadCellData;
 import cn.idev.excel.read.metadata.holder.ReadRowHolder;
 import cn.idev.excel.read.metadata.holder.xls.XlsReadSheetHolder;
@@ -11,8 +13,6 @@ import org.apache.poi.hssf.eventusermodel.dummyrecord.LastCellOfRowDummyRecord;
 import org.apache.poi.hssf.eventusermodel.dummyrecord.MissingCellDummyRecord;
 import org.apache.poi.hssf.record.Record;
 
-import java.util.LinkedHashMap;
-
 /**
  * Record handler
  *
@@ -26,11 +26,19 @@ public class DummyRecordHandler extends AbstractXlsRecordHandler implements Igno
         if (record instanceof LastCellOfRowDummyRecord) {
             // End of this row
             LastCellOfRowDummyRecord lcrdr = (LastCellOfRowDummyRecord) record;
+            if (xlsReadSheetHolder.afterEndRow(lcrdr.getRow())) {
+                throw new ExcelAnalysisStopSheetException();
+            }
             xlsReadSheetHolder.setRowIndex(lcrdr.getRow());
+            if (!xlsReadSheetHolder.includeRow(lcrdr.getRow())) {
+                // The cells of the row have been skipped
+                xlsReadSheetHolder.setTempRowType(RowTypeEnum.EMPTY);
+                return;
+            }
             xlsReadContext.readRowHolder(new ReadRowHolder(lcrdr.getRow(), xlsReadSheetHolder.getTempRowType(),
                     xlsReadContext.readSheetHolder().getGlobalConfiguration(), xlsReadSheetHolder.getCellMap()));
             xlsReadContext.analysisEventProcessor().endRow(xlsReadContext);
-            xlsReadSheetHolder.setCellMap(new LinkedHashMap<Integer, Cell>());
+            xlsReadSheetHolder.setCellMap(new DenseRowMap<Cell>());
             xlsReadSheetHolder.setTempRowType(RowTypeEnum.EMPTY);
         } else if (record instanceof MissingCellDummyRecord) {
             MissingCellDummyRecord mcdr = (MissingCellDummyRecord) record;
@@ -3,13 +3,12 @@ package cn.idev.excel.analysis.v03.handlers;
 import cn.idev.excel.context.xls.XlsReadContext;
 import cn.idev.excel.enums.RowTypeEnum;
 import cn.idev.excel.metadata.Cell;
+import cn.idev.excel.metadata.DenseRowMap;
 import cn.idev.excel.read.metadata.holder.ReadRowHolder;
 import cn.idev.excel.read.metadata.holder.xls.XlsReadSheetHolder;
 import cn.idev.excel.util.BooleanUtils;
 import org.apache.poi.hssf.record.Record;
 
-import java.util.LinkedHashMap;
-
 /**
  * Record handler
  *
@@ -40,7 +39,7 @@ public class EofRecordHandler extends AbstractXlsRecordHandler {
                     xlsReadSheetHolder.getTempRowType(), xlsReadContext.readSheetHolder().getGlobalConfiguration(),
                     xlsReadSheetHolder.getCellMap()));
             xlsReadContext.analysisEventProcessor().endRow(xlsReadContext);
-            xlsReadSheetHolder.setCellMap(new LinkedHashMap<Integer, Cell>());
+            xlsReadSheetHolder.setCellMap(new DenseRowMap<Cell>());
             xlsReadSheetHolder.setTempRowType(RowTypeEnum.EMPTY);
         }
         
@@ -0,0 +1,17 @@
+package cn.idev.excel.analysis.v03.handlers;
+
+import cn.idev.excel.context.xls.XlsReadContext;
+import org.apache.poi.hssf.record.Record;
+
+/**
+ * Record handler, count the extended formats of the workbook. They are tracked by
+ * {@link org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener}, which does not expose the number of them.
+ */
+public class ExtendedFormatRecordHandler extends AbstractXlsRecordHandler {
+    
+    @Override
+    public void processRecord(XlsReadContext xlsReadContext, Record record) {
+        xlsReadContext.xlsReadWorkbookHolder().setExtendedFormatCount(
+                xlsReadContext.xlsReadWorkbookHolder().getExtendedFormatCount() + 1);
+    }
+}
@@ -1,13 +1,11 @@
 package cn.idev.excel.analysis.v03.handlers;
 
 import cn.idev.excel.analysis.v03.IgnorableXlsRecordHandler;
-import cn.idev.excel.constant.BuiltinFormats;
 import cn.idev.excel.constant.EasyExcelConstants;
 import cn.idev.excel.context.xls.XlsReadContext;
 import cn.idev.excel.enums.CellDataTypeEnum;
 import cn.idev.excel.enums.RowTypeEnum;
 import cn.idev.excel.metadata.Cell;
-import cn.idev.excel.metadata.data.DataFormatData;
 import cn.idev.excel.metadata.data.FormulaData;
 import cn.idev.excel.metadata.data.ReadCellData;
 import lombok.extern.slf4j.Slf4j;
@@ -60,14 +58,7 @@ public class FormulaRecordHandler extends AbstractXlsRecordHandler implements Ig
                 tempCellData.setOriginalNumberValue(BigDecimal.valueOf(frec.getValue()));
                 tempCellData.setNumberValue(
                         tempCellData.getOriginalNumberValue().round(EasyExcelConstants.EXCEL_MATH_CONTEXT));
-                int dataFormat = xlsReadContext.xlsReadWorkbookHolder().getFormatTrackingHSSFListener()
-                        .getFormatIndex(frec);
-                DataFormatData dataFormatData = new DataFormatData();
-                dataFormatData.setIndex((short) dataFormat);
-                dataFormatData.setFormat(BuiltinFormats.getBuiltinFormat(dataFormatData.getIndex(),
-                        xlsReadContext.xlsReadWorkbookHolder().getFormatTrackingHSSFListener().getFormatString(frec),
-                        xlsReadContext.readSheetHolder().getGlobalConfiguration().getLocale()));
-                tempCellData.setDataFormatData(dataFormatData);
+                tempCellData.setDataFormatData(xlsReadContext.xlsReadWorkbookHolder().dataFormatData(frec));
                 cellMap.put((int) frec.getColumn(), tempCellData);
                 break;
             case ERROR:
@@ -1,10 +1,8 @@
 package cn.idev.excel.analysis.v03.handlers;
 
 import cn.idev.excel.analysis.v03.IgnorableXlsRecordHandler;
-import cn.idev.excel.constant.BuiltinFormats;
 import cn.idev.excel.context.xls.XlsReadContext;
 import cn.idev.excel.enums.RowTypeEnum;
-import cn.idev.excel.metadata.data.DataFormatData;
 import cn.idev.excel.metadata.data.ReadCellData;
 import org.apache.poi.hssf.record.NumberRecord;
 import org.apache.poi.hssf.record.Record;
@@ -23,14 +21,7 @@ public class NumberRecordHandler extends AbstractXlsRecordHandler implements Ign
         NumberRecord nr = (NumberRecord) record;
         ReadCellData<?> cellData = ReadCellData.newInstanceOriginal(BigDecimal.valueOf(nr.getValue()), nr.getRow(),
                 (int) nr.getColumn());
-        short dataFormat = (short) xlsReadContext.xlsReadWorkbookHolder().getFormatTrackingHSSFListener()
-                .getFormatIndex(nr);
-        DataFormatData dataFormatData = new DataFormatData();
-        dataFormatData.setIndex(dataFormat);
-        dataFormatData.setFormat(BuiltinFormats.getBuiltinFormat(dataFormat,
-                xlsReadContext.xlsReadWorkbookHolder().getFormatTrackingHSSFListener().getFormatString(nr),
-                xlsReadContext.readSheetHolder().getGlobalConfiguration().getLocale()));
-        cellData.setDataFormatData(dataFormatData);
+        cellData.setDataFormatData(xlsReadContext.xlsReadWorkbookHolder().dataFormatData(nr));
         xlsReadContext.xlsReadSheetHolder().getCellMap().put((int) nr.getColumn(), cellData);
         xlsReadContext.xlsReadSheetHolder().setTempRowType(RowTypeEnum.DATA);
     }
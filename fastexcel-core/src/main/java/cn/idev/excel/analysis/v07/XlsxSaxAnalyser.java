@@ -2,17 +2,27 @@ package cn.idev.excel.analysis.v07;
 
 import cn.idev.excel.analysis.ExcelReadExecutor;
 import cn.idev.excel.analysis.v07.handlers.sax.SharedStringsTableHandler;
+import cn.idev.excel.analysis.v07.handlers.sax.XlsxCommentsHandler;
+import cn.idev.excel.analysis.v07.handlers.sax.XlsxRelationshipsHandler;
 import cn.idev.excel.analysis.v07.handlers.sax.XlsxRowHandler;
+import cn.idev.excel.analysis.v07.handlers.sax.XlsxStylesHandler;
+import cn.idev.excel.analysis.v07.handlers.sax.XlsxWorkbookHandler;
+import cn.idev.excel.cache.AsyncReadCache;
 import cn.idev.excel.cache.ReadCache;
+import cn.idev.excel.cache.SharedStringsStore;
+import cn.idev.excel.cache.SheetIndexStore;
+import cn.idev.excel.cache.SynchronizedReadCache;
+import cn.idev.excel.context.xlsx.DefaultXlsxReadContext;
 import cn.idev.excel.context.xlsx.XlsxReadContext;
 import cn.idev.excel.enums.CellExtraTypeEnum;
 import cn.idev.excel.exception.ExcelAnalysisException;
+import cn.idev.excel.exception.ExcelAnalysisStopException;
 import cn.idev.excel.exception.ExcelAnalysisStopSheetException;
-import cn.idev.excel.metadata.CellExtra;
 import cn.idev.excel.read.metadata.ReadSheet;
+import cn.idev.excel.read.metadata.holder.ReadSheetHolder;
 import cn.idev.excel.read.metadata.holder.xlsx.XlsxReadWorkbookHolder;
 import cn.idev.excel.util.FileUtils;
-import cn.idev.excel.util.MapUtils;
+import cn.idev.excel.util.ParallelSheetUtils;
 import cn.idev.excel.util.SheetUtils;
 import cn.idev.excel.util.StringUtils;
 import lombok.extern.slf4j.Slf4j;
@@ -21,13 +31,11 @@ import org.apache.poi.openxml4j.opc.OPCPackage;
 import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.openxml4j.opc.PackagePart;
 import org.apache.poi.openxml4j.opc.PackagePartName;
+import org.apache.poi.openxml4j.opc.PackageRelationship;
 import org.apache.poi.openxml4j.opc.PackageRelationshipCollection;
+import org.apache.poi.openxml4j.opc.PackageRelationshipTypes;
 import org.apache.poi.openxml4j.opc.PackagingURIHelper;
-import org.apache.poi.ss.util.CellAddress;
 import org.apache.poi.xssf.eventusermodel.XSSFReader;
-import org.apache.poi.xssf.model.Comments;
-import org.apache.poi.xssf.model.CommentsTable;
-import org.apache.poi.xssf.usermodel.XSSFComment;
 import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTWorkbook;
 import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTWorkbookPr;
 import org.openxmlformats.schemas.spreadsheetml.x2006.main.WorkbookDocument;
@@ -40,15 +48,19 @@ import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
 import java.io.File;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * @author jipengfei
@@ -70,6 +82,22 @@ public class XlsxSaxAnalyser implements ExcelReadExecutor {
         }
     }
     
+    private static final String ROOT_RELATIONSHIPS_PART_NAME = "/_rels/.rels";
+    
+    private static final String DEFAULT_WORKBOOK_PART_NAME = "/xl/workbook.xml";
+    
+    private static final String OFFICE_DOCUMENT_RELATIONSHIP_TYPE = "/officeDocument";
+    
+    private static final String STYLES_RELATIONSHIP_TYPE = "/styles";
+    
+    private static final String SHARED_STRINGS_RELATIONSHIP_TYPE = "/sharedStrings";
+    
+    private static final String WORKSHEET_RELATIONSHIP_TYPE = "/worksheet";
+    
+    private static final String CHARTSHEET_RELATIONSHIP_TYPE = "/chartsheet";
+    
+    private static final String COMMENTS_RELATIONSHIP_TYPE = "/comments";
+    
     private final XlsxReadContext xlsxReadContext;
     
     private final List<ReadSheet> sheetList;
@@ -77,26 +105,72 @@ public class XlsxSaxAnalyser implements ExcelReadExecutor {
     private final Map<Integer, InputStream> sheetMap;
     
     /**
-     * excel comments key: sheetNo value: CommentsTable
+     * The package parts of the sheets, only used by {@link SheetIndexStore}, the extras and the deprecated
+     * relationships of {@link XlsxReadWorkbookHolder}. key: sheetNo
+     */
+    private final Map<Integer, PackagePart> sheetPartMap;
+    
+    /**
+     * Not null if the xlsx is read from a streaming zip.
      */
-    private final Map<Integer, CommentsTable> commentsTableMap;
+    private XlsxStreamingPackage streamingPackage;
+    
+    /**
+     * The parts of the sheets in the streaming zip. key: sheetNo
+     */
+    private final Map<Integer, String> streamingSheetPartNameMap;
+    
+    /**
+     * The styles in the streaming zip, null if it has been read or there are no styles.
+     */
+    private String streamingStylesPartName;
+    
+    /**
+     * The shared strings in the streaming zip, null if they have been read or there are no shared strings.
+     */
+    private String streamingSharedStringsPartName;
     
     public XlsxSaxAnalyser(XlsxReadContext xlsxReadContext, InputStream decryptedStream) throws Exception {
         this.xlsxReadContext = xlsxReadContext;
         // Initialize cache
         XlsxReadWorkbookHolder xlsxReadWorkbookHolder = xlsxReadContext.xlsxReadWorkbookHolder();
         
+        sheetList = new ArrayList<>();
+        sheetMap = new HashMap<>();
+        sheetPartMap = new HashMap<>();
+        xlsxReadWorkbookHolder.setSheetPartMap(sheetPartMap);
+        streamingSheetPartNameMap = new HashMap<>();
+        if (useStreamingZip(xlsxReadWorkbookHolder, decryptedStream)) {
+            initStreamingZip(xlsxReadWorkbookHolder);
+            return;
+        }
+        
         OPCPackage pkg = readOpcPackage(xlsxReadWorkbookHolder, decryptedStream);
         xlsxReadWorkbookHolder.setOpcPackage(pkg);
         
         // Read the Shared information Strings
         PackagePart sharedStringsTablePackagePart = pkg.getPart(SHARED_STRINGS_PART_NAME);
-        if (sharedStringsTablePackagePart != null) {
+        String storeKey = null;
+        if (sharedStringsTablePackagePart != null && xlsxReadWorkbookHolder.getPersistentSharedStrings()) {
+            storeKey = SharedStringsStore.key(sharedStringsTablePackagePart);
+        }
+        if (sharedStringsTablePackagePart != null && !loadStoredReadCache(xlsxReadWorkbookHolder, storeKey)) {
             // Specify default cache
-            defaultReadCache(xlsxReadWorkbookHolder, sharedStringsTablePackagePart);
+            defaultReadCache(xlsxReadWorkbookHolder, sharedStringsTablePackagePart, storeKey);
             
             // Analysis sharedStringsTable.xml
-            analysisSharedStringsTable(sharedStringsTablePackagePart.getInputStream(), xlsxReadWorkbookHolder);
+            InputStream sharedStringsTableInputStream = sharedStringsTablePackagePart.getInputStream();
+            if (xlsxReadWorkbookHolder.getReadCache() instanceof AsyncReadCache) {
+                ((AsyncReadCache) xlsxReadWorkbookHolder.getReadCache()).load(
+                        () -> analysisSharedStringsTable(sharedStringsTableInputStream, xlsxReadWorkbookHolder));
+            } else {
+                analysisSharedStringsTable(sharedStringsTableInputStream, xlsxReadWorkbookHolder);
+            }
+        }
+        
+        if (useLightweightMetadata(xlsxReadWorkbookHolder)) {
+            initLightweightMetadata(xlsxReadWorkbookHolder, pkg);
+            return;
         }
         
         XSSFReader xssfReader = new XSSFReader(pkg);
@@ -105,12 +179,6 @@ public class XlsxSaxAnalyser implements ExcelReadExecutor {
         // set style table
         setStylesTable(xlsxReadWorkbookHolder, xssfReader);
         
-        sheetList = new ArrayList<>();
-        sheetMap = new HashMap<>();
-        commentsTableMap = new HashMap<>();
-        Map<Integer, PackageRelationshipCollection> packageRelationshipCollectionMap = MapUtils.newHashMap();
-        xlsxReadWorkbookHolder.setPackageRelationshipCollectionMap(packageRelationshipCollectionMap);
-        
         XSSFReader.SheetIterator ite = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
         int index = 0;
         if (!ite.hasNext()) {
@@ -120,28 +188,195 @@ public class XlsxSaxAnalyser implements ExcelReadExecutor {
             InputStream inputStream = ite.next();
             sheetList.add(new ReadSheet(index, ite.getSheetName()));
             sheetMap.put(index, inputStream);
-            if (xlsxReadContext.readWorkbookHolder().getExtraReadSet().contains(CellExtraTypeEnum.COMMENT)) {
-                Comments comments = ite.getSheetComments();
-                if (comments instanceof CommentsTable) {
-                    commentsTableMap.put(index, (CommentsTable) comments);
+            if (needSheetPart(xlsxReadWorkbookHolder) && ite.getSheetPart() != null) {
+                sheetPartMap.put(index, ite.getSheetPart());
+            }
+            index++;
+        }
+    }
+    
+    /**
+     * The comments and the hyperlinks are read from the relationships of the sheet part after the sheet data.
+     */
+    private boolean needSheetPart(XlsxReadWorkbookHolder xlsxReadWorkbookHolder) {
+        return xlsxReadWorkbookHolder.getPersistentSheetIndex()
+                || xlsxReadWorkbookHolder.getExtraReadSet().contains(CellExtraTypeEnum.COMMENT)
+                || xlsxReadWorkbookHolder.getExtraReadSet().contains(CellExtraTypeEnum.HYPERLINK);
+    }
+    
+    private boolean useLightweightMetadata(XlsxReadWorkbookHolder xlsxReadWorkbookHolder) {
+        return xlsxReadWorkbookHolder.getLightweightMetadata();
+    }
+    
+    /**
+     * Read the sheets, the 1904 date system and the number formats with SAX instead of {@link XSSFReader}, the
+     * schemas of XMLBeans are not loaded.
+     */
+    private void initLightweightMetadata(XlsxReadWorkbookHolder xlsxReadWorkbookHolder, OPCPackage pkg)
+            throws Exception {
+        PackageRelationshipCollection coreDocumentRelationships = pkg.getRelationshipsByType(
+                PackageRelationshipTypes.CORE_DOCUMENT);
+        if (coreDocumentRelationships.size() == 0) {
+            coreDocumentRelationships = pkg.getRelationshipsByType(PackageRelationshipTypes.STRICT_CORE_DOCUMENT);
+        }
+        PackagePart workbookPart = coreDocumentRelationships.size() == 0 ? null
+                : pkg.getPart(coreDocumentRelationships.getRelationship(0));
+        if (workbookPart == null) {
+            throw new ExcelAnalysisException("Can not find the workbook.");
+        }
+        XlsxWorkbookHandler workbookHandler = new XlsxWorkbookHandler();
+        parseXmlSource(workbookPart.getInputStream(), workbookHandler);
+        if (xlsxReadWorkbookHolder.globalConfiguration().getUse1904windowing() == null) {
+            xlsxReadWorkbookHolder.getGlobalConfiguration().setUse1904windowing(workbookHandler.isDate1904());
+        }
+        
+        for (PackageRelationship packageRelationship : workbookPart.getRelationships()) {
+            if (packageRelationship.getRelationshipType().endsWith(STYLES_RELATIONSHIP_TYPE)) {
+                PackagePart stylesPart = workbookPart.getRelatedPart(packageRelationship);
+                if (stylesPart != null) {
+                    readLightweightStyles(stylesPart.getInputStream());
                 }
+                break;
+            }
+        }
+        
+        int index = 0;
+        for (int i = 0; i < workbookHandler.getSheetNameList().size(); i++) {
+            String relationshipId = workbookHandler.getSheetRelationshipIdList().get(i);
+            PackageRelationship packageRelationship = relationshipId == null ? null
+                    : workbookPart.getRelationship(relationshipId);
+            if (packageRelationship == null || !isSheetRelationshipType(
+                    packageRelationship.getRelationshipType())) {
+                continue;
+            }
+            PackagePart sheetPart = workbookPart.getRelatedPart(packageRelationship);
+            if (sheetPart == null) {
+                continue;
+            }
+            sheetList.add(new ReadSheet(index, workbookHandler.getSheetNameList().get(i)));
+            sheetMap.put(index, sheetPart.getInputStream());
+            if (needSheetPart(xlsxReadWorkbookHolder)) {
+                sheetPartMap.put(index, sheetPart);
+            }
+            index++;
+        }
+        if (sheetList.isEmpty()) {
+            throw new ExcelAnalysisException("Can not find any sheet!");
+        }
+    }
+    
+    private boolean isSheetRelationshipType(String type) {
+        return type != null && (type.endsWith(WORKSHEET_RELATIONSHIP_TYPE) || type.endsWith(
+                CHARTSHEET_RELATIONSHIP_TYPE));
+    }
+    
+    /**
+     * Only read the number formats, the other styles are not used by the read.
+     */
+    private void readLightweightStyles(InputStream inputStream) {
+        try {
+            XlsxStylesHandler stylesHandler = new XlsxStylesHandler();
+            parseXmlSource(inputStream, stylesHandler);
+            XlsxReadWorkbookHolder xlsxReadWorkbookHolder = xlsxReadContext.xlsxReadWorkbookHolder();
+            xlsxReadWorkbookHolder.setNumberFormatMap(stylesHandler.getNumberFormatMap());
+            xlsxReadWorkbookHolder.setCellStyleNumberFormatIds(stylesHandler.getCellStyleNumberFormatIds());
+        } catch (Exception e) {
+            log.warn("Can not read the styles, but it doesn't affect the data analysis.", e);
+        }
+    }
+    
+    /**
+     * The comments and the hyperlinks need the relationships of the package, so they are read from the temp file.
+     */
+    private boolean useStreamingZip(XlsxReadWorkbookHolder xlsxReadWorkbookHolder, InputStream decryptedStream) {
+        return xlsxReadWorkbookHolder.getStreamingZip() && decryptedStream == null
+                && xlsxReadWorkbookHolder.getFile() == null && xlsxReadWorkbookHolder.getInputStream() != null
+                && !xlsxReadWorkbookHolder.getExtraReadSet().contains(CellExtraTypeEnum.COMMENT)
+                && !xlsxReadWorkbookHolder.getExtraReadSet().contains(CellExtraTypeEnum.HYPERLINK);
+    }
+    
+    /**
+     * Read the stream until the workbook and its relationships are found. The parts before them may be needed later,
+     * so they are spooled.
+     */
+    private void initStreamingZip(XlsxReadWorkbookHolder xlsxReadWorkbookHolder) {
+        streamingPackage = new XlsxStreamingPackage(xlsxReadWorkbookHolder.getInputStream(),
+                xlsxReadWorkbookHolder::setTempFile);
+        String workbookPartName = DEFAULT_WORKBOOK_PART_NAME;
+        XlsxWorkbookHandler workbookHandler = null;
+        XlsxRelationshipsHandler workbookRelationshipsHandler = null;
+        while (workbookHandler == null || workbookRelationshipsHandler == null) {
+            String partName = streamingPackage.nextPart();
+            if (partName == null) {
+                throw new ExcelAnalysisException("Can not find the workbook in the stream.");
             }
-            if (xlsxReadContext.readWorkbookHolder().getExtraReadSet().contains(CellExtraTypeEnum.HYPERLINK)) {
-                PackageRelationshipCollection packageRelationshipCollection = Optional.ofNullable(ite.getSheetPart())
-                        .map(packagePart -> {
-                            try {
-                                return packagePart.getRelationships();
-                            } catch (InvalidFormatException e) {
-                                log.warn("Reading the Relationship failed", e);
-                                return null;
-                            }
-                        }).orElse(null);
-                if (packageRelationshipCollection != null) {
-                    packageRelationshipCollectionMap.put(index, packageRelationshipCollection);
+            if (ROOT_RELATIONSHIPS_PART_NAME.equals(partName)) {
+                XlsxRelationshipsHandler rootRelationshipsHandler = new XlsxRelationshipsHandler();
+                parseXmlSource(streamingPackage.currentInputStream(), rootRelationshipsHandler);
+                String target = rootRelationshipsHandler.targetOfType(OFFICE_DOCUMENT_RELATIONSHIP_TYPE);
+                if (target != null) {
+                    workbookPartName = XlsxStreamingPackage.resolve("/", target);
                 }
+            } else if (partName.equals(workbookPartName)) {
+                workbookHandler = new XlsxWorkbookHandler();
+                parseXmlSource(streamingPackage.currentInputStream(), workbookHandler);
+            } else if (partName.equals(XlsxStreamingPackage.relationshipsPartName(workbookPartName))) {
+                workbookRelationshipsHandler = new XlsxRelationshipsHandler();
+                parseXmlSource(streamingPackage.currentInputStream(), workbookRelationshipsHandler);
+            } else if (partName.endsWith(".xml")) {
+                streamingPackage.spoolCurrent();
+            }
+        }
+        if (xlsxReadWorkbookHolder.globalConfiguration().getUse1904windowing() == null) {
+            xlsxReadWorkbookHolder.getGlobalConfiguration().setUse1904windowing(workbookHandler.isDate1904());
+        }
+        streamingStylesPartName = streamingTarget(workbookPartName, workbookRelationshipsHandler
+                .targetOfType(STYLES_RELATIONSHIP_TYPE));
+        streamingSharedStringsPartName = streamingTarget(workbookPartName, workbookRelationshipsHandler
+                .targetOfType(SHARED_STRINGS_RELATIONSHIP_TYPE));
+        int index = 0;
+        for (int i = 0; i < workbookHandler.getSheetNameList().size(); i++) {
+            String relationshipId = workbookHandler.getSheetRelationshipIdList().get(i);
+            String type = workbookRelationshipsHandler.getTypeMap().get(relationshipId);
+            if (!isSheetRelationshipType(type)) {
+                continue;
             }
+            sheetList.add(new ReadSheet(index, workbookHandler.getSheetNameList().get(i)));
+            streamingSheetPartNameMap.put(index, streamingTarget(workbookPartName,
+                    workbookRelationshipsHandler.getTargetMap().get(relationshipId)));
             index++;
         }
+        if (sheetList.isEmpty()) {
+            throw new ExcelAnalysisException("Can not find any sheet!");
+        }
+        
+        // The styles and the shared strings may be before the workbook
+        if (streamingStylesPartName != null && streamingPackage.isSpooled(streamingStylesPartName)) {
+            readStreamingStyles(streamingPackage.spooledInputStream(streamingStylesPartName));
+        }
+        if (streamingSharedStringsPartName != null && streamingPackage.isSpooled(streamingSharedStringsPartName)) {
+            long size = streamingPackage.spooledSize(streamingSharedStringsPartName);
+            readStreamingSharedStrings(streamingPackage.spooledInputStream(streamingSharedStringsPartName), size);
+        }
+        streamingPackage.retainSpooled(streamingSheetPartNameMap.values());
+    }
+    
+    private String streamingTarget(String workbookPartName, String target) {
+        return target == null ? null : XlsxStreamingPackage.resolve(workbookPartName, target);
+    }
+    
+    private void readStreamingStyles(InputStream inputStream) {
+        streamingStylesPartName = null;
+        readLightweightStyles(inputStream);
+    }
+    
+    private void readStreamingSharedStrings(InputStream inputStream, long size) {
+        streamingSharedStringsPartName = null;
+        XlsxReadWorkbookHolder xlsxReadWorkbookHolder = xlsxReadContext.xlsxReadWorkbookHolder();
+        ReadCache readCache = xlsxReadWorkbookHolder.getReadCacheSelector().readCache(size);
+        xlsxReadWorkbookHolder.setReadCache(readCache);
+        readCache.init(xlsxReadContext);
+        analysisSharedStringsTable(inputStream, xlsxReadWorkbookHolder);
     }
     
     private void setStylesTable(XlsxReadWorkbookHolder xlsxReadWorkbookHolder, XSSFReader xssfReader) {
@@ -155,12 +390,50 @@ public class XlsxSaxAnalyser implements ExcelReadExecutor {
     }
     
     private void defaultReadCache(XlsxReadWorkbookHolder xlsxReadWorkbookHolder,
-            PackagePart sharedStringsTablePackagePart) {
-        ReadCache readCache = xlsxReadWorkbookHolder.getReadCacheSelector().readCache(sharedStringsTablePackagePart);
+            PackagePart sharedStringsTablePackagePart, String storeKey) {
+        ReadCache readCache;
+        if (storeKey != null) {
+            readCache = SharedStringsStore.create(storeKey);
+        } else {
+            readCache = xlsxReadWorkbookHolder.getReadCacheSelector().readCache(sharedStringsTablePackagePart);
+        }
+        if (xlsxReadWorkbookHolder.getAsyncSharedStrings()) {
+            readCache = new AsyncReadCache(readCache);
+        }
         xlsxReadWorkbookHolder.setReadCache(readCache);
         readCache.init(xlsxReadContext);
     }
     
+    /**
+     * Use the shared strings stored by the previous read of the same workbook.
+     *
+     * @param xlsxReadWorkbookHolder
+     * @param storeKey
+     * @return false if not stored
+     */
+    private boolean loadStoredReadCache(XlsxReadWorkbookHolder xlsxReadWorkbookHolder, String storeKey) {
+        if (storeKey == null) {
+            return false;
+        }
+        ReadCache readCache = SharedStringsStore.load(storeKey);
+        if (readCache == null) {
+            return false;
+        }
+        try {
+            readCache.init(xlsxReadContext);
+        } catch (ExcelAnalysisException e) {
+            log.warn("The stored shared strings can not be loaded, parse them again.", e);
+            readCache.destroy();
+            SharedStringsStore.evict(storeKey);
+            return false;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Load the stored shared strings:{}", storeKey);
+        }
+        xlsxReadWorkbookHolder.setReadCache(readCache);
+        return true;
+    }
+    
     private void analysisUse1904WindowDate(XSSFReader xssfReader, XlsxReadWorkbookHolder xlsxReadWorkbookHolder)
             throws Exception {
         if (xlsxReadWorkbookHolder.globalConfiguration().getUse1904windowing() != null) {
@@ -179,9 +452,11 @@ public class XlsxSaxAnalyser implements ExcelReadExecutor {
     
     private void analysisSharedStringsTable(InputStream sharedStringsTableInputStream,
             XlsxReadWorkbookHolder xlsxReadWorkbookHolder) {
+        long start = System.currentTimeMillis();
         ContentHandler handler = new SharedStringsTableHandler(xlsxReadWorkbookHolder.getReadCache());
         parseXmlSource(sharedStringsTableInputStream, handler);
         xlsxReadWorkbookHolder.getReadCache().putFinished();
+        xlsxReadWorkbookHolder.setSharedStringsParseTime(System.currentTimeMillis() - start);
     }
     
     private OPCPackage readOpcPackage(XlsxReadWorkbookHolder xlsxReadWorkbookHolder, InputStream decryptedStream)
@@ -255,41 +530,250 @@ public class XlsxSaxAnalyser implements ExcelReadExecutor {
     
     @Override
     public void execute() {
+        if (streamingPackage != null) {
+            executeStreamingZip();
+            return;
+        }
+        Executor parallelSheetExecutor = xlsxReadContext.xlsxReadWorkbookHolder().getParallelSheetExecutor();
+        if (parallelSheetExecutor != null) {
+            executeParallel(parallelSheetExecutor);
+            return;
+        }
         for (ReadSheet readSheet : sheetList) {
             readSheet = SheetUtils.match(readSheet, xlsxReadContext);
             if (readSheet != null) {
-                try {
-                    xlsxReadContext.currentSheet(readSheet);
-                    parseXmlSource(sheetMap.get(readSheet.getSheetNo()), new XlsxRowHandler(xlsxReadContext));
-                    // Read comments
-                    readComments(readSheet);
-                } catch (ExcelAnalysisStopSheetException e) {
-                    if (log.isDebugEnabled()) {
-                        log.debug("Custom stop!", e);
-                    }
+                xlsxReadContext.currentSheet(readSheet);
+                readSheet(xlsxReadContext, readSheet, sheetInputStream(xlsxReadContext, readSheet.getSheetNo()));
+            }
+        }
+    }
+    
+    /**
+     * Read the sheets in the order of the workbook. A sheet is parsed directly from the zip if the styles and the
+     * shared strings have been read, otherwise it is spooled until they are read.
+     */
+    private void executeStreamingZip() {
+        List<ReadSheet> readSheetList = new ArrayList<>();
+        Set<String> pendingPartNameSet = new HashSet<>();
+        for (ReadSheet readSheet : sheetList) {
+            ReadSheet actualReadSheet = SheetUtils.match(readSheet, xlsxReadContext);
+            if (actualReadSheet != null) {
+                readSheetList.add(actualReadSheet);
+                pendingPartNameSet.add(streamingSheetPartNameMap.get(actualReadSheet.getSheetNo()));
+            }
+        }
+        for (ReadSheet readSheet : readSheetList) {
+            String partName = streamingSheetPartNameMap.get(readSheet.getSheetNo());
+            pendingPartNameSet.remove(partName);
+            InputStream inputStream = streamingSheetInputStream(partName, pendingPartNameSet);
+            xlsxReadContext.currentSheet(readSheet);
+            readSheet(xlsxReadContext, readSheet, inputStream);
+        }
+    }
+    
+    /**
+     * Read the stream until the sheet can be parsed. The styles and the shared strings are read on the way, and the
+     * other sheets to read are spooled.
+     *
+     * @param partName           The part of the sheet
+     * @param pendingPartNameSet The parts of the sheets that are read later
+     * @return stream of the sheet
+     */
+    private InputStream streamingSheetInputStream(String partName, Set<String> pendingPartNameSet) {
+        while (true) {
+            boolean dependencyRead = streamingStylesPartName == null && streamingSharedStringsPartName == null;
+            if (streamingPackage.isSpooled(partName) && (dependencyRead || streamingPackage.isFinished())) {
+                return streamingPackage.spooledInputStream(partName);
+            }
+            String currentPartName = streamingPackage.nextPart();
+            if (currentPartName == null) {
+                if (streamingPackage.isSpooled(partName)) {
+                    continue;
+                }
+                throw new ExcelAnalysisException(
+                        "Can not find the sheet in the stream, each sheet can only be read once:" + partName);
+            }
+            if (currentPartName.equals(streamingStylesPartName)) {
+                readStreamingStyles(streamingPackage.currentInputStream());
+            } else if (currentPartName.equals(streamingSharedStringsPartName)) {
+                if (streamingPackage.currentSize() >= 0) {
+                    readStreamingSharedStrings(streamingPackage.currentInputStream(), streamingPackage.currentSize());
+                } else {
+                    // The size is needed to select the cache
+                    streamingPackage.spoolCurrent();
+                    long size = streamingPackage.spooledSize(currentPartName);
+                    readStreamingSharedStrings(streamingPackage.spooledInputStream(currentPartName), size);
                 }
-                // The last sheet is read
-                xlsxReadContext.analysisEventProcessor().endSheet(xlsxReadContext);
+            } else if (currentPartName.equals(partName) && dependencyRead) {
+                return streamingPackage.currentInputStream();
+            } else if (currentPartName.equals(partName) || pendingPartNameSet.contains(currentPartName)) {
+                streamingPackage.spoolCurrent();
+            }
+        }
+    }
+    
+    /**
+     * Read each sheet with its own context on the executor. When a sheet fails, the streams of the other sheets stop
+     * returning data, and the first exception is thrown after all the sheets are finished.
+     */
+    private void executeParallel(Executor parallelSheetExecutor) {
+        XlsxReadWorkbookHolder xlsxReadWorkbookHolder = xlsxReadContext.xlsxReadWorkbookHolder();
+        xlsxReadWorkbookHolder.setReadCache(SynchronizedReadCache.wrap(xlsxReadWorkbookHolder.getReadCache()));
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Runnable> taskList = new ArrayList<>();
+        for (ReadSheet readSheet : sheetList) {
+            ReadSheet actualReadSheet = SheetUtils.match(readSheet, xlsxReadContext);
+            if (actualReadSheet == null) {
+                continue;
+            }
+            XlsxReadContext sheetReadContext = new DefaultXlsxReadContext(xlsxReadWorkbookHolder);
+            sheetReadContext.currentSheet(actualReadSheet);
+            taskList.add(() -> {
+                // The stored sheet is written by the task, so that the sheets are stored concurrently
+                InputStream inputStream = new ParallelSheetInputStream(
+                        sheetInputStream(sheetReadContext, actualReadSheet.getSheetNo()), failure);
+                readSheet(sheetReadContext, actualReadSheet, inputStream);
+            });
+        }
+        ParallelSheetUtils.execute(parallelSheetExecutor, taskList, failure);
+    }
+    
+    /**
+     * The stream of the sheet. If the sheet index is persistent, the sheet is read from {@link SheetIndexStore} and
+     * the rows between the head and the start row are skipped.
+     */
+    private InputStream sheetInputStream(XlsxReadContext sheetReadContext, Integer sheetNo) {
+        InputStream inputStream = sheetMap.get(sheetNo);
+        PackagePart sheetPackagePart = sheetPartMap.get(sheetNo);
+        if (sheetPackagePart == null || !sheetReadContext.xlsxReadWorkbookHolder().getPersistentSheetIndex()) {
+            return inputStream;
+        }
+        ReadSheetHolder readSheetHolder = sheetReadContext.readSheetHolder();
+        return SheetIndexStore.open(sheetPackagePart, inputStream, readSheetHolder.getHeadRowNumber(),
+                readSheetHolder.getStartRow());
+    }
+    
+    private void readSheet(XlsxReadContext sheetReadContext, ReadSheet readSheet, InputStream inputStream) {
+        PackagePart sheetPart = sheetPartMap.get(readSheet.getSheetNo());
+        try {
+            if (sheetPart != null && sheetReadContext.readWorkbookHolder().getExtraReadSet()
+                    .contains(CellExtraTypeEnum.HYPERLINK)) {
+                sheetReadContext.xlsxReadSheetHolder().setRelationshipTargetSupplier(
+                        () -> readHyperlinkTargets(sheetPart));
             }
+            parseSheet(sheetReadContext, inputStream);
+            // Read comments
+            readComments(sheetReadContext, sheetPart);
+        } catch (ExcelAnalysisStopSheetException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Custom stop!", e);
+            }
+        }
+        // The last sheet is read
+        sheetReadContext.analysisEventProcessor().endSheet(sheetReadContext);
+    }
+    
+    private void parseSheet(XlsxReadContext sheetReadContext, InputStream inputStream) {
+        if (!sheetReadContext.xlsxReadWorkbookHolder().getUseSheetTokenizer()) {
+            parseXmlSource(inputStream, new XlsxRowHandler(sheetReadContext));
+            return;
+        }
+        XlsxSheetTokenizer xlsxSheetTokenizer = new XlsxSheetTokenizer(sheetReadContext, inputStream);
+        if (!xlsxSheetTokenizer.isSupported()) {
+            parseXmlSource(xlsxSheetTokenizer.remainingInputStream(), new XlsxRowHandler(sheetReadContext));
+            return;
         }
+        xlsxSheetTokenizer.parse();
     }
     
-    private void readComments(ReadSheet readSheet) {
-        if (!xlsxReadContext.readWorkbookHolder().getExtraReadSet().contains(CellExtraTypeEnum.COMMENT)) {
+    /**
+     * The comments are parsed and sent one by one, the comments table is not kept.
+     */
+    private void readComments(XlsxReadContext sheetReadContext, PackagePart sheetPart) {
+        if (sheetPart == null || !sheetReadContext.readWorkbookHolder().getExtraReadSet()
+                .contains(CellExtraTypeEnum.COMMENT)) {
+            return;
+        }
+        String target = readSheetRelationships(sheetPart, false).targetOfType(COMMENTS_RELATIONSHIP_TYPE);
+        if (target == null) {
+            return;
+        }
+        PackagePart commentsPart;
+        try {
+            commentsPart = sheetPart.getPackage().getPart(PackagingURIHelper.createPartName(
+                    XlsxStreamingPackage.resolve(sheetPart.getPartName().getName(), target)));
+        } catch (InvalidFormatException e) {
+            log.warn("Can not find the comments:{}", target, e);
             return;
         }
-        CommentsTable commentsTable = commentsTableMap.get(readSheet.getSheetNo());
-        if (commentsTable == null) {
+        if (commentsPart == null) {
             return;
         }
-        Iterator<CellAddress> cellAddresses = commentsTable.getCellAddresses();
-        while (cellAddresses.hasNext()) {
-            CellAddress cellAddress = cellAddresses.next();
-            XSSFComment cellComment = commentsTable.findCellComment(cellAddress);
-            CellExtra cellExtra = new CellExtra(CellExtraTypeEnum.COMMENT, cellComment.getString().toString(),
-                    cellAddress.getRow(), cellAddress.getColumn());
-            xlsxReadContext.readSheetHolder().setCellExtra(cellExtra);
-            xlsxReadContext.analysisEventProcessor().extra(xlsxReadContext);
+        try {
+            parseXmlSource(commentsPart.getInputStream(), new XlsxCommentsHandler(sheetReadContext));
+        } catch (IOException e) {
+            throw new ExcelAnalysisException("Can not read the comments:" + target, e);
+        }
+    }
+    
+    /**
+     * The targets of the relationships of the sheet, the same as {@link PackageRelationship#getTargetURI()}.
+     */
+    private Map<String, String> readHyperlinkTargets(PackagePart sheetPart) {
+        Map<String, String> targetMap = readSheetRelationships(sheetPart, true).getTargetMap();
+        for (Map.Entry<String, String> entry : targetMap.entrySet()) {
+            try {
+                entry.setValue(PackagingURIHelper.toURI(entry.getValue()).toString());
+            } catch (URISyntaxException e) {
+                log.warn("The target of the relationship is not a valid uri:{}", entry.getValue());
+            }
+        }
+        return targetMap;
+    }
+    
+    private XlsxRelationshipsHandler readSheetRelationships(PackagePart sheetPart, boolean includeExternal) {
+        XlsxRelationshipsHandler relationshipsHandler = new XlsxRelationshipsHandler(includeExternal);
+        try {
+            PackagePart relationshipsPart = sheetPart.getPackage().getPart(
+                    PackagingURIHelper.getRelationshipPartName(sheetPart.getPartName()));
+            if (relationshipsPart != null) {
+                parseXmlSource(relationshipsPart.getInputStream(), relationshipsHandler);
+            }
+        } catch (IOException e) {
+            throw new ExcelAnalysisException(
+                    "Can not read the relationships of the sheet:" + sheetPart.getPartName(), e);
+        }
+        return relationshipsHandler;
+    }
+    
+    /**
+     * Stop reading the sheet when another sheet has failed.
+     */
+    private static class ParallelSheetInputStream extends FilterInputStream {
+        
+        private final AtomicReference<Throwable> failure;
+        
+        private ParallelSheetInputStream(InputStream inputStream, AtomicReference<Throwable> failure) {
+            super(inputStream);
+            this.failure = failure;
+        }
+        
+        @Override
+        public int read() throws IOException {
+            checkFailure();
+            return super.read();
+        }
+        
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            checkFailure();
+            return super.read(b, off, len);
+        }
+        
+        private void checkFailure() {
+            if (failure.get() != null) {
+                throw new ExcelAnalysisStopException("Another sheet failed.");
+            }
         }
     }
 }
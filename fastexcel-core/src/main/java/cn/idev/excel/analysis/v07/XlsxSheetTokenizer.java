@@ -0,0 +1,873 @@
+package cn.idev.excel.analysis.v07;
+
+import cn.idev.excel.analysis.v07.handlers.CellFormulaTagHandler;
+import cn.idev.excel.analysis.v07.handlers.CellTagHandler;
+import cn.idev.excel.analysis.v07.handlers.CountTagHandler;
+import cn.idev.excel.analysis.v07.handlers.HyperlinkTagHandler;
+import cn.idev.excel.analysis.v07.handlers.MergeCellTagHandler;
+import cn.idev.excel.analysis.v07.handlers.RowTagHandler;
+import cn.idev.excel.analysis.v07.handlers.XlsxTagHandler;
+import cn.idev.excel.constant.ExcelXmlConstants;
+import cn.idev.excel.context.xlsx.XlsxReadContext;
+import cn.idev.excel.enums.CellDataTypeEnum;
+import cn.idev.excel.exception.ExcelAnalysisException;
+import cn.idev.excel.read.metadata.holder.xlsx.XlsxReadSheetHolder;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.AttributesImpl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A streaming tokenizer of the worksheet xml, used instead of the SAX parser.
+ * <p>
+ * It scans the UTF-8 bytes directly and only handles the tags used by the read: {@code dimension}, {@code row},
+ * {@code c}, {@code v}, {@code f}, {@code t}, {@code mergeCell} and {@code hyperlink}. The attributes of rows and cells
+ * are decoded from the bytes without creating strings, and the values are appended to reused {@link StringBuilder}s.
+ * Other tags, comments and processing instructions are skipped, and a document type declaration is rejected.
+ * <p>
+ * Only UTF-8 is supported, see {@link #isSupported()}.
+ */
+class XlsxSheetTokenizer {
+    
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private static final int TAG_OTHER = 0;
+    
+    private static final int TAG_DIMENSION = 1;
+    
+    private static final int TAG_ROW = 2;
+    
+    private static final int TAG_CELL = 3;
+    
+    private static final int TAG_CELL_VALUE = 4;
+    
+    private static final int TAG_CELL_FORMULA = 5;
+    
+    private static final int TAG_CELL_INLINE_STRING_VALUE = 6;
+    
+    private static final int TAG_MERGE_CELL = 7;
+    
+    private static final int TAG_HYPERLINK = 8;
+    
+    private static final byte[] DIMENSION = bytes(ExcelXmlConstants.DIMENSION_TAG);
+    
+    private static final byte[] ROW = bytes(ExcelXmlConstants.ROW_TAG);
+    
+    private static final byte[] MERGE_CELL = bytes(ExcelXmlConstants.MERGE_CELL_TAG);
+    
+    private static final byte[] HYPERLINK = bytes(ExcelXmlConstants.HYPERLINK_TAG);
+    
+    private static final byte[] PREFIX_X = bytes("x");
+    
+    private static final byte[] PREFIX_NS2 = bytes("ns2");
+    
+    private static final byte[] TYPE_STR = bytes("str");
+    
+    private static final byte[] TYPE_INLINE_STR = bytes("inlineStr");
+    
+    private static final byte[] XML_DECLARATION = bytes("<?xml");
+    
+    private static final byte[] ENCODING = bytes("encoding");
+    
+    private static final RowTagHandler ROW_TAG_HANDLER = new RowTagHandler();
+    
+    private static final CellTagHandler CELL_TAG_HANDLER = new CellTagHandler();
+    
+    private static final CellFormulaTagHandler CELL_FORMULA_TAG_HANDLER = new CellFormulaTagHandler();
+    
+    private static final CountTagHandler COUNT_TAG_HANDLER = new CountTagHandler();
+    
+    private static final MergeCellTagHandler MERGE_CELL_TAG_HANDLER = new MergeCellTagHandler();
+    
+    private static final HyperlinkTagHandler HYPERLINK_TAG_HANDLER = new HyperlinkTagHandler();
+    
+    private final XlsxReadContext xlsxReadContext;
+    
+    private final InputStream inputStream;
+    
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    
+    private int position;
+    
+    private int limit;
+    
+    /**
+     * Qualified name of the current tag
+     */
+    private byte[] name = new byte[64];
+    
+    private int nameLength;
+    
+    /**
+     * Start of the local name in {@link #name}
+     */
+    private int localNameStart;
+    
+    /**
+     * Names and raw values of the attributes of the current tag
+     */
+    private byte[] attributeBytes = new byte[256];
+    
+    private int attributeBytesLength;
+    
+    /**
+     * Each attribute takes 4 elements: name start, name end, value start and value end in {@link #attributeBytes}
+     */
+    private int[] attributePositions = new int[32];
+    
+    private int attributeCount;
+    
+    private final StringBuilder tempData = new StringBuilder();
+    
+    private final StringBuilder tempFormula = new StringBuilder();
+    
+    /**
+     * The text of the current tag is appended here, null if the text is not needed
+     */
+    private StringBuilder text;
+    
+    private boolean inCell;
+    
+    XlsxSheetTokenizer(XlsxReadContext xlsxReadContext, InputStream inputStream) {
+        this.xlsxReadContext = xlsxReadContext;
+        this.inputStream = inputStream;
+        try {
+            // Read the head to check the encoding
+            while (limit < buffer.length) {
+                int read = inputStream.read(buffer, limit, buffer.length - limit);
+                if (read < 0) {
+                    break;
+                }
+                limit += read;
+                if (limit >= XML_DECLARATION.length && indexOf((byte) '>', 0) >= 0) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            throw new ExcelAnalysisException(e);
+        }
+    }
+    
+    /**
+     * Whether the encoding of the sheet is UTF-8. If not, the sheet should be parsed from
+     * {@link #remainingInputStream()} by the SAX parser.
+     *
+     * @return true if supported
+     */
+    boolean isSupported() {
+        if (limit >= 2) {
+            int first = buffer[0] & 0xFF;
+            int second = buffer[1] & 0xFF;
+            // UTF-16 or UTF-32
+            if (first == 0xFE || first == 0xFF || first == 0 || second == 0) {
+                return false;
+            }
+        }
+        int start = limit >= 3 && (buffer[0] & 0xFF) == 0xEF && (buffer[1] & 0xFF) == 0xBB
+                && (buffer[2] & 0xFF) == 0xBF ? 3 : 0;
+        if (!startsWith(start, XML_DECLARATION)) {
+            return true;
+        }
+        int end = indexOf((byte) '>', start);
+        if (end < 0) {
+            return false;
+        }
+        for (int i = start; i + ENCODING.length <= end; i++) {
+            if (!startsWith(i, ENCODING)) {
+                continue;
+            }
+            int quote = i + ENCODING.length;
+            while (quote < end && buffer[quote] != '"' && buffer[quote] != '\'') {
+                quote++;
+            }
+            int valueEnd = quote + 1;
+            while (valueEnd < end && buffer[valueEnd] != buffer[quote]) {
+                valueEnd++;
+            }
+            String encoding = new String(buffer, quote + 1, Math.max(0, valueEnd - quote - 1),
+                    StandardCharsets.ISO_8859_1);
+            return "UTF-8".equalsIgnoreCase(encoding) || "UTF8".equalsIgnoreCase(encoding);
+        }
+        return true;
+    }
+    
+    /**
+     * The whole sheet, including the head that has been read.
+     *
+     * @return input stream
+     */
+    InputStream remainingInputStream() {
+        return new SequenceInputStream(new ByteArrayInputStream(buffer, position, limit - position), inputStream);
+    }
+    
+    void parse() {
+        XlsxReadSheetHolder xlsxReadSheetHolder = xlsxReadContext.xlsxReadSheetHolder();
+        xlsxReadSheetHolder.setTempData(tempData);
+        xlsxReadSheetHolder.setTempFormula(tempFormula);
+        try {
+            if (limit >= 3 && (buffer[0] & 0xFF) == 0xEF && (buffer[1] & 0xFF) == 0xBB
+                    && (buffer[2] & 0xFF) == 0xBF) {
+                position = 3;
+            }
+            while (true) {
+                if (text == null) {
+                    if (!skipToMarkup()) {
+                        return;
+                    }
+                } else {
+                    int b = read();
+                    if (b < 0) {
+                        return;
+                    }
+                    if (b != '<') {
+                        appendText(b);
+                        continue;
+                    }
+                }
+                readMarkup();
+            }
+        } catch (IOException e) {
+            throw new ExcelAnalysisException(e);
+        } finally {
+            try {
+                inputStream.close();
+            } catch (IOException e) {
+                throw new ExcelAnalysisException("Can not close 'inputStream'!");
+            }
+        }
+    }
+    
+    /**
+     * Skip the text until the next '<', which is consumed.
+     *
+     * @return false if the end of the stream is reached
+     */
+    private boolean skipToMarkup() throws IOException {
+        while (true) {
+            for (int i = position; i < limit; i++) {
+                if (buffer[i] == '<') {
+                    position = i + 1;
+                    return true;
+                }
+            }
+            position = limit;
+            if (!fill()) {
+                return false;
+            }
+        }
+    }
+    
+    private void readMarkup() throws IOException {
+        int b = readRequired();
+        if (b == '/') {
+            readName(readRequired());
+            int end = b;
+            while (end != '>') {
+                end = readRequired();
+            }
+            endElement(tag());
+            return;
+        }
+        if (b == '?') {
+            skipPast('?', '>');
+            return;
+        }
+        if (b == '!') {
+            b = readRequired();
+            if (b == '-') {
+                readRequired();
+                skipComment();
+                return;
+            }
+            if (b == '[') {
+                // <![CDATA[
+                for (int i = 0; i < 6; i++) {
+                    readRequired();
+                }
+                readCharacterData();
+                return;
+            }
+            throw new ExcelAnalysisException("Document type declaration is not allowed in the sheet.");
+        }
+        readName(b);
+        boolean selfClosing = readAttributes();
+        int tag = tag();
+        startElement(tag);
+        if (selfClosing) {
+            endElement(tag);
+        }
+    }
+    
+    private void startElement(int tag) {
+        switch (tag) {
+            case TAG_ROW:
+                int rowIndex;
+                int rowAttribute = attribute('r');
+                if (rowAttribute < 0) {
+                    Integer lastRowIndex = xlsxReadContext.xlsxReadSheetHolder().getRowIndex();
+                    rowIndex = lastRowIndex == null ? 0 : lastRowIndex + 1;
+                } else {
+                    rowIndex = parseInt(rowAttribute) - 1;
+                }
+                ROW_TAG_HANDLER.startRow(xlsxReadContext, rowIndex);
+                return;
+            case TAG_CELL:
+                startCell();
+                return;
+            case TAG_CELL_VALUE:
+            case TAG_CELL_INLINE_STRING_VALUE:
+                if (inCell) {
+                    text = tempData;
+                }
+                return;
+            case TAG_CELL_FORMULA:
+                if (inCell) {
+                    tempFormula.setLength(0);
+                    text = tempFormula;
+                }
+                return;
+            case TAG_DIMENSION:
+                startElement(COUNT_TAG_HANDLER);
+                return;
+            case TAG_MERGE_CELL:
+                startElement(MERGE_CELL_TAG_HANDLER);
+                return;
+            case TAG_HYPERLINK:
+                startElement(HYPERLINK_TAG_HANDLER);
+                return;
+            default:
+        }
+    }
+    
+    private void startElement(XlsxTagHandler xlsxTagHandler) {
+        if (xlsxTagHandler.support(xlsxReadContext)) {
+            xlsxTagHandler.startElement(xlsxReadContext, new String(name, 0, nameLength, StandardCharsets.UTF_8),
+                    attributes());
+        }
+    }
+    
+    private void startCell() {
+        XlsxReadSheetHolder xlsxReadSheetHolder = xlsxReadContext.xlsxReadSheetHolder();
+        int columnIndex;
+        int columnAttribute = attribute('r');
+        if (columnAttribute < 0) {
+            Integer lastColumnIndex = xlsxReadSheetHolder.getColumnIndex();
+            columnIndex = lastColumnIndex == null ? 0 : lastColumnIndex + 1;
+        } else {
+            columnIndex = parseColumn(columnAttribute);
+        }
+        if (!xlsxReadSheetHolder.includeColumn(xlsxReadSheetHolder.getRowIndex(), columnIndex)) {
+            // Not in a cell, so the value and the formula are not read
+            xlsxReadSheetHolder.setColumnIndex(columnIndex);
+            return;
+        }
+        int styleIndex = 0;
+        int styleAttribute = attribute('s');
+        if (styleAttribute >= 0 && attributeValueLength(styleAttribute) > 0) {
+            styleIndex = parseInt(styleAttribute);
+        }
+        CELL_TAG_HANDLER.startCell(xlsxReadContext, columnIndex, cellType(attribute('t')), styleIndex);
+        tempData.setLength(0);
+        inCell = true;
+    }
+    
+    private void endElement(int tag) {
+        switch (tag) {
+            case TAG_ROW:
+                ROW_TAG_HANDLER.endElement(xlsxReadContext, ExcelXmlConstants.ROW_TAG);
+                return;
+            case TAG_CELL:
+                if (inCell) {
+                    CELL_TAG_HANDLER.endElement(xlsxReadContext, ExcelXmlConstants.CELL_TAG);
+                    inCell = false;
+                    text = null;
+                }
+                return;
+            case TAG_CELL_VALUE:
+            case TAG_CELL_INLINE_STRING_VALUE:
+                text = null;
+                return;
+            case TAG_CELL_FORMULA:
+                if (inCell) {
+                    text = null;
+                    CELL_FORMULA_TAG_HANDLER.endElement(xlsxReadContext, ExcelXmlConstants.CELL_FORMULA_TAG);
+                }
+                return;
+            default:
+        }
+    }
+    
+    /**
+     * The tag of {@link #name}. Only the prefixes supported by the SAX handler are accepted.
+     *
+     * @return tag
+     */
+    private int tag() {
+        if (localNameStart > 0) {
+            int prefixLength = localNameStart - 1;
+            if (!(equals(name, 0, prefixLength, PREFIX_X) || equals(name, 0, prefixLength, PREFIX_NS2))) {
+                return TAG_OTHER;
+            }
+        }
+        int length = nameLength - localNameStart;
+        if (length == 1) {
+            switch (name[localNameStart]) {
+                case 'c':
+                    return TAG_CELL;
+                case 'v':
+                    return TAG_CELL_VALUE;
+                case 'f':
+                    return TAG_CELL_FORMULA;
+                case 't':
+                    return TAG_CELL_INLINE_STRING_VALUE;
+                default:
+                    return TAG_OTHER;
+            }
+        }
+        if (equals(name, localNameStart, length, ROW)) {
+            return TAG_ROW;
+        }
+        if (equals(name, localNameStart, length, DIMENSION)) {
+            return TAG_DIMENSION;
+        }
+        if (equals(name, localNameStart, length, MERGE_CELL)) {
+            return TAG_MERGE_CELL;
+        }
+        if (equals(name, localNameStart, length, HYPERLINK)) {
+            return TAG_HYPERLINK;
+        }
+        return TAG_OTHER;
+    }
+    
+    private void readName(int first) throws IOException {
+        nameLength = 0;
+        localNameStart = 0;
+        int b = first;
+        while (!isWhitespace(b) && b != '>' && b != '/') {
+            if (nameLength == name.length) {
+                name = Arrays.copyOf(name, name.length << 1);
+            }
+            if (b == ':') {
+                localNameStart = nameLength + 1;
+            }
+            name[nameLength++] = (byte) b;
+            b = readRequired();
+        }
+        // Give back the delimiter
+        position--;
+    }
+    
+    /**
+     * Read the attributes of a start tag.
+     *
+     * @return true if the tag is self closing
+     */
+    private boolean readAttributes() throws IOException {
+        attributeCount = 0;
+        attributeBytesLength = 0;
+        while (true) {
+            int b = readRequired();
+            if (isWhitespace(b)) {
+                continue;
+            }
+            if (b == '>') {
+                return false;
+            }
+            if (b == '/') {
+                while (b != '>') {
+                    b = readRequired();
+                }
+                return true;
+            }
+            int index = attributeCount * 4;
+            if (index + 4 > attributePositions.length) {
+                attributePositions = Arrays.copyOf(attributePositions, attributePositions.length << 1);
+            }
+            attributePositions[index] = attributeBytesLength;
+            while (b != '=' && !isWhitespace(b)) {
+                appendAttributeByte(b);
+                b = readRequired();
+            }
+            attributePositions[index + 1] = attributeBytesLength;
+            while (b != '"' && b != '\'') {
+                b = readRequired();
+            }
+            int quote = b;
+            attributePositions[index + 2] = attributeBytesLength;
+            b = readRequired();
+            while (b != quote) {
+                appendAttributeByte(b);
+                b = readRequired();
+            }
+            attributePositions[index + 3] = attributeBytesLength;
+            attributeCount++;
+        }
+    }
+    
+    private void appendAttributeByte(int b) {
+        if (attributeBytesLength == attributeBytes.length) {
+            attributeBytes = Arrays.copyOf(attributeBytes, attributeBytes.length << 1);
+        }
+        attributeBytes[attributeBytesLength++] = (byte) b;
+    }
+    
+    /**
+     * Find an attribute whose name is a single character.
+     *
+     * @param attributeName
+     * @return index of the attribute, -1 if not found
+     */
+    private int attribute(char attributeName) {
+        for (int i = 0; i < attributeCount; i++) {
+            int nameStart = attributePositions[i * 4];
+            if (attributePositions[i * 4 + 1] - nameStart == 1 && attributeBytes[nameStart] == attributeName) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    private int attributeValueLength(int attributeIndex) {
+        return attributePositions[attributeIndex * 4 + 3] - attributePositions[attributeIndex * 4 + 2];
+    }
+    
+    private int parseInt(int attributeIndex) {
+        int start = attributePositions[attributeIndex * 4 + 2];
+        int end = attributePositions[attributeIndex * 4 + 3];
+        int value = 0;
+        if (end == start || end - start > 9) {
+            return Integer.parseInt(attributeValue(attributeIndex));
+        }
+        for (int i = start; i < end; i++) {
+            int digit = attributeBytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return Integer.parseInt(attributeValue(attributeIndex));
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+    
+    /**
+     * Same as {@link cn.idev.excel.util.PositionUtils#getCol(String, Integer)}
+     */
+    private int parseColumn(int attributeIndex) {
+        int start = attributePositions[attributeIndex * 4 + 2];
+        int end = attributePositions[attributeIndex * 4 + 3];
+        if (start < end && attributeBytes[start] == '$') {
+            start++;
+        }
+        int column = 0;
+        for (int i = start; i < end; i++) {
+            int b = attributeBytes[i];
+            if (b == '$' || (b >= '0' && b <= '9')) {
+                break;
+            }
+            column = column * 26 + Character.toUpperCase((char) b) - 'A' + 1;
+        }
+        return column - 1;
+    }
+    
+    /**
+     * Same as {@link CellDataTypeEnum#buildFromCellType(String)}
+     */
+    private CellDataTypeEnum cellType(int attributeIndex) {
+        if (attributeIndex < 0) {
+            return CellDataTypeEnum.EMPTY;
+        }
+        int start = attributePositions[attributeIndex * 4 + 2];
+        int length = attributeValueLength(attributeIndex);
+        if (length == 0) {
+            return CellDataTypeEnum.EMPTY;
+        }
+        if (length == 1) {
+            switch (attributeBytes[start]) {
+                case 's':
+                    return CellDataTypeEnum.STRING;
+                case 'n':
+                    return CellDataTypeEnum.NUMBER;
+                case 'b':
+                    return CellDataTypeEnum.BOOLEAN;
+                case 'e':
+                    return CellDataTypeEnum.ERROR;
+                default:
+            }
+        }
+        if (equals(attributeBytes, start, length, TYPE_STR) || equals(attributeBytes, start, length, TYPE_INLINE_STR)) {
+            return CellDataTypeEnum.DIRECT_STRING;
+        }
+        return CellDataTypeEnum.buildFromCellType(attributeValue(attributeIndex));
+    }
+    
+    private Attributes attributes() {
+        AttributesImpl attributes = new AttributesImpl();
+        for (int i = 0; i < attributeCount; i++) {
+            int nameStart = attributePositions[i * 4];
+            String qName = new String(attributeBytes, nameStart, attributePositions[i * 4 + 1] - nameStart,
+                    StandardCharsets.UTF_8);
+            int colon = qName.indexOf(':');
+            attributes.addAttribute("", colon < 0 ? qName : qName.substring(colon + 1), qName, "CDATA",
+                    attributeValue(i));
+        }
+        return attributes;
+    }
+    
+    /**
+     * Decode the value of an attribute, including the entities and the whitespace normalization.
+     */
+    private String attributeValue(int attributeIndex) {
+        int start = attributePositions[attributeIndex * 4 + 2];
+        int end = attributePositions[attributeIndex * 4 + 3];
+        String value = new String(attributeBytes, start, end - start, StandardCharsets.UTF_8);
+        if (value.indexOf('&') < 0 && value.indexOf('\r') < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\t') < 0) {
+            return value;
+        }
+        StringBuilder stringBuilder = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\r') {
+                if (i + 1 < value.length() && value.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                stringBuilder.append(' ');
+            } else if (c == '\n' || c == '\t') {
+                stringBuilder.append(' ');
+            } else if (c == '&') {
+                int semicolon = value.indexOf(';', i);
+                if (semicolon < 0) {
+                    throw new ExcelAnalysisException("Invalid entity in the sheet:" + value);
+                }
+                appendEntity(stringBuilder, value.substring(i + 1, semicolon));
+                i = semicolon;
+            } else {
+                stringBuilder.append(c);
+            }
+        }
+        return stringBuilder.toString();
+    }
+    
+    private void appendText(int b) throws IOException {
+        if (b < 0x80) {
+            if (b == '&') {
+                appendEntity(text, readEntityName());
+            } else if (b == '\r') {
+                // Line ends are normalized to '\n'
+                text.append('\n');
+                if (position < limit || fill()) {
+                    if (buffer[position] == '\n') {
+                        position++;
+                    }
+                }
+            } else {
+                text.append((char) b);
+            }
+            return;
+        }
+        appendMultiByteCharacter(b);
+    }
+    
+    private void appendMultiByteCharacter(int b) throws IOException {
+        int codePoint;
+        int count;
+        if ((b & 0xE0) == 0xC0) {
+            codePoint = b & 0x1F;
+            count = 1;
+        } else if ((b & 0xF0) == 0xE0) {
+            codePoint = b & 0x0F;
+            count = 2;
+        } else if ((b & 0xF8) == 0xF0) {
+            codePoint = b & 0x07;
+            count = 3;
+        } else {
+            throw new ExcelAnalysisException("Invalid UTF-8 byte in the sheet:" + b);
+        }
+        for (int i = 0; i < count; i++) {
+            int next = readRequired();
+            if ((next & 0xC0) != 0x80) {
+                throw new ExcelAnalysisException("Invalid UTF-8 byte in the sheet:" + next);
+            }
+            codePoint = (codePoint << 6) | (next & 0x3F);
+        }
+        text.appendCodePoint(codePoint);
+    }
+    
+    private String readEntityName() throws IOException {
+        StringBuilder entityName = new StringBuilder(8);
+        int b = readRequired();
+        while (b != ';') {
+            if (entityName.length() > 16) {
+                throw new ExcelAnalysisException("Invalid entity in the sheet:" + entityName);
+            }
+            entityName.append((char) b);
+            b = readRequired();
+        }
+        return entityName.toString();
+    }
+    
+    private static void appendEntity(StringBuilder stringBuilder, String entityName) {
+        switch (entityName) {
+            case "amp":
+                stringBuilder.append('&');
+                return;
+            case "lt":
+                stringBuilder.append('<');
+                return;
+            case "gt":
+                stringBuilder.append('>');
+                return;
+            case "quot":
+                stringBuilder.append('"');
+                return;
+            case "apos":
+                stringBuilder.append('\'');
+                return;
+            default:
+        }
+        try {
+            if (entityName.startsWith("#x")) {
+                stringBuilder.appendCodePoint(Integer.parseInt(entityName.substring(2), 16));
+                return;
+            }
+            if (entityName.startsWith("#")) {
+                stringBuilder.appendCodePoint(Integer.parseInt(entityName.substring(1)));
+                return;
+            }
+        } catch (IllegalArgumentException e) {
+            throw new ExcelAnalysisException("Invalid entity in the sheet:" + entityName, e);
+        }
+        throw new ExcelAnalysisException("Undeclared entity in the sheet:" + entityName);
+    }
+    
+    /**
+     * Read {@code <![CDATA[...]]>} after the {@code <![CDATA[}.
+     */
+    private void readCharacterData() throws IOException {
+        int b = readRequired();
+        while (true) {
+            if (b == ']') {
+                int second = readRequired();
+                if (second == ']') {
+                    int third = readRequired();
+                    while (third == ']') {
+                        appendCharacterData(']');
+                        third = readRequired();
+                    }
+                    if (third == '>') {
+                        return;
+                    }
+                    appendCharacterData(']');
+                    appendCharacterData(']');
+                    b = third;
+                    continue;
+                }
+                appendCharacterData(']');
+                b = second;
+                continue;
+            }
+            appendCharacterData(b);
+            b = readRequired();
+        }
+    }
+    
+    private void appendCharacterData(int b) throws IOException {
+        if (text == null) {
+            return;
+        }
+        if (b == '&') {
+            text.append('&');
+            return;
+        }
+        appendText(b);
+    }
+    
+    private void skipComment() throws IOException {
+        int dashCount = 0;
+        while (true) {
+            int b = readRequired();
+            if (b == '>' && dashCount >= 2) {
+                return;
+            }
+            dashCount = b == '-' ? dashCount + 1 : 0;
+        }
+    }
+    
+    private void skipPast(int first, int second) throws IOException {
+        int last = -1;
+        while (true) {
+            int b = readRequired();
+            if (last == first && b == second) {
+                return;
+            }
+            last = b;
+        }
+    }
+    
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++] & 0xFF;
+    }
+    
+    private int readRequired() throws IOException {
+        int b = read();
+        if (b < 0) {
+            throw new ExcelAnalysisException("Unexpected end of the sheet.");
+        }
+        return b;
+    }
+    
+    private boolean fill() throws IOException {
+        int read = inputStream.read(buffer, 0, buffer.length);
+        while (read == 0) {
+            read = inputStream.read(buffer, 0, buffer.length);
+        }
+        if (read < 0) {
+            position = limit;
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+    
+    private int indexOf(byte b, int start) {
+        for (int i = start; i < limit; i++) {
+            if (buffer[i] == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    private boolean startsWith(int start, byte[] prefix) {
+        return start + prefix.length <= limit && equals(buffer, start, prefix.length, prefix);
+    }
+    
+    private static boolean equals(byte[] bytes, int start, int length, byte[] expected) {
+        if (length != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (bytes[start + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static boolean isWhitespace(int b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+    
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+    
+}
@@ -0,0 +1,262 @@
+package cn.idev.excel.analysis.v07;
+
+import cn.idev.excel.exception.ExcelAnalysisException;
+import cn.idev.excel.util.FileUtils;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Read the parts of an xlsx from a stream in the order of the zip entries, without writing the whole file to disk.
+ * <p>
+ * Only the current entry can be read from the zip. The parts that are needed later are spooled into a temp directory
+ * and read from there, they are deleted with the temp directory when the read is finished. The part names are
+ * absolute and in lower case, like {@code /xl/workbook.xml}.
+ */
+class XlsxStreamingPackage {
+    
+    private static final int BUFFER_SIZE = 8192;
+    
+    private final ZipArchiveInputStream zipArchiveInputStream;
+    
+    /**
+     * Called with the temp directory when it is created, so that it is deleted when the read is finished
+     */
+    private final Consumer<File> tempDirectoryListener;
+    
+    /**
+     * key: part name value: spooled file
+     */
+    private final Map<String, File> spooledPartMap = new HashMap<>();
+    
+    private File spoolDirectory;
+    
+    private ZipArchiveEntry currentEntry;
+    
+    private String currentPartName;
+    
+    private boolean finished;
+    
+    XlsxStreamingPackage(InputStream inputStream, Consumer<File> tempDirectoryListener) {
+        this.zipArchiveInputStream = new ZipArchiveInputStream(
+                new BufferedInputStream(new CloseShieldInputStream(inputStream), BUFFER_SIZE),
+                StandardCharsets.UTF_8.name(), true, true);
+        this.tempDirectoryListener = tempDirectoryListener;
+    }
+    
+    /**
+     * Move to the next entry of the zip, the rest of the current entry is skipped.
+     *
+     * @return part name, null if there are no more entries
+     */
+    String nextPart() {
+        if (finished) {
+            return null;
+        }
+        try {
+            ZipArchiveEntry entry;
+            do {
+                entry = zipArchiveInputStream.getNextEntry();
+            } while (entry != null && entry.isDirectory());
+            currentEntry = entry;
+            if (entry == null) {
+                finished = true;
+                currentPartName = null;
+                // Release the inflater, the input stream is not closed
+                zipArchiveInputStream.close();
+            } else {
+                currentPartName = partName(entry.getName());
+            }
+            return currentPartName;
+        } catch (IOException e) {
+            throw new ExcelAnalysisException("Can not read the next zip entry.", e);
+        }
+    }
+    
+    /**
+     * The uncompressed size of the current entry.
+     *
+     * @return -1 if the size is not recorded before the data
+     */
+    long currentSize() {
+        return currentEntry == null ? -1 : currentEntry.getSize();
+    }
+    
+    /**
+     * The data of the current entry, closing it does not close the zip.
+     *
+     * @return input stream
+     */
+    InputStream currentInputStream() {
+        return new CloseShieldInputStream(zipArchiveInputStream);
+    }
+    
+    /**
+     * Write the rest of the current entry into the temp directory.
+     */
+    void spoolCurrent() {
+        if (spoolDirectory == null) {
+            spoolDirectory = FileUtils.createCacheTmpFile();
+            tempDirectoryListener.accept(spoolDirectory);
+        }
+        File file = new File(spoolDirectory, UUID.randomUUID() + ".xml");
+        try {
+            Files.copy(zipArchiveInputStream, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            FileUtils.delete(file);
+            throw new ExcelAnalysisException("Can not spool the part:" + currentPartName, e);
+        }
+        File oldFile = spooledPartMap.put(currentPartName, file);
+        if (oldFile != null) {
+            FileUtils.delete(oldFile);
+        }
+    }
+    
+    boolean isSpooled(String partName) {
+        return spooledPartMap.containsKey(partName);
+    }
+    
+    /**
+     * The size of a spooled part.
+     *
+     * @param partName
+     * @return unit bytes
+     */
+    long spooledSize(String partName) {
+        return spooledPartMap.get(partName).length();
+    }
+    
+    /**
+     * Read a spooled part, the file is deleted when the stream is closed.
+     *
+     * @param partName
+     * @return input stream
+     */
+    InputStream spooledInputStream(String partName) {
+        File file = spooledPartMap.remove(partName);
+        if (file == null) {
+            throw new ExcelAnalysisException("The part is not spooled:" + partName);
+        }
+        try {
+            return new FileInputStream(file) {
+                @Override
+                public void close() throws IOException {
+                    super.close();
+                    FileUtils.delete(file);
+                }
+            };
+        } catch (IOException e) {
+            throw new ExcelAnalysisException("Can not read the spooled part:" + partName, e);
+        }
+    }
+    
+    /**
+     * Delete the spooled parts that are not needed.
+     *
+     * @param partNames The parts to keep
+     */
+    void retainSpooled(Collection<String> partNames) {
+        Iterator<Map.Entry<String, File>> iterator = spooledPartMap.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, File> entry = iterator.next();
+            if (!partNames.contains(entry.getKey())) {
+                FileUtils.delete(entry.getValue());
+                iterator.remove();
+            }
+        }
+    }
+    
+    /**
+     * Whether all the entries have been read.
+     *
+     * @return true if finished
+     */
+    boolean isFinished() {
+        return finished;
+    }
+    
+    /**
+     * The absolute part name of a zip entry.
+     *
+     * @param entryName
+     * @return part name in lower case
+     */
+    static String partName(String entryName) {
+        String name = entryName.replace('\\', '/');
+        if (!name.startsWith("/")) {
+            name = "/" + name;
+        }
+        return name.toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * Resolve the target of a relationship.
+     *
+     * @param sourcePartName The part that has the relationship
+     * @param target         The target of the relationship
+     * @return part name in lower case
+     */
+    static String resolve(String sourcePartName, String target) {
+        String path;
+        if (target.startsWith("/")) {
+            path = target;
+        } else {
+            path = sourcePartName.substring(0, sourcePartName.lastIndexOf('/') + 1) + target;
+        }
+        StringBuilder stringBuilder = new StringBuilder();
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty() || ".".equals(segment)) {
+                continue;
+            }
+            if ("..".equals(segment)) {
+                int index = stringBuilder.lastIndexOf("/");
+                stringBuilder.setLength(Math.max(index, 0));
+                continue;
+            }
+            stringBuilder.append('/').append(segment);
+        }
+        return partName(stringBuilder.toString());
+    }
+    
+    /**
+     * The part of the relationships of a part, like {@code /xl/_rels/workbook.xml.rels}.
+     *
+     * @param sourcePartName
+     * @return part name in lower case
+     */
+    static String relationshipsPartName(String sourcePartName) {
+        int index = sourcePartName.lastIndexOf('/');
+        return partName(sourcePartName.substring(0, index + 1) + "_rels/" + sourcePartName.substring(index + 1)
+                + ".rels");
+    }
+    
+    /**
+     * Ignore {@link #close()}, so that a parser can close the stream of an entry without closing the zip.
+     */
+    private static class CloseShieldInputStream extends FilterInputStream {
+        
+        private CloseShieldInputStream(InputStream inputStream) {
+            super(inputStream);
+        }
+        
+        @Override
+        public void close() {
+        }
+    }
+}
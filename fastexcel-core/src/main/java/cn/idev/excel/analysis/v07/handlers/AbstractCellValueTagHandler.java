@@ -9,6 +9,11 @@ import cn.idev.excel.context.xlsx.XlsxReadContext;
  */
 public abstract class AbstractCellValueTagHandler extends AbstractXlsxTagHandler {
     
+    @Override
+    public boolean support(XlsxReadContext xlsxReadContext) {
+        return !xlsxReadContext.xlsxReadSheetHolder().isSkipCell();
+    }
+    
     @Override
     public void characters(XlsxReadContext xlsxReadContext, char[] ch, int start, int length) {
         xlsxReadContext.xlsxReadSheetHolder().getTempData().append(ch, start, length);
@@ -12,10 +12,19 @@ import org.xml.sax.Attributes;
  */
 public class CellFormulaTagHandler extends AbstractXlsxTagHandler {
     
+    @Override
+    public boolean support(XlsxReadContext xlsxReadContext) {
+        return !xlsxReadContext.xlsxReadSheetHolder().isSkipCell();
+    }
+    
     @Override
     public void startElement(XlsxReadContext xlsxReadContext, String name, Attributes attributes) {
         XlsxReadSheetHolder xlsxReadSheetHolder = xlsxReadContext.xlsxReadSheetHolder();
-        xlsxReadSheetHolder.setTempFormula(new StringBuilder());
+        if (xlsxReadSheetHolder.getReadRowArena() != null && xlsxReadSheetHolder.getTempFormula() != null) {
+            xlsxReadSheetHolder.getTempFormula().setLength(0);
+        } else {
+            xlsxReadSheetHolder.setTempFormula(new StringBuilder());
+        }
     }
     
     @Override
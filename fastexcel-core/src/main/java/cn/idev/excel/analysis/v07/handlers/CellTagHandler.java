@@ -1,10 +1,12 @@
 package cn.idev.excel.analysis.v07.handlers;
 
+import cn.idev.excel.cache.ReadCache;
 import cn.idev.excel.constant.EasyExcelConstants;
 import cn.idev.excel.constant.ExcelXmlConstants;
 import cn.idev.excel.context.xlsx.XlsxReadContext;
 import cn.idev.excel.enums.CellDataTypeEnum;
 import cn.idev.excel.metadata.data.ReadCellData;
+import cn.idev.excel.read.metadata.holder.ReadRowArena;
 import cn.idev.excel.read.metadata.holder.xlsx.XlsxReadSheetHolder;
 import cn.idev.excel.util.BooleanUtils;
 import cn.idev.excel.util.PositionUtils;
@@ -25,8 +27,14 @@ public class CellTagHandler extends AbstractXlsxTagHandler {
     @Override
     public void startElement(XlsxReadContext xlsxReadContext, String name, Attributes attributes) {
         XlsxReadSheetHolder xlsxReadSheetHolder = xlsxReadContext.xlsxReadSheetHolder();
-        xlsxReadSheetHolder.setColumnIndex(PositionUtils.getCol(attributes.getValue(ExcelXmlConstants.ATTRIBUTE_R),
-                xlsxReadSheetHolder.getColumnIndex()));
+        int columnIndex = PositionUtils.getCol(attributes.getValue(ExcelXmlConstants.ATTRIBUTE_R),
+                xlsxReadSheetHolder.getColumnIndex());
+        if (!xlsxReadSheetHolder.includeColumn(xlsxReadSheetHolder.getRowIndex(), columnIndex)) {
+            // The value and the formula of the cell are not read
+            xlsxReadSheetHolder.setColumnIndex(columnIndex);
+            xlsxReadSheetHolder.setSkipCell(true);
+            return;
+        }
         
         // t="s" ,it means String
         // t="str" ,it means String,but does not need to be read in the 'sharedStrings.xml'
@@ -36,8 +44,11 @@ public class CellTagHandler extends AbstractXlsxTagHandler {
         // t="n" ,it means Number
         // t is null ,it means Empty or Number
         CellDataTypeEnum type = CellDataTypeEnum.buildFromCellType(attributes.getValue(ExcelXmlConstants.ATTRIBUTE_T));
-        xlsxReadSheetHolder.setTempCellData(new ReadCellData<>(type));
-        xlsxReadSheetHolder.setTempData(new StringBuilder());
+        if (xlsxReadSheetHolder.getReadRowArena() != null && xlsxReadSheetHolder.getTempData() != null) {
+            xlsxReadSheetHolder.getTempData().setLength(0);
+        } else {
+            xlsxReadSheetHolder.setTempData(new StringBuilder());
+        }
         
         // Put in data transformation information
         String dateFormatIndex = attributes.getValue(ExcelXmlConstants.ATTRIBUTE_S);
@@ -47,14 +58,33 @@ public class CellTagHandler extends AbstractXlsxTagHandler {
         } else {
             dateFormatIndexInteger = Integer.parseInt(dateFormatIndex);
         }
-        
-        xlsxReadSheetHolder.getTempCellData()
-                .setDataFormatData(xlsxReadContext.xlsxReadWorkbookHolder().dataFormatData(dateFormatIndexInteger));
+        startCell(xlsxReadContext, columnIndex, type, dateFormatIndexInteger);
+    }
+    
+    /**
+     * Start a cell. The value is read from {@link XlsxReadSheetHolder#getTempData()} when the cell ends.
+     *
+     * @param xlsxReadContext
+     * @param columnIndex     Column index, start from 0
+     * @param type            The `t` attribute of the cell
+     * @param styleIndex      The `s` attribute of the cell
+     */
+    public void startCell(XlsxReadContext xlsxReadContext, int columnIndex, CellDataTypeEnum type, int styleIndex) {
+        XlsxReadSheetHolder xlsxReadSheetHolder = xlsxReadContext.xlsxReadSheetHolder();
+        xlsxReadSheetHolder.setColumnIndex(columnIndex);
+        ReadRowArena readRowArena = xlsxReadSheetHolder.getReadRowArena();
+        ReadCellData<?> tempCellData = readRowArena == null ? new ReadCellData<>(type) : readRowArena.cellData(type);
+        tempCellData.setDataFormatData(xlsxReadContext.xlsxReadWorkbookHolder().dataFormatData(styleIndex));
+        xlsxReadSheetHolder.setTempCellData(tempCellData);
     }
     
     @Override
     public void endElement(XlsxReadContext xlsxReadContext, String name) {
         XlsxReadSheetHolder xlsxReadSheetHolder = xlsxReadContext.xlsxReadSheetHolder();
+        if (xlsxReadSheetHolder.isSkipCell()) {
+            xlsxReadSheetHolder.setSkipCell(false);
+            return;
+        }
         ReadCellData<?> tempCellData = xlsxReadSheetHolder.getTempCellData();
         StringBuilder tempData = xlsxReadSheetHolder.getTempData();
         String tempDataString = tempData.toString();
@@ -65,8 +95,13 @@ public class CellTagHandler extends AbstractXlsxTagHandler {
                 if (StringUtils.isEmpty(tempDataString)) {
                     break;
                 }
-                String stringValue = xlsxReadContext.readWorkbookHolder().getReadCache()
-                        .get(Integer.valueOf(tempDataString));
+                ReadCache readCache = xlsxReadContext.readWorkbookHolder().getReadCache();
+                if (xlsxReadContext.readWorkbookHolder().getLazySharedStrings()) {
+                    tempCellData.setLazySharedString(Integer.valueOf(tempDataString), readCache,
+                            xlsxReadContext.currentReadHolder().globalConfiguration().getAutoTrim());
+                    break;
+                }
+                String stringValue = readCache.get(Integer.valueOf(tempDataString));
                 tempCellData.setStringValue(stringValue);
                 break;
             case DIRECT_STRING:
@@ -88,6 +123,10 @@ public class CellTagHandler extends AbstractXlsxTagHandler {
                     break;
                 }
                 tempCellData.setType(CellDataTypeEnum.NUMBER);
+                // Most numbers are short decimals, they are converted to BigDecimal only when needed
+                if (tempCellData.setLazyNumberValue(tempData)) {
+                    break;
+                }
                 tempCellData.setOriginalNumberValue(new BigDecimal(tempDataString));
                 tempCellData.setNumberValue(
                         tempCellData.getOriginalNumberValue().round(EasyExcelConstants.EXCEL_MATH_CONTEXT));
@@ -96,8 +135,9 @@ public class CellTagHandler extends AbstractXlsxTagHandler {
                 throw new IllegalStateException("Cannot set values now");
         }
         
-        if (tempCellData.getStringValue() != null && xlsxReadContext.currentReadHolder().globalConfiguration()
-                .getAutoTrim()) {
+        // Lazy shared strings are trimmed when they are resolved
+        if (tempCellData.getSharedStringIndex() == null && tempCellData.getStringValue() != null
+                && xlsxReadContext.currentReadHolder().globalConfiguration().getAutoTrim()) {
             tempCellData.setStringValue(tempCellData.getStringValue().trim());
         }
         
@@ -5,12 +5,8 @@ import cn.idev.excel.context.xlsx.XlsxReadContext;
 import cn.idev.excel.enums.CellExtraTypeEnum;
 import cn.idev.excel.metadata.CellExtra;
 import cn.idev.excel.util.StringUtils;
-import org.apache.poi.openxml4j.opc.PackageRelationship;
-import org.apache.poi.openxml4j.opc.PackageRelationshipCollection;
 import org.xml.sax.Attributes;
 
-import java.util.Optional;
-
 /**
  * Cell Handler
  *
@@ -38,19 +34,18 @@ public class HyperlinkTagHandler extends AbstractXlsxTagHandler {
             xlsxReadContext.analysisEventProcessor().extra(xlsxReadContext);
             return;
         }
-        // case 2, In the 'r:id' tag, Then go to 'PackageRelationshipCollection' to get inside
+        // case 2, In the 'r:id' tag, Then go to the relationships of the sheet to get inside
         String rId = attributes.getValue(ExcelXmlConstants.ATTRIBUTE_RID);
-        PackageRelationshipCollection packageRelationshipCollection = xlsxReadContext.xlsxReadSheetHolder()
-                .getPackageRelationshipCollection();
-        if (rId == null || packageRelationshipCollection == null) {
+        if (rId == null) {
+            return;
+        }
+        String target = xlsxReadContext.xlsxReadSheetHolder().relationshipTarget(rId);
+        if (target == null) {
             return;
         }
-        Optional.ofNullable(packageRelationshipCollection.getRelationshipByID(rId))
-                .map(PackageRelationship::getTargetURI).ifPresent(uri -> {
-                    CellExtra cellExtra = new CellExtra(CellExtraTypeEnum.HYPERLINK, uri.toString(), ref);
-                    xlsxReadContext.readSheetHolder().setCellExtra(cellExtra);
-                    xlsxReadContext.analysisEventProcessor().extra(xlsxReadContext);
-                });
+        CellExtra cellExtra = new CellExtra(CellExtraTypeEnum.HYPERLINK, target, ref);
+        xlsxReadContext.readSheetHolder().setCellExtra(cellExtra);
+        xlsxReadContext.analysisEventProcessor().extra(xlsxReadContext);
     }
     
 }
@@ -4,16 +4,17 @@ import cn.idev.excel.constant.ExcelXmlConstants;
 import cn.idev.excel.context.xlsx.XlsxReadContext;
 import cn.idev.excel.enums.CellDataTypeEnum;
 import cn.idev.excel.enums.RowTypeEnum;
+import cn.idev.excel.exception.ExcelAnalysisStopSheetException;
 import cn.idev.excel.metadata.Cell;
+import cn.idev.excel.metadata.DenseRowMap;
 import cn.idev.excel.metadata.data.ReadCellData;
+import cn.idev.excel.read.metadata.holder.ReadRowArena;
 import cn.idev.excel.read.metadata.holder.ReadRowHolder;
 import cn.idev.excel.read.metadata.holder.xlsx.XlsxReadSheetHolder;
 import cn.idev.excel.util.PositionUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.xml.sax.Attributes;
 
-import java.util.LinkedHashMap;
-
 /**
  * Cell Handler
  *
@@ -26,16 +27,30 @@ public class RowTagHandler extends AbstractXlsxTagHandler {
         XlsxReadSheetHolder xlsxReadSheetHolder = xlsxReadContext.xlsxReadSheetHolder();
         int rowIndex = PositionUtils.getRowByRowTagt(attributes.getValue(ExcelXmlConstants.ATTRIBUTE_R),
                 xlsxReadSheetHolder.getRowIndex());
+        startRow(xlsxReadContext, rowIndex);
+    }
+    
+    /**
+     * Start a row, the empty rows before it are sent first. Stop the sheet if the row is after the last row to read.
+     *
+     * @param xlsxReadContext
+     * @param rowIndex        Row index, start from 0
+     */
+    public void startRow(XlsxReadContext xlsxReadContext, int rowIndex) {
+        XlsxReadSheetHolder xlsxReadSheetHolder = xlsxReadContext.xlsxReadSheetHolder();
         Integer lastRowIndex = xlsxReadContext.readSheetHolder().getRowIndex();
+        Integer startRow = xlsxReadSheetHolder.getStartRow();
+        if (startRow != null && lastRowIndex + 1 >= xlsxReadSheetHolder.getHeadRowNumber()) {
+            // The empty rows before the start row are not read, they can be many when the sheet is read from an index
+            lastRowIndex = Math.max(lastRowIndex, Math.min(rowIndex, startRow) - 1);
+        }
         while (lastRowIndex + 1 < rowIndex) {
-            xlsxReadContext.readRowHolder(
-                    new ReadRowHolder(lastRowIndex + 1, RowTypeEnum.EMPTY, xlsxReadSheetHolder.getGlobalConfiguration(),
-                            new LinkedHashMap<Integer, Cell>()));
-            xlsxReadContext.analysisEventProcessor().endRow(xlsxReadContext);
-            xlsxReadSheetHolder.setColumnIndex(null);
-            xlsxReadSheetHolder.setCellMap(new LinkedHashMap<Integer, Cell>());
+            endRow(xlsxReadContext, lastRowIndex + 1, RowTypeEnum.EMPTY);
             lastRowIndex++;
         }
+        if (xlsxReadSheetHolder.afterEndRow(rowIndex)) {
+            throw new ExcelAnalysisStopSheetException();
+        }
         xlsxReadSheetHolder.setRowIndex(rowIndex);
     }
     
@@ -46,7 +61,9 @@ public class RowTagHandler extends AbstractXlsxTagHandler {
         // It's possible that all of the cells in the row are empty
         if (rowType == RowTypeEnum.DATA) {
             boolean hasData = false;
-            for (Cell cell : xlsxReadSheetHolder.getCellMap().values()) {
+            DenseRowMap<Cell> cellMap = DenseRowMap.valueOf(xlsxReadSheetHolder.getCellMap());
+            for (int column = cellMap.nextColumn(0); column >= 0; column = cellMap.nextColumn(column + 1)) {
+                Cell cell = cellMap.get(column);
                 if (!(cell instanceof ReadCellData)) {
                     hasData = true;
                     break;
@@ -61,11 +78,29 @@ public class RowTagHandler extends AbstractXlsxTagHandler {
                 rowType = RowTypeEnum.EMPTY;
             }
         }
-        xlsxReadContext.readRowHolder(new ReadRowHolder(xlsxReadSheetHolder.getRowIndex(), rowType,
-                xlsxReadSheetHolder.getGlobalConfiguration(), xlsxReadSheetHolder.getCellMap()));
-        xlsxReadContext.analysisEventProcessor().endRow(xlsxReadContext);
+        endRow(xlsxReadContext, xlsxReadSheetHolder.getRowIndex(), rowType);
+    }
+    
+    private void endRow(XlsxReadContext xlsxReadContext, Integer rowIndex, RowTypeEnum rowType) {
+        XlsxReadSheetHolder xlsxReadSheetHolder = xlsxReadContext.xlsxReadSheetHolder();
+        if (!xlsxReadSheetHolder.includeRow(rowIndex)) {
+            // The cells of the row have been skipped
+            xlsxReadSheetHolder.setColumnIndex(null);
+            return;
+        }
+        ReadRowArena readRowArena = xlsxReadSheetHolder.getReadRowArena();
+        if (readRowArena == null) {
+            xlsxReadContext.readRowHolder(new ReadRowHolder(rowIndex, rowType,
+                    xlsxReadSheetHolder.getGlobalConfiguration(), xlsxReadSheetHolder.getCellMap()));
+            xlsxReadContext.analysisEventProcessor().endRow(xlsxReadContext);
+            xlsxReadSheetHolder.setCellMap(new DenseRowMap<>());
+        } else {
+            xlsxReadContext.readRowHolder(
+                    readRowArena.readRowHolder(rowIndex, rowType, xlsxReadSheetHolder.getGlobalConfiguration()));
+            xlsxReadContext.analysisEventProcessor().endRow(xlsxReadContext);
+            readRowArena.recycle();
+        }
         xlsxReadSheetHolder.setColumnIndex(null);
-        xlsxReadSheetHolder.setCellMap(new LinkedHashMap<>());
     }
     
 }
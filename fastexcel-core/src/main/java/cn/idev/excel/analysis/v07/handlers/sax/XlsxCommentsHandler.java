@@ -0,0 +1,91 @@
+package cn.idev.excel.analysis.v07.handlers.sax;
+
+import cn.idev.excel.context.xlsx.XlsxReadContext;
+import cn.idev.excel.enums.CellExtraTypeEnum;
+import cn.idev.excel.metadata.CellExtra;
+import cn.idev.excel.util.StringUtils;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Sax read the comments of a sheet, like {@code xl/comments1.xml}. Each comment is sent as a {@link CellExtra} when
+ * it is read, so the comments are not kept in memory.
+ * <p>
+ * The text is the same as {@code XSSFComment#getString()}, the phonetic runs are ignored.
+ */
+public class XlsxCommentsHandler extends DefaultHandler {
+    
+    private static final String COMMENT_TAG = "comment";
+    
+    private static final String TEXT_TAG = "t";
+    
+    private static final String PHONETIC_RUN_TAG = "rPh";
+    
+    private static final String REF_ATTRIBUTE = "ref";
+    
+    private final XlsxReadContext xlsxReadContext;
+    
+    /**
+     * The reference of the current comment, null if it is not in a comment
+     */
+    private String ref;
+    
+    private final StringBuilder text = new StringBuilder();
+    
+    private boolean isTagt;
+    
+    private boolean ignoreTagt;
+    
+    public XlsxCommentsHandler(XlsxReadContext xlsxReadContext) {
+        this.xlsxReadContext = xlsxReadContext;
+    }
+    
+    @Override
+    public void startElement(String uri, String localName, String name, Attributes attributes) {
+        switch (XlsxRelationshipsHandler.localName(name)) {
+            case COMMENT_TAG:
+                ref = attributes.getValue(REF_ATTRIBUTE);
+                text.setLength(0);
+                break;
+            case TEXT_TAG:
+                isTagt = true;
+                break;
+            case PHONETIC_RUN_TAG:
+                ignoreTagt = true;
+                break;
+            default:
+                // ignore
+        }
+    }
+    
+    @Override
+    public void endElement(String uri, String localName, String name) {
+        switch (XlsxRelationshipsHandler.localName(name)) {
+            case COMMENT_TAG:
+                if (StringUtils.isNotBlank(ref)) {
+                    CellExtra cellExtra = new CellExtra(CellExtraTypeEnum.COMMENT,
+                            SharedStringsTableHandler.utfDecode(text.toString()), ref);
+                    xlsxReadContext.readSheetHolder().setCellExtra(cellExtra);
+                    xlsxReadContext.analysisEventProcessor().extra(xlsxReadContext);
+                }
+                ref = null;
+                break;
+            case TEXT_TAG:
+                isTagt = false;
+                break;
+            case PHONETIC_RUN_TAG:
+                ignoreTagt = false;
+                break;
+            default:
+                // ignore
+        }
+    }
+    
+    @Override
+    public void characters(char[] ch, int start, int length) {
+        if (ref == null || !isTagt || ignoreTagt) {
+            return;
+        }
+        text.append(ch, start, length);
+    }
+}
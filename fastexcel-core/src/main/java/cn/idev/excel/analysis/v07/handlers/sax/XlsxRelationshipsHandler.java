@@ -0,0 +1,78 @@
+package cn.idev.excel.analysis.v07.handlers.sax;
+
+import lombok.Getter;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sax read the relationships of a part, like {@code xl/_rels/workbook.xml.rels}. The external relationships are
+ * ignored unless they are included, like the hyperlinks of a sheet.
+ */
+@Getter
+public class XlsxRelationshipsHandler extends DefaultHandler {
+    
+    private static final String RELATIONSHIP_TAG = "Relationship";
+    
+    private static final String EXTERNAL_TARGET_MODE = "External";
+    
+    /**
+     * key: id value: target, relative to the directory of the part
+     */
+    private final Map<String, String> targetMap = new HashMap<>();
+    
+    /**
+     * key: id value: type
+     */
+    private final Map<String, String> typeMap = new HashMap<>();
+    
+    /**
+     * Whether to read the external relationships, their target is not a part
+     */
+    private final boolean includeExternal;
+    
+    public XlsxRelationshipsHandler() {
+        this(false);
+    }
+    
+    public XlsxRelationshipsHandler(boolean includeExternal) {
+        this.includeExternal = includeExternal;
+    }
+    
+    @Override
+    public void startElement(String uri, String localName, String name, Attributes attributes) {
+        if (!RELATIONSHIP_TAG.equals(localName(name))) {
+            return;
+        }
+        String id = attributes.getValue("Id");
+        String target = attributes.getValue("Target");
+        if (id == null || target == null || (!includeExternal && EXTERNAL_TARGET_MODE.equals(
+                attributes.getValue("TargetMode")))) {
+            return;
+        }
+        targetMap.put(id, target);
+        typeMap.put(id, attributes.getValue("Type"));
+    }
+    
+    /**
+     * The target of the first relationship of the type.
+     *
+     * @param typeSuffix The end of the type, like {@code /sharedStrings}
+     * @return null if not found
+     */
+    public String targetOfType(String typeSuffix) {
+        for (Map.Entry<String, String> entry : typeMap.entrySet()) {
+            if (entry.getValue() != null && entry.getValue().endsWith(typeSuffix)) {
+                return targetMap.get(entry.getKey());
+            }
+        }
+        return null;
+    }
+    
+    static String localName(String name) {
+        int index = name.indexOf(':');
+        return index < 0 ? name : name.substring(index + 1);
+    }
+}
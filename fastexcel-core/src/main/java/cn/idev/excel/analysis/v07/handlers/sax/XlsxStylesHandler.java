@@ -0,0 +1,86 @@
+package cn.idev.excel.analysis.v07.handlers.sax;
+
+import lombok.Getter;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sax read the number formats of {@code xl/styles.xml}: the custom formats and the format of each cell style. The
+ * fonts, the fills and the borders are ignored.
+ */
+public class XlsxStylesHandler extends DefaultHandler {
+    
+    private static final String NUM_FMT_TAG = "numFmt";
+    
+    private static final String CELL_XFS_TAG = "cellXfs";
+    
+    private static final String XF_TAG = "xf";
+    
+    private static final String NUM_FMT_ID_ATTRIBUTE = "numFmtId";
+    
+    /**
+     * The format codes of the custom number formats. key: numFmtId
+     */
+    @Getter
+    private final Map<Integer, String> numberFormatMap = new HashMap<>();
+    
+    private int[] cellStyleNumberFormatIds = new int[16];
+    
+    private int cellStyleCount;
+    
+    /**
+     * The {@code xf} tags are also in {@code cellStyleXfs}, only the ones in {@code cellXfs} are the cell styles
+     */
+    private boolean inCellXfs;
+    
+    @Override
+    public void startElement(String uri, String localName, String name, Attributes attributes) {
+        String tagName = XlsxRelationshipsHandler.localName(name);
+        if (NUM_FMT_TAG.equals(tagName)) {
+            Integer numFmtId = parseInt(attributes.getValue(NUM_FMT_ID_ATTRIBUTE));
+            String formatCode = attributes.getValue("formatCode");
+            if (numFmtId != null && formatCode != null) {
+                numberFormatMap.put(numFmtId, formatCode);
+            }
+        } else if (CELL_XFS_TAG.equals(tagName)) {
+            inCellXfs = true;
+        } else if (inCellXfs && XF_TAG.equals(tagName)) {
+            if (cellStyleCount == cellStyleNumberFormatIds.length) {
+                cellStyleNumberFormatIds = Arrays.copyOf(cellStyleNumberFormatIds, cellStyleCount << 1);
+            }
+            Integer numFmtId = parseInt(attributes.getValue(NUM_FMT_ID_ATTRIBUTE));
+            cellStyleNumberFormatIds[cellStyleCount++] = numFmtId == null ? 0 : numFmtId;
+        }
+    }
+    
+    @Override
+    public void endElement(String uri, String localName, String name) {
+        if (CELL_XFS_TAG.equals(XlsxRelationshipsHandler.localName(name))) {
+            inCellXfs = false;
+        }
+    }
+    
+    /**
+     * The numFmtId of each cell style.
+     *
+     * @return the index is the style index of the cell
+     */
+    public int[] getCellStyleNumberFormatIds() {
+        return Arrays.copyOf(cellStyleNumberFormatIds, cellStyleCount);
+    }
+    
+    private static Integer parseInt(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
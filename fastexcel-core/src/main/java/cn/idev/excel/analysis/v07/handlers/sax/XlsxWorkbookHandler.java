@@ -0,0 +1,57 @@
+package cn.idev.excel.analysis.v07.handlers.sax;
+
+import lombok.Getter;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sax read {@code xl/workbook.xml}: the names and the relationship ids of the sheets, and whether the workbook uses the
+ * 1904 date system.
+ */
+@Getter
+public class XlsxWorkbookHandler extends DefaultHandler {
+    
+    private static final String SHEET_TAG = "sheet";
+    
+    private static final String WORKBOOK_PR_TAG = "workbookPr";
+    
+    /**
+     * The names of the sheets, in the order of the workbook
+     */
+    private final List<String> sheetNameList = new ArrayList<>();
+    
+    /**
+     * The relationship ids of the sheets, in the order of the workbook
+     */
+    private final List<String> sheetRelationshipIdList = new ArrayList<>();
+    
+    private boolean date1904;
+    
+    @Override
+    public void startElement(String uri, String localName, String name, Attributes attributes) {
+        String tagName = XlsxRelationshipsHandler.localName(name);
+        if (SHEET_TAG.equals(tagName)) {
+            sheetNameList.add(attributes.getValue("name"));
+            sheetRelationshipIdList.add(relationshipId(attributes));
+        } else if (WORKBOOK_PR_TAG.equals(tagName)) {
+            String date1904Value = attributes.getValue("date1904");
+            date1904 = "1".equals(date1904Value) || "true".equals(date1904Value);
+        }
+    }
+    
+    /**
+     * The {@code r:id} attribute, the prefix of the namespace may be different.
+     */
+    private String relationshipId(Attributes attributes) {
+        for (int i = 0; i < attributes.getLength(); i++) {
+            String name = attributes.getQName(i);
+            if (name.endsWith(":id")) {
+                return attributes.getValue(i);
+            }
+        }
+        return null;
+    }
+}
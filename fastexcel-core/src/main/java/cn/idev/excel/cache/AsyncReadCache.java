@@ -0,0 +1,163 @@
+package cn.idev.excel.cache;
+
+import cn.idev.excel.context.AnalysisContext;
+import cn.idev.excel.exception.ExcelAnalysisException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A cache that is filled by a background thread while it is being read.
+ * <p>
+ * {@link #get(Integer)} blocks until the requested value has been put in, so the sheet can be read while the shared
+ * strings are still being parsed. The wrapped cache must support reading the values that have already been put in
+ * before {@link #putFinished()} is called.
+ */
+@Slf4j
+public class AsyncReadCache implements ReadCache {
+    
+    private static final String THREAD_NAME = "fastexcel-shared-strings";
+    
+    private final ReadCache readCache;
+    
+    private final Object lock = new Object();
+    
+    /**
+     * Number of values that have been put in. Guarded by {@link #lock}.
+     */
+    private int size;
+    
+    /**
+     * Number of threads waiting for a value. Guarded by {@link #lock}.
+     */
+    private int waiting;
+    
+    /**
+     * All values have been put in, after that the wrapped cache can be read without lock.
+     */
+    private volatile boolean finished;
+    
+    /**
+     * The read has been finished, stop loading.
+     */
+    private volatile boolean destroyed;
+    
+    private volatile Throwable failure;
+    
+    private Thread loadThread;
+    
+    public AsyncReadCache(ReadCache readCache) {
+        this.readCache = readCache;
+    }
+    
+    /**
+     * Start loading the cache in a background thread.
+     *
+     * @param loader Put all the values into this cache and then call {@link #putFinished()}
+     */
+    public void load(Runnable loader) {
+        loadThread = new Thread(() -> {
+            try {
+                loader.run();
+            } catch (Throwable t) {
+                if (destroyed) {
+                    return;
+                }
+                log.warn("Read shared strings failed.", t);
+                synchronized (lock) {
+                    failure = t;
+                    lock.notifyAll();
+                }
+            }
+        }, THREAD_NAME);
+        loadThread.setDaemon(true);
+        loadThread.start();
+    }
+    
+    /**
+     * The cache that stores the values.
+     *
+     * @return read cache
+     */
+    ReadCache getReadCache() {
+        return readCache;
+    }
+    
+    @Override
+    public void init(AnalysisContext analysisContext) {
+        readCache.init(analysisContext);
+    }
+    
+    @Override
+    public void put(String value) {
+        if (destroyed) {
+            throw new ExcelAnalysisException("The read has been finished.");
+        }
+        synchronized (lock) {
+            readCache.put(value);
+            size++;
+            if (waiting > 0) {
+                lock.notifyAll();
+            }
+        }
+    }
+    
+    @Override
+    public String get(Integer key) {
+        if (finished) {
+            return readCache.get(key);
+        }
+        if (key == null || key < 0) {
+            return null;
+        }
+        synchronized (lock) {
+            waiting++;
+            try {
+                while (!finished && key >= size) {
+                    if (failure != null) {
+                        throw new ExcelAnalysisException("Read shared strings failed.", failure);
+                    }
+                    if (destroyed) {
+                        throw new ExcelAnalysisException("The read has been finished.");
+                    }
+                    lock.wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ExcelAnalysisException("Interrupted while waiting for shared strings.", e);
+            } finally {
+                waiting--;
+            }
+            return readCache.get(key);
+        }
+    }
+    
+    @Override
+    public void putFinished() {
+        synchronized (lock) {
+            readCache.putFinished();
+            finished = true;
+            lock.notifyAll();
+        }
+    }
+    
+    @Override
+    public void destroy() {
+        destroyed = true;
+        synchronized (lock) {
+            lock.notifyAll();
+        }
+        if (loadThread != null && loadThread != Thread.currentThread()) {
+            try {
+                loadThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        readCache.destroy();
+    }
+    
+    @Override
+    public ReadCacheStatistics statistics() {
+        return readCache.statistics();
+    }
+    
+}
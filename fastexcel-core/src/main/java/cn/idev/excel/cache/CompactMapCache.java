@@ -0,0 +1,265 @@
+package cn.idev.excel.cache;
+
+import cn.idev.excel.context.AnalysisContext;
+import cn.idev.excel.exception.ExcelAnalysisException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A memory cache that packs the shared strings into large byte arrays.
+ * <p>
+ * Compared with {@link MapCache}, it does not keep a {@link String} object per value. Strings that only contain
+ * Latin-1 characters take one byte per character, the others are stored as UTF-8. The {@link String} is only created
+ * when {@link #get(Integer)} is called, and a small cache of recently read strings can be enabled for hot values.
+ */
+public class CompactMapCache implements ReadCache {
+    
+    /**
+     * Each arena is 1 MB. A value larger than an arena gets an arena of its own size.
+     */
+    private static final int ARENA_SHIFT = 20;
+    
+    private static final int ARENA_SIZE = 1 << ARENA_SHIFT;
+    
+    private static final int ARENA_MASK = ARENA_SIZE - 1;
+    
+    /**
+     * The offset is an int, so the total size can not exceed 2 GB.
+     */
+    private static final int MAX_ARENA_COUNT = 1 << (31 - ARENA_SHIFT);
+    
+    private static final int DEFAULT_INITIAL_CAPACITY = 1024;
+    
+    private static final int NULL_LENGTH = Integer.MIN_VALUE;
+    
+    private byte[][] arenas = new byte[16][];
+    
+    /**
+     * The arena currently being written
+     */
+    private int arenaIndex = -1;
+    
+    /**
+     * Write position of the current arena
+     */
+    private int arenaPosition = ARENA_SIZE;
+    
+    /**
+     * Start of each value: arena index in the high bits, position in the arena in the low bits.
+     */
+    private int[] offsets = new int[DEFAULT_INITIAL_CAPACITY];
+    
+    /**
+     * Byte length of each value. Latin-1 values are stored as the length, UTF-8 values as {@code -length - 1}.
+     */
+    private int[] lengths = new int[DEFAULT_INITIAL_CAPACITY];
+    
+    /**
+     * Number of values
+     */
+    private int size;
+    
+    /**
+     * Recently read strings, indexed by key. Disabled when null.
+     */
+    private final HotEntry[] hotEntries;
+    
+    private final int hotMask;
+    
+    private final LongAdder getCount = new LongAdder();
+    
+    private final LongAdder missCount = new LongAdder();
+    
+    private long storedBytes;
+    
+    /**
+     * Bytes of all the arenas
+     */
+    private long arenaBytes;
+    
+    public CompactMapCache() {
+        this(0);
+    }
+    
+    /**
+     * @param hotCacheSize The number of recently read strings to keep. It will be rounded up to a power of 2, 0 means
+     *                     disabled.
+     */
+    public CompactMapCache(int hotCacheSize) {
+        if (hotCacheSize <= 0) {
+            this.hotEntries = null;
+            this.hotMask = 0;
+        } else {
+            int capacity = Integer.highestOneBit(hotCacheSize - 1) << 1;
+            if (capacity <= 0) {
+                capacity = 1;
+            }
+            this.hotEntries = new HotEntry[capacity];
+            this.hotMask = capacity - 1;
+        }
+    }
+    
+    @Override
+    public void init(AnalysisContext analysisContext) {
+    }
+    
+    @Override
+    public void put(String value) {
+        ensureCapacity(size + 1);
+        if (value == null) {
+            lengths[size++] = NULL_LENGTH;
+            return;
+        }
+        int length = value.length();
+        if (length == 0) {
+            lengths[size++] = 0;
+            return;
+        }
+        if (isLatin1(value)) {
+            int position = allocate(length);
+            byte[] arena = arenas[arenaIndex];
+            for (int i = 0; i < length; i++) {
+                arena[position + i] = (byte) value.charAt(i);
+            }
+            offsets[size] = (arenaIndex << ARENA_SHIFT) | position;
+            lengths[size++] = length;
+            storedBytes += length;
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int position = allocate(bytes.length);
+        System.arraycopy(bytes, 0, arenas[arenaIndex], position, bytes.length);
+        offsets[size] = (arenaIndex << ARENA_SHIFT) | position;
+        lengths[size++] = -bytes.length - 1;
+        storedBytes += bytes.length;
+    }
+    
+    @Override
+    public String get(Integer key) {
+        if (key == null || key < 0 || key >= size) {
+            return null;
+        }
+        getCount.increment();
+        int index = key;
+        if (hotEntries != null) {
+            HotEntry hotEntry = hotEntries[index & hotMask];
+            if (hotEntry != null && hotEntry.key == index) {
+                return hotEntry.value;
+            }
+        }
+        int length = lengths[index];
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (length == 0) {
+            return "";
+        }
+        missCount.increment();
+        int offset = offsets[index];
+        byte[] arena = arenas[offset >>> ARENA_SHIFT];
+        int position = offset & ARENA_MASK;
+        String value;
+        if (length >= 0) {
+            value = new String(arena, position, length, StandardCharsets.ISO_8859_1);
+        } else {
+            value = new String(arena, position, -length - 1, StandardCharsets.UTF_8);
+        }
+        if (hotEntries != null) {
+            hotEntries[index & hotMask] = new HotEntry(index, value);
+        }
+        return value;
+    }
+    
+    @Override
+    public void putFinished() {
+        // Release the unused part of the last arena
+        if (arenaIndex >= 0 && arenaPosition < ARENA_SIZE) {
+            arenas[arenaIndex] = Arrays.copyOf(arenas[arenaIndex], arenaPosition);
+        }
+    }
+    
+    @Override
+    public void destroy() {
+    }
+    
+    @Override
+    public ReadCacheStatistics statistics() {
+        ReadCacheStatistics statistics = new ReadCacheStatistics(CompactMapCache.class.getSimpleName());
+        statistics.setGetCount(getCount.sum());
+        statistics.setMissCount(missCount.sum());
+        statistics.setStoredCount(size);
+        statistics.setStoredBytes(storedBytes);
+        // The last arena is full size until the values are all put in
+        long peakResidentSize = arenaBytes + (offsets.length + (long) lengths.length) * 4;
+        if (hotEntries != null) {
+            peakResidentSize += hotEntries.length * 32L;
+        }
+        statistics.setPeakResidentSize(peakResidentSize);
+        return statistics;
+    }
+    
+    private static boolean isLatin1(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private int allocate(int length) {
+        if (length > ARENA_SIZE) {
+            // Release the unused part of the current arena, the next value starts a new one
+            if (arenaIndex >= 0 && arenaPosition < ARENA_SIZE) {
+                arenas[arenaIndex] = Arrays.copyOf(arenas[arenaIndex], arenaPosition);
+                arenaBytes -= ARENA_SIZE - arenaPosition;
+            }
+            newArena(length);
+            arenaPosition = ARENA_SIZE;
+            return 0;
+        }
+        if (arenaPosition + length > ARENA_SIZE) {
+            newArena(ARENA_SIZE);
+            arenaPosition = 0;
+        }
+        int position = arenaPosition;
+        arenaPosition += length;
+        return position;
+    }
+    
+    private void newArena(int arenaSize) {
+        arenaIndex++;
+        if (arenaIndex == MAX_ARENA_COUNT) {
+            throw new ExcelAnalysisException(
+                    "Shared strings are too large for CompactMapCache, please use MappedFileCache or Ehcache.");
+        }
+        if (arenaIndex == arenas.length) {
+            arenas = Arrays.copyOf(arenas, arenas.length << 1);
+        }
+        arenas[arenaIndex] = new byte[arenaSize];
+        arenaBytes += arenaSize;
+    }
+    
+    private void ensureCapacity(int capacity) {
+        if (capacity > offsets.length) {
+            int newCapacity = Math.max(capacity, offsets.length + (offsets.length >> 1));
+            offsets = Arrays.copyOf(offsets, newCapacity);
+            lengths = Arrays.copyOf(lengths, newCapacity);
+        }
+    }
+    
+    private static class HotEntry {
+        
+        private final int key;
+        
+        private final String value;
+        
+        private HotEntry(int key, String value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+    
+}
@@ -1,6 +1,7 @@
 package cn.idev.excel.cache;
 
 import cn.idev.excel.context.AnalysisContext;
+import cn.idev.excel.exception.ExcelAnalysisException;
 import cn.idev.excel.util.FileUtils;
 import cn.idev.excel.util.ListUtils;
 import lombok.extern.slf4j.Slf4j;
@@ -15,7 +16,13 @@ import org.ehcache.config.units.MemoryUnit;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
 
 /**
  * Default cache
@@ -27,6 +34,25 @@ public class Ehcache implements ReadCache {
     
     public static final int BATCH_COUNT = 100;
     
+    /**
+     * Number of batches read in order before prefetching starts
+     */
+    private static final int SEQUENTIAL_THRESHOLD = 2;
+    
+    private static final int DEFAULT_MAX_CACHE_ACTIVATE_BATCH_COUNT = 20;
+    
+    private static final String PREFETCH_THREAD_NAME = "fastexcel-ehcache-prefetch";
+    
+    /**
+     * Number of values in a batch
+     */
+    private final int batchSize;
+    
+    /**
+     * Number of batches to read ahead when the batches are read in order. 0 means disabled.
+     */
+    private final int prefetchBatchCount;
+    
     /**
      * Key index
      */
@@ -36,7 +62,7 @@ public class Ehcache implements ReadCache {
     
     public static final int DEBUG_WRITE_SIZE = 100 * 10000;
     
-    private ArrayList<String> dataList = ListUtils.newArrayListWithExpectedSize(BATCH_COUNT);
+    private ArrayList<String> dataList;
     
     private static final CacheManager FILE_CACHE_MANAGER;
     
@@ -58,6 +84,38 @@ public class Ehcache implements ReadCache {
      */
     private org.ehcache.Cache<Integer, ArrayList> activeCache;
     
+    /**
+     * Currently active cache when prefetching is enabled
+     */
+    private SegmentedLruCache<Integer, ArrayList<String>> prefetchActiveCache;
+    
+    /**
+     * Batches being read in the background
+     */
+    private final Map<Integer, FutureTask<ArrayList<String>>> prefetchTaskMap = new ConcurrentHashMap<>();
+    
+    private ExecutorService prefetchExecutor;
+    
+    /**
+     * The batch read last time. It is immutable, so it can be shared without lock.
+     */
+    private volatile ActiveBatch currentBatch;
+    
+    /**
+     * The last batch that was loaded into the active cache
+     */
+    private int lastRoute = -1;
+    
+    /**
+     * Number of batches loaded in order
+     */
+    private int sequentialCount;
+    
+    /**
+     * The last batch that has been prefetched
+     */
+    private int prefetchedRoute = -1;
+    
     private String cacheAlias;
     
     /**
@@ -65,19 +123,73 @@ public class Ehcache implements ReadCache {
      */
     private int cacheMiss = 0;
     
+    private long getCount;
+    
+    /**
+     * Chars of all the values
+     */
+    private long storedChars;
+    
+    /**
+     * Number of batches read ahead. Only written by the prefetch thread.
+     */
+    private volatile long prefetchedBatchCount;
+    
+    /**
+     * Maximum number of batches in the active cache, -1 if it is limited by size
+     */
+    private int activeBatchCapacity = -1;
+    
+    /**
+     * Maximum size of the active cache, 0 if it is limited by the number of batches.unit bytes.
+     */
+    private long activeSizeCapacity;
+    
     @Deprecated
     public Ehcache(Integer maxCacheActivateSize) {
         this(maxCacheActivateSize, null);
     }
     
     public Ehcache(Integer maxCacheActivateSize, Integer maxCacheActivateBatchCount) {
+        this(maxCacheActivateSize, maxCacheActivateBatchCount, null, null);
+    }
+    
+    /**
+     * @param maxCacheActivateSize       Maximum size of cache activation.unit MB.
+     * @param maxCacheActivateBatchCount Maximum batch of `SharedStrings` stored in memory.
+     * @param batchSize                  Number of `SharedStrings` in a batch. Default is {@link #BATCH_COUNT}.
+     * @param prefetchBatchCount         Number of batches to read ahead in the background when the batches are read in
+     *                                   order. The active cache is then scan resistant: batches read only once do not
+     *                                   push out the ones read repeatedly, and `maxCacheActivateBatchCount` is used
+     *                                   instead of `maxCacheActivateSize`. Default is 0, disabled.
+     */
+    public Ehcache(Integer maxCacheActivateSize, Integer maxCacheActivateBatchCount, Integer batchSize,
+            Integer prefetchBatchCount) {
+        this.batchSize = batchSize == null || batchSize <= 0 ? BATCH_COUNT : batchSize;
+        this.prefetchBatchCount = prefetchBatchCount == null || prefetchBatchCount <= 0 ? 0 : prefetchBatchCount;
+        this.dataList = ListUtils.newArrayListWithExpectedSize(this.batchSize);
+        if (this.prefetchBatchCount > 0) {
+            int activateBatchCount = maxCacheActivateBatchCount == null ? DEFAULT_MAX_CACHE_ACTIVATE_BATCH_COUNT
+                    : maxCacheActivateBatchCount;
+            int protectedCapacity = activateBatchCount * 4 / 5;
+            // The prefetched batches wait in the probation segment until they are read
+            int probationCapacity = Math.max(activateBatchCount - protectedCapacity, this.prefetchBatchCount + 1);
+            this.prefetchActiveCache = new SegmentedLruCache<>(protectedCapacity, probationCapacity);
+            this.activeBatchCapacity = protectedCapacity + probationCapacity;
+            this.activeCacheConfiguration = null;
+            return;
+        }
         // In order to be compatible with the code
         // If the user set up `maxCacheActivateSize`, then continue using it
         if (maxCacheActivateSize != null) {
+            this.activeSizeCapacity = maxCacheActivateSize * 1024L * 1024L;
             this.activeCacheConfiguration = CacheConfigurationBuilder.newCacheConfigurationBuilder(Integer.class,
                     ArrayList.class,
                     ResourcePoolsBuilder.newResourcePoolsBuilder().heap(maxCacheActivateSize, MemoryUnit.MB)).build();
         } else {
+            if (maxCacheActivateBatchCount != null) {
+                this.activeBatchCapacity = maxCacheActivateBatchCount;
+            }
             this.activeCacheConfiguration = CacheConfigurationBuilder.newCacheConfigurationBuilder(Integer.class,
                             ArrayList.class,
                             ResourcePoolsBuilder.newResourcePoolsBuilder().heap(maxCacheActivateBatchCount, EntryUnit.ENTRIES))
@@ -115,19 +227,30 @@ public class Ehcache implements ReadCache {
             }
             fileCache = FILE_CACHE_MANAGER.createCache(cacheAlias, FILE_CACHE_CONFIGURATION);
         }
+        if (prefetchActiveCache != null) {
+            prefetchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, PREFETCH_THREAD_NAME);
+                thread.setDaemon(true);
+                return thread;
+            });
+            return;
+        }
         activeCache = ACTIVE_CACHE_MANAGER.createCache(cacheAlias, activeCacheConfiguration);
     }
     
     @Override
     public void put(String value) {
         dataList.add(value);
-        if (dataList.size() >= BATCH_COUNT) {
+        if (value != null) {
+            storedChars += value.length();
+        }
+        if (dataList.size() >= batchSize) {
             fileCache.put(activeIndex, dataList);
             activeIndex++;
-            dataList = ListUtils.newArrayListWithExpectedSize(BATCH_COUNT);
+            dataList = ListUtils.newArrayListWithExpectedSize(batchSize);
         }
         if (log.isDebugEnabled()) {
-            int alreadyPut = activeIndex * BATCH_COUNT + dataList.size();
+            int alreadyPut = activeIndex * batchSize + dataList.size();
             if (alreadyPut % DEBUG_WRITE_SIZE == 0) {
                 log.debug("Already put :{}", alreadyPut);
             }
@@ -139,18 +262,114 @@ public class Ehcache implements ReadCache {
         if (key == null || key < 0) {
             return null;
         }
-        int route = key / BATCH_COUNT;
-        ArrayList<String> dataList = activeCache.get(route);
+        getCount++;
+        int route = key / batchSize;
+        // The last batch is still in memory
+        if (route == activeIndex) {
+            return this.dataList.get(key % batchSize);
+        }
+        ActiveBatch activeBatch = currentBatch;
+        if (activeBatch == null || activeBatch.route != route) {
+            activeBatch = new ActiveBatch(route, loadBatch(route));
+            currentBatch = activeBatch;
+        }
+        return activeBatch.dataList.get(key % batchSize);
+    }
+    
+    private ArrayList<String> loadBatch(int route) {
+        if (prefetchActiveCache == null) {
+            ArrayList<String> dataList = activeCache.get(route);
+            if (dataList == null) {
+                dataList = fileCache.get(route);
+                activeCache.put(route, dataList);
+                logCacheMiss();
+            }
+            return dataList;
+        }
+        ArrayList<String> dataList = prefetchActiveCache.get(route);
         if (dataList == null) {
-            dataList = fileCache.get(route);
-            activeCache.put(route, dataList);
-            if (log.isDebugEnabled()) {
-                if (cacheMiss++ % DEBUG_CACHE_MISS_SIZE == 0) {
-                    log.debug("Cache misses count:{}", cacheMiss);
+            FutureTask<ArrayList<String>> prefetchTask = prefetchTaskMap.get(route);
+            if (prefetchTask != null) {
+                dataList = waitPrefetch(prefetchTask);
+            }
+            if (dataList == null) {
+                dataList = readBatch(route);
+                prefetchActiveCache.put(route, dataList, true);
+                logCacheMiss();
+            }
+        }
+        prefetch(route);
+        return dataList;
+    }
+    
+    /**
+     * Read ahead the following batches if the batches are read in order.
+     *
+     * @param route The batch being read
+     */
+    private void prefetch(int route) {
+        if (route == lastRoute + 1) {
+            sequentialCount++;
+        } else if (route != lastRoute) {
+            sequentialCount = 0;
+            prefetchedRoute = route;
+        }
+        lastRoute = route;
+        if (sequentialCount < SEQUENTIAL_THRESHOLD) {
+            return;
+        }
+        // Only the batches already in the file cache can be read
+        int end = Math.min(route + prefetchBatchCount, activeIndex - 1);
+        for (int prefetchRoute = Math.max(route + 1, prefetchedRoute + 1); prefetchRoute <= end; prefetchRoute++) {
+            if (prefetchActiveCache.containsKey(prefetchRoute) || prefetchTaskMap.containsKey(prefetchRoute)) {
+                continue;
+            }
+            int finalPrefetchRoute = prefetchRoute;
+            FutureTask<ArrayList<String>> prefetchTask = new FutureTask<>(() -> {
+                try {
+                    ArrayList<String> dataList = readBatch(finalPrefetchRoute);
+                    prefetchActiveCache.put(finalPrefetchRoute, dataList, false);
+                    prefetchedBatchCount++;
+                    return dataList;
+                } finally {
+                    prefetchTaskMap.remove(finalPrefetchRoute);
                 }
+            });
+            prefetchTaskMap.put(prefetchRoute, prefetchTask);
+            prefetchExecutor.execute(prefetchTask);
+        }
+        prefetchedRoute = Math.max(prefetchedRoute, end);
+    }
+    
+    /**
+     * Wait for a batch being read in the background.
+     *
+     * @param prefetchTask
+     * @return null if the background read failed
+     */
+    private ArrayList<String> waitPrefetch(FutureTask<ArrayList<String>> prefetchTask) {
+        try {
+            return prefetchTask.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExcelAnalysisException("Interrupted while waiting for shared strings.", e);
+        } catch (ExecutionException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Prefetch shared strings failed, read again.", e.getCause());
             }
+            return null;
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private ArrayList<String> readBatch(int route) {
+        return fileCache.get(route);
+    }
+    
+    private void logCacheMiss() {
+        if (cacheMiss++ % DEBUG_CACHE_MISS_SIZE == 0 && log.isDebugEnabled()) {
+            log.debug("Cache misses count:{}", cacheMiss);
         }
-        return dataList.get(key % BATCH_COUNT);
     }
     
     @Override
@@ -163,8 +382,51 @@ public class Ehcache implements ReadCache {
     
     @Override
     public void destroy() {
+        if (prefetchExecutor != null) {
+            prefetchExecutor.shutdownNow();
+            prefetchTaskMap.clear();
+            prefetchActiveCache.clear();
+        }
+        currentBatch = null;
         FILE_CACHE_MANAGER.removeCache(cacheAlias);
-        ACTIVE_CACHE_MANAGER.removeCache(cacheAlias);
+        if (activeCache != null) {
+            ACTIVE_CACHE_MANAGER.removeCache(cacheAlias);
+        }
+    }
+    
+    @Override
+    public ReadCacheStatistics statistics() {
+        ReadCacheStatistics statistics = new ReadCacheStatistics(Ehcache.class.getSimpleName());
+        long storedCount = (long) activeIndex * batchSize + dataList.size();
+        long missCount = cacheMiss;
+        long loadedBatchCount = missCount + prefetchedBatchCount;
+        statistics.setGetCount(getCount);
+        statistics.setMissCount(missCount);
+        statistics.setLoadedBatchCount(loadedBatchCount);
+        statistics.setStoredCount(storedCount);
+        statistics.setStoredBytes(storedChars * 2);
+        if (storedCount > 0) {
+            // The batch being written and the batches in the active cache
+            long batchResidentSize =
+                    (storedChars * 2 + storedCount * MapCache.STRING_OVERHEAD) * batchSize / storedCount;
+            long activeResidentSize = activeBatchCapacity < 0 ? activeSizeCapacity
+                    : Math.min(loadedBatchCount, activeBatchCapacity) * batchResidentSize;
+            statistics.setPeakResidentSize(batchResidentSize + Math.min(activeResidentSize,
+                    loadedBatchCount * batchResidentSize));
+        }
+        return statistics;
+    }
+    
+    private static class ActiveBatch {
+        
+        private final int route;
+        
+        private final ArrayList<String> dataList;
+        
+        private ActiveBatch(int route, ArrayList<String> dataList) {
+            this.route = route;
+            this.dataList = dataList;
+        }
     }
     
 }
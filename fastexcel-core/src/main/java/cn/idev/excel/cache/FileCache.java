@@ -0,0 +1,431 @@
+package cn.idev.excel.cache;
+
+import cn.idev.excel.context.AnalysisContext;
+import cn.idev.excel.exception.ExcelAnalysisException;
+import cn.idev.excel.util.FileUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Store the shared strings in a temporary file of the current read.
+ * <p>
+ * The strings are appended to the file as UTF-8 and only an offset array is kept in the heap. Each read has its own
+ * file, so there is no shared cache manager or lock, and the file is deleted as soon as {@link #destroy()} is called.
+ * The total size of all the files can be limited by {@link #setMaxTotalDiskUsage(long)}.
+ * <p>
+ * The file can also be saved into {@link SharedStringsStore} when the read is finished, and loaded again by the next
+ * read of the same workbook without parsing the shared strings.
+ */
+@Slf4j
+public class FileCache implements ReadCache {
+    
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    
+    private static final int DEFAULT_INITIAL_CAPACITY = 1024;
+    
+    /**
+     * Marks the end of a saved file, followed by the version of the format
+     */
+    private static final int MAGIC = 0x46455353;
+    
+    private static final int VERSION = 1;
+    
+    /**
+     * Position of the offsets, number of values, magic and version
+     */
+    private static final int TRAILER_SIZE = 8 + 4 + 4 + 4;
+    
+    /**
+     * Disk space used by all the file caches in the JVM
+     */
+    private static final AtomicLong TOTAL_DISK_USAGE = new AtomicLong();
+    
+    /**
+     * Maximum disk space used by all the file caches in the JVM.unit bytes.
+     */
+    private static volatile long maxTotalDiskUsage = Long.MAX_VALUE;
+    
+    private File cacheDirectory;
+    
+    private File dataFile;
+    
+    private RandomAccessFile randomAccessFile;
+    
+    private FileChannel fileChannel;
+    
+    private ByteBuffer writeBuffer;
+    
+    /**
+     * Total number of bytes written
+     */
+    private long position;
+    
+    /**
+     * Disk space reserved by this cache
+     */
+    private long reservedDiskUsage;
+    
+    /**
+     * Start offset of each value. A null value is stored as {@code -offset - 1}. The last element is the end of the
+     * file.
+     */
+    private long[] offsets = new long[DEFAULT_INITIAL_CAPACITY];
+    
+    /**
+     * Number of values
+     */
+    private int size;
+    
+    /**
+     * If not null, the file will be saved into {@link SharedStringsStore} with this key after all the values are put
+     * in.
+     */
+    private String storeKey;
+    
+    /**
+     * If not null, the values are loaded from this file of {@link SharedStringsStore} and nothing can be put in.
+     */
+    private File storeFile;
+    
+    private boolean finished;
+    
+    private final LongAdder getCount = new LongAdder();
+    
+    private final LongAdder missCount = new LongAdder();
+    
+    /**
+     * Maximum disk space used by all the file caches in the JVM. If exceeded, the read will fail. Default is
+     * unlimited.
+     *
+     * @param maxTotalDiskUsage unit bytes
+     */
+    public static void setMaxTotalDiskUsage(long maxTotalDiskUsage) {
+        FileCache.maxTotalDiskUsage = maxTotalDiskUsage;
+    }
+    
+    public static long getMaxTotalDiskUsage() {
+        return maxTotalDiskUsage;
+    }
+    
+    /**
+     * Disk space currently used by all the file caches in the JVM.
+     *
+     * @return unit bytes
+     */
+    public static long getTotalDiskUsage() {
+        return TOTAL_DISK_USAGE.get();
+    }
+    
+    @Override
+    public void init(AnalysisContext analysisContext) {
+        if (storeFile != null) {
+            load();
+            return;
+        }
+        cacheDirectory = FileUtils.createCacheTmpFile();
+        dataFile = new File(cacheDirectory, UUID.randomUUID() + ".sst");
+        try {
+            randomAccessFile = new RandomAccessFile(dataFile, "rw");
+        } catch (IOException e) {
+            throw new ExcelAnalysisException("Can not create file cache:" + dataFile.getAbsolutePath(), e);
+        }
+        fileChannel = randomAccessFile.getChannel();
+        writeBuffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+    }
+    
+    @Override
+    public void put(String value) {
+        if (storeFile != null) {
+            throw new ExcelAnalysisException("The file cache has been loaded and can not be modified.");
+        }
+        ensureCapacity(size + 2);
+        if (value == null) {
+            offsets[size++] = -position - 1;
+            return;
+        }
+        offsets[size++] = position;
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        write(bytes);
+        position += bytes.length;
+    }
+    
+    @Override
+    public String get(Integer key) {
+        if (key == null || key < 0 || key >= size) {
+            return null;
+        }
+        getCount.increment();
+        long start = offsets[key];
+        if (start < 0) {
+            return null;
+        }
+        long end = key + 1 < size ? realOffset(offsets[key + 1]) : position;
+        int length = (int) (end - start);
+        if (length == 0) {
+            return "";
+        }
+        missCount.increment();
+        byte[] bytes = new byte[length];
+        read(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    @Override
+    public void putFinished() {
+        ensureCapacity(size + 1);
+        offsets[size] = position;
+        try {
+            flush();
+            if (storeKey != null) {
+                writeIndex();
+            }
+        } catch (IOException e) {
+            throw new ExcelAnalysisException("Can not write to the file cache.", e);
+        }
+        writeBuffer = null;
+        finished = true;
+        if (log.isDebugEnabled()) {
+            log.debug("File cache finished, count:{}, bytes:{}", size, position);
+        }
+    }
+    
+    @Override
+    public void destroy() {
+        try {
+            if (randomAccessFile != null) {
+                randomAccessFile.close();
+            }
+            if (storeKey != null && finished) {
+                SharedStringsStore.save(storeKey, dataFile);
+            }
+        } catch (IOException e) {
+            throw new ExcelAnalysisException("Can not close the file cache.", e);
+        } finally {
+            if (cacheDirectory != null) {
+                FileUtils.delete(cacheDirectory);
+                cacheDirectory = null;
+            }
+            TOTAL_DISK_USAGE.addAndGet(-reservedDiskUsage);
+            reservedDiskUsage = 0;
+        }
+    }
+    
+    @Override
+    public ReadCacheStatistics statistics() {
+        ReadCacheStatistics statistics = new ReadCacheStatistics(getClass().getSimpleName());
+        statistics.setGetCount(getCount.sum());
+        statistics.setMissCount(missCount.sum());
+        statistics.setStoredCount(size);
+        statistics.setStoredBytes(position);
+        statistics.setPeakResidentSize(offsets.length * 8L + (storeFile == null ? WRITE_BUFFER_SIZE : 0));
+        return statistics;
+    }
+    
+    /**
+     * Read the bytes of a value.
+     *
+     * @param start Start offset in the file
+     * @param bytes Bytes to fill
+     */
+    protected void read(long start, byte[] bytes) {
+        try {
+            if (writeBuffer != null) {
+                // Not all values have been put in yet
+                flush();
+            }
+            readFully(ByteBuffer.wrap(bytes), start);
+        } catch (IOException e) {
+            throw new ExcelAnalysisException("Can not read from the file cache.", e);
+        }
+    }
+    
+    /**
+     * Whether the values are loaded from {@link SharedStringsStore}
+     *
+     * @return true if loaded
+     */
+    protected boolean isLoaded() {
+        return storeFile != null;
+    }
+    
+    void setStoreKey(String storeKey) {
+        this.storeKey = storeKey;
+    }
+    
+    void setStoreFile(File storeFile) {
+        this.storeFile = storeFile;
+    }
+    
+    protected FileChannel getFileChannel() {
+        return fileChannel;
+    }
+    
+    /**
+     * Total number of bytes written
+     *
+     * @return bytes
+     */
+    protected long getPosition() {
+        return position;
+    }
+    
+    /**
+     * Number of values
+     *
+     * @return count
+     */
+    protected int getSize() {
+        return size;
+    }
+    
+    /**
+     * Append the offsets and the trailer to the file, so that it can be loaded again.
+     */
+    private void writeIndex() throws IOException {
+        long indexPosition = position;
+        ByteBuffer byteBuffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+        for (int i = 0; i <= size; i++) {
+            if (byteBuffer.remaining() < 8) {
+                writeDirectly(byteBuffer);
+            }
+            byteBuffer.putLong(offsets[i]);
+        }
+        if (byteBuffer.remaining() < TRAILER_SIZE) {
+            writeDirectly(byteBuffer);
+        }
+        byteBuffer.putLong(indexPosition);
+        byteBuffer.putInt(size);
+        byteBuffer.putInt(MAGIC);
+        byteBuffer.putInt(VERSION);
+        writeDirectly(byteBuffer);
+    }
+    
+    private void writeDirectly(ByteBuffer byteBuffer) throws IOException {
+        byteBuffer.flip();
+        reserveDiskUsage(byteBuffer.remaining());
+        while (byteBuffer.hasRemaining()) {
+            fileChannel.write(byteBuffer);
+        }
+        byteBuffer.clear();
+    }
+    
+    /**
+     * Read the offsets of a file saved by {@link #writeIndex()}.
+     */
+    private void load() {
+        try {
+            randomAccessFile = new RandomAccessFile(storeFile, "r");
+            fileChannel = randomAccessFile.getChannel();
+            long fileSize = fileChannel.size();
+            if (fileSize < TRAILER_SIZE) {
+                throw new ExcelAnalysisException("Invalid shared strings file:" + storeFile.getAbsolutePath());
+            }
+            ByteBuffer trailer = ByteBuffer.allocate(TRAILER_SIZE);
+            readFully(trailer, fileSize - TRAILER_SIZE);
+            trailer.flip();
+            long indexPosition = trailer.getLong();
+            int count = trailer.getInt();
+            if (trailer.getInt() != MAGIC || trailer.getInt() != VERSION || indexPosition < 0 || count < 0
+                    || indexPosition + (count + 1L) * 8 + TRAILER_SIZE != fileSize) {
+                throw new ExcelAnalysisException("Invalid shared strings file:" + storeFile.getAbsolutePath());
+            }
+            offsets = new long[count + 1];
+            ByteBuffer byteBuffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+            long readPosition = indexPosition;
+            int index = 0;
+            while (index <= count) {
+                byteBuffer.clear();
+                byteBuffer.limit((int) Math.min(byteBuffer.capacity(), (count + 1L - index) * 8));
+                readFully(byteBuffer, readPosition);
+                readPosition += byteBuffer.position();
+                byteBuffer.flip();
+                while (byteBuffer.hasRemaining()) {
+                    offsets[index++] = byteBuffer.getLong();
+                }
+            }
+            size = count;
+            position = indexPosition;
+            finished = true;
+        } catch (IOException e) {
+            throw new ExcelAnalysisException("Can not load the shared strings file:" + storeFile.getAbsolutePath(), e);
+        }
+    }
+    
+    private void readFully(ByteBuffer byteBuffer, long start) throws IOException {
+        long readPosition = start;
+        while (byteBuffer.hasRemaining()) {
+            int read = fileChannel.read(byteBuffer, readPosition);
+            if (read < 0) {
+                throw new ExcelAnalysisException("Unexpected end of the file cache.");
+            }
+            readPosition += read;
+        }
+    }
+    
+    private static long realOffset(long offset) {
+        return offset < 0 ? -offset - 1 : offset;
+    }
+    
+    private void ensureCapacity(int capacity) {
+        if (capacity > offsets.length) {
+            offsets = Arrays.copyOf(offsets, Math.max(capacity, offsets.length + (offsets.length >> 1)));
+        }
+    }
+    
+    private void reserveDiskUsage(long bytes) {
+        long max = maxTotalDiskUsage;
+        while (true) {
+            long used = TOTAL_DISK_USAGE.get();
+            if (used + bytes > max) {
+                throw new ExcelAnalysisException(
+                        "The disk usage of the file caches exceeds the limit of " + max + " bytes, please increase "
+                                + "the limit or use another cache.");
+            }
+            if (TOTAL_DISK_USAGE.compareAndSet(used, used + bytes)) {
+                reservedDiskUsage += bytes;
+                return;
+            }
+        }
+    }
+    
+    private void write(byte[] bytes) {
+        try {
+            if (bytes.length > writeBuffer.remaining()) {
+                flush();
+            }
+            if (bytes.length > writeBuffer.capacity()) {
+                reserveDiskUsage(bytes.length);
+                ByteBuffer byteBuffer = ByteBuffer.wrap(bytes);
+                while (byteBuffer.hasRemaining()) {
+                    fileChannel.write(byteBuffer);
+                }
+                return;
+            }
+            writeBuffer.put(bytes);
+        } catch (IOException e) {
+            throw new ExcelAnalysisException("Can not write to the file cache.", e);
+        }
+    }
+    
+    private void flush() throws IOException {
+        writeBuffer.flip();
+        if (writeBuffer.hasRemaining()) {
+            reserveDiskUsage(writeBuffer.remaining());
+        }
+        while (writeBuffer.hasRemaining()) {
+            fileChannel.write(writeBuffer);
+        }
+        writeBuffer.clear();
+    }
+    
+}
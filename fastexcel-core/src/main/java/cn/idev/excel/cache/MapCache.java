@@ -4,6 +4,7 @@ import cn.idev.excel.context.AnalysisContext;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Putting temporary data directly into a map is a little more efficient but very memory intensive
@@ -12,8 +13,21 @@ import java.util.List;
  */
 public class MapCache implements ReadCache {
     
+    /**
+     * Object header, fields and array header of a {@link String} and its reference in the list, the bytes a value
+     * takes in memory besides its chars.
+     */
+    public static final int STRING_OVERHEAD = 56;
+    
     private final List<String> cache = new ArrayList<>();
     
+    private final LongAdder getCount = new LongAdder();
+    
+    /**
+     * Chars of all the values
+     */
+    private long storedChars;
+    
     @Override
     public void init(AnalysisContext analysisContext) {
     }
@@ -21,6 +35,9 @@ public class MapCache implements ReadCache {
     @Override
     public void put(String value) {
         cache.add(value);
+        if (value != null) {
+            storedChars += value.length();
+        }
     }
     
     @Override
@@ -28,6 +45,7 @@ public class MapCache implements ReadCache {
         if (key == null || key < 0) {
             return null;
         }
+        getCount.increment();
         return cache.get(key);
     }
     
@@ -39,4 +57,14 @@ public class MapCache implements ReadCache {
     public void destroy() {
     }
     
+    @Override
+    public ReadCacheStatistics statistics() {
+        ReadCacheStatistics statistics = new ReadCacheStatistics(MapCache.class.getSimpleName());
+        statistics.setGetCount(getCount.sum());
+        statistics.setStoredCount(cache.size());
+        statistics.setStoredBytes(storedChars * 2);
+        statistics.setPeakResidentSize(storedChars * 2 + (long) cache.size() * STRING_OVERHEAD);
+        return statistics;
+    }
+    
 }
@@ -0,0 +1,91 @@
+package cn.idev.excel.cache;
+
+import cn.idev.excel.context.AnalysisContext;
+import cn.idev.excel.exception.ExcelAnalysisException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Store the shared strings in a memory mapped file.
+ * <p>
+ * The strings are appended to a temporary file as UTF-8 and only an offset array is kept in the heap, so it takes up
+ * very little memory and does not need any serialization. After all the values are put in, the file is mapped into
+ * memory and each {@link #get(Integer)} decodes a single slice.
+ */
+public class MappedFileCache extends FileCache {
+    
+    /**
+     * Each mapped segment is 1 GB, a single {@link MappedByteBuffer} can not exceed 2 GB.
+     */
+    private static final int SEGMENT_SHIFT = 30;
+    
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT;
+    
+    private static final int SEGMENT_MASK = (int) (SEGMENT_SIZE - 1);
+    
+    private MappedByteBuffer[] segments;
+    
+    @Override
+    public void init(AnalysisContext analysisContext) {
+        super.init(analysisContext);
+        if (isLoaded()) {
+            map();
+        }
+    }
+    
+    @Override
+    public void putFinished() {
+        super.putFinished();
+        map();
+    }
+    
+    private void map() {
+        long position = getPosition();
+        int segmentCount = (int) ((position + SEGMENT_SIZE - 1) >>> SEGMENT_SHIFT);
+        MappedByteBuffer[] mappedSegments = new MappedByteBuffer[segmentCount];
+        try {
+            for (int i = 0; i < segmentCount; i++) {
+                long segmentStart = (long) i << SEGMENT_SHIFT;
+                mappedSegments[i] = getFileChannel().map(FileChannel.MapMode.READ_ONLY, segmentStart,
+                        Math.min(SEGMENT_SIZE, position - segmentStart));
+            }
+        } catch (IOException e) {
+            throw new ExcelAnalysisException("Can not map the shared strings file.", e);
+        }
+        segments = mappedSegments;
+    }
+    
+    @Override
+    public void destroy() {
+        segments = null;
+        super.destroy();
+    }
+    
+    @Override
+    protected void read(long start, byte[] bytes) {
+        MappedByteBuffer[] mappedSegments = segments;
+        if (mappedSegments == null) {
+            // Not all values have been put in yet, read from the file directly
+            super.read(start, bytes);
+            return;
+        }
+        int length = bytes.length;
+        int segmentIndex = (int) (start >>> SEGMENT_SHIFT);
+        int segmentOffset = (int) (start & SEGMENT_MASK);
+        if (segmentOffset + length <= SEGMENT_SIZE) {
+            ByteBuffer slice = mappedSegments[segmentIndex].duplicate();
+            slice.position(segmentOffset);
+            slice.get(bytes);
+            return;
+        }
+        // The value spans two segments
+        for (int i = 0; i < length; i++) {
+            long index = start + i;
+            bytes[i] = mappedSegments[(int) (index >>> SEGMENT_SHIFT)].get((int) (index & SEGMENT_MASK));
+        }
+    }
+    
+}
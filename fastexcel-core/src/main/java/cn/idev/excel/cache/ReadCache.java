@@ -41,4 +41,13 @@ public interface ReadCache {
      */
     void destroy();
     
+    /**
+     * Statistics of the cache. It can still be called after {@link #destroy()}.
+     *
+     * @return Null if the cache does not support statistics
+     */
+    default ReadCacheStatistics statistics() {
+        return null;
+    }
+    
 }
@@ -0,0 +1,65 @@
+package cn.idev.excel.cache;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Statistics of a {@link ReadCache}.
+ * <p>
+ * The caches that can be read by several threads without a lock count with a
+ * {@link java.util.concurrent.atomic.LongAdder}, so the counters are exact.
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+public class ReadCacheStatistics {
+    
+    /**
+     * Name of the cache
+     */
+    private String cacheName;
+    
+    /**
+     * Number of {@link ReadCache#get(Integer)} calls
+     */
+    private long getCount;
+    
+    /**
+     * Number of gets whose value was not in the heap and had to be read from the disk or decoded
+     */
+    private long missCount;
+    
+    /**
+     * Number of batches loaded from the disk, including the ones read ahead
+     */
+    private long loadedBatchCount;
+    
+    /**
+     * Number of values put in
+     */
+    private long storedCount;
+    
+    /**
+     * Size of the values put in, as stored by the cache.unit bytes.
+     */
+    private long storedBytes;
+    
+    /**
+     * Estimated peak size of the heap used by the cache.unit bytes.
+     */
+    private long peakResidentSize;
+    
+    /**
+     * Time spent parsing the shared strings.unit milliseconds. Null if the shared strings were not parsed, for example
+     * they were loaded from {@link SharedStringsStore} or the read of them was not finished.
+     */
+    private Long parseTime;
+    
+    public ReadCacheStatistics() {
+    }
+    
+    public ReadCacheStatistics(String cacheName) {
+        this.cacheName = cacheName;
+    }
+}
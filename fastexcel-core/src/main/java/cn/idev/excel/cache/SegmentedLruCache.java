@@ -0,0 +1,103 @@
+package cn.idev.excel.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A scan resistant LRU cache.
+ * <p>
+ * New entries go into the probation segment and are only moved to the protected segment when they are read again. A
+ * sequential scan that reads every entry once only replaces the probation segment, the entries that are read
+ * repeatedly stay in the protected segment.
+ */
+class SegmentedLruCache<K, V> {
+    
+    private final int protectedCapacity;
+    
+    private final int probationCapacity;
+    
+    private final LinkedHashMap<K, V> protectedSegment = new LinkedHashMap<>(16, 0.75F, true);
+    
+    private final LinkedHashMap<K, ProbationEntry<V>> probationSegment = new LinkedHashMap<>(16, 0.75F, true);
+    
+    /**
+     * @param protectedCapacity Maximum number of entries that have been read more than once
+     * @param probationCapacity Maximum number of entries that have been read at most once
+     */
+    SegmentedLruCache(int protectedCapacity, int probationCapacity) {
+        this.protectedCapacity = Math.max(0, protectedCapacity);
+        this.probationCapacity = Math.max(1, probationCapacity);
+    }
+    
+    synchronized V get(K key) {
+        V value = protectedSegment.get(key);
+        if (value != null) {
+            return value;
+        }
+        ProbationEntry<V> probationEntry = probationSegment.get(key);
+        if (probationEntry == null) {
+            return null;
+        }
+        if (!probationEntry.referenced || protectedCapacity == 0) {
+            probationEntry.referenced = true;
+            return probationEntry.value;
+        }
+        probationSegment.remove(key);
+        protectedSegment.put(key, probationEntry.value);
+        if (protectedSegment.size() > protectedCapacity) {
+            // Demote the least recently used protected entry
+            Iterator<Map.Entry<K, V>> iterator = protectedSegment.entrySet().iterator();
+            Map.Entry<K, V> eldest = iterator.next();
+            iterator.remove();
+            probationSegment.put(eldest.getKey(), new ProbationEntry<>(eldest.getValue(), false));
+            trimProbation();
+        }
+        return probationEntry.value;
+    }
+    
+    /**
+     * Put a new entry into the probation segment. Nothing is changed if the key already exists.
+     *
+     * @param key
+     * @param value
+     * @param referenced Whether the entry has already been read once
+     */
+    synchronized void put(K key, V value, boolean referenced) {
+        if (protectedSegment.containsKey(key) || probationSegment.containsKey(key)) {
+            return;
+        }
+        probationSegment.put(key, new ProbationEntry<>(value, referenced));
+        trimProbation();
+    }
+    
+    synchronized boolean containsKey(K key) {
+        return protectedSegment.containsKey(key) || probationSegment.containsKey(key);
+    }
+    
+    synchronized void clear() {
+        protectedSegment.clear();
+        probationSegment.clear();
+    }
+    
+    private void trimProbation() {
+        Iterator<ProbationEntry<V>> iterator = probationSegment.values().iterator();
+        while (probationSegment.size() > probationCapacity) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+    
+    private static class ProbationEntry<V> {
+        
+        private final V value;
+        
+        private boolean referenced;
+        
+        private ProbationEntry(V value, boolean referenced) {
+            this.value = value;
+            this.referenced = referenced;
+        }
+    }
+    
+}
@@ -0,0 +1,256 @@
+package cn.idev.excel.cache;
+
+import cn.idev.excel.exception.ExcelAnalysisException;
+import cn.idev.excel.util.FileUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.openxml4j.opc.PackagePart;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * A directory that keeps the shared strings of the workbooks read before.
+ * <p>
+ * The shared strings are stored in the format of {@link FileCache}, and the file name is the SHA-256 digest and the
+ * size of {@code sharedStrings.xml}. The next read of the same workbook maps the file instead of parsing the xml
+ * again. When the directory exceeds {@link #setMaxSize(long)}, the least recently used files are deleted.
+ * <p>
+ * The directory is only accessible by its owner, a directory that is a symbolic link or belongs to another user is not
+ * used, see {@link FileUtils#createStoreDirectory(File)}.
+ */
+@Slf4j
+public class SharedStringsStore {
+    
+    private static final String FILE_SUFFIX = ".sst";
+    
+    private static final String DIRECTORY_NAME = "sharedstrings";
+    
+    private static final long DEFAULT_MAX_SIZE = 1024 * 1024 * 1024L;
+    
+    private static final int BUFFER_SIZE = 8192;
+    
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    
+    private static final char[] DIGITS = "0123456789abcdef".toCharArray();
+    
+    private static volatile File directory;
+    
+    private static volatile long maxSize = DEFAULT_MAX_SIZE;
+    
+    private SharedStringsStore() {
+    }
+    
+    /**
+     * Directory of the stored files. Default is {@code sharedstrings} under {@link FileUtils#getStorePath()}.
+     *
+     * @param directory
+     */
+    public static void setDirectory(File directory) {
+        SharedStringsStore.directory = directory;
+    }
+    
+    public static File getDirectory() {
+        File currentDirectory = directory;
+        if (currentDirectory == null) {
+            currentDirectory = new File(FileUtils.getStorePath(), DIRECTORY_NAME);
+        }
+        return currentDirectory;
+    }
+    
+    /**
+     * Maximum size of all the stored files. Default is 1 GB.
+     *
+     * @param maxSize unit bytes
+     */
+    public static void setMaxSize(long maxSize) {
+        SharedStringsStore.maxSize = maxSize;
+    }
+    
+    public static long getMaxSize() {
+        return maxSize;
+    }
+    
+    /**
+     * The key of the part: the SHA-256 digest and the size of its content. The CRC recorded in the zip is not used,
+     * two different parts of the same size collide too easily with it.
+     *
+     * @param packagePart
+     * @return key
+     */
+    public static String key(PackagePart packagePart) {
+        MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new ExcelAnalysisException("Can not create the digest:" + DIGEST_ALGORITHM, e);
+        }
+        long size = 0;
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream inputStream = packagePart.getInputStream()) {
+            int read;
+            while ((read = inputStream.read(buffer)) > 0) {
+                messageDigest.update(buffer, 0, read);
+                size += read;
+            }
+        } catch (IOException e) {
+            throw new ExcelAnalysisException("Can not read the part:" + packagePart.getPartName(), e);
+        }
+        byte[] digest = messageDigest.digest();
+        char[] hex = new char[digest.length << 1];
+        for (int i = 0; i < digest.length; i++) {
+            hex[i << 1] = DIGITS[(digest[i] >>> 4) & 0x0F];
+            hex[(i << 1) + 1] = DIGITS[digest[i] & 0x0F];
+        }
+        return new String(hex) + "-" + size;
+    }
+    
+    /**
+     * Load the stored shared strings.
+     *
+     * @param key
+     * @return null if not stored
+     */
+    public static ReadCache load(String key) {
+        if (!checkDirectory()) {
+            return null;
+        }
+        File file = file(key);
+        if (!file.isFile()) {
+            return null;
+        }
+        // Used as the access time of the LRU
+        file.setLastModified(System.currentTimeMillis());
+        MappedFileCache mappedFileCache = new MappedFileCache();
+        mappedFileCache.setStoreFile(file);
+        return mappedFileCache;
+    }
+    
+    /**
+     * Create a cache that stores the shared strings when the read is finished.
+     *
+     * @param key
+     * @return cache
+     */
+    public static ReadCache create(String key) {
+        MappedFileCache mappedFileCache = new MappedFileCache();
+        mappedFileCache.setStoreKey(key);
+        return mappedFileCache;
+    }
+    
+    /**
+     * Delete the stored shared strings.
+     *
+     * @param key
+     * @return true if deleted
+     */
+    public static synchronized boolean evict(String key) {
+        return file(key).delete();
+    }
+    
+    /**
+     * Delete all the stored shared strings.
+     */
+    public static synchronized void evictAll() {
+        for (File file : listFiles()) {
+            file.delete();
+        }
+    }
+    
+    /**
+     * Size of all the stored files.
+     *
+     * @return unit bytes
+     */
+    public static synchronized long size() {
+        long size = 0;
+        for (File file : listFiles()) {
+            size += file.length();
+        }
+        return size;
+    }
+    
+    /**
+     * Move a file written by {@link FileCache} into the directory, and delete the least recently used files if the
+     * directory is too large.
+     *
+     * @param key
+     * @param dataFile
+     */
+    static synchronized void save(String key, File dataFile) {
+        File target = file(key);
+        try {
+            FileUtils.createStoreDirectory(target.getParentFile());
+            try {
+                Files.move(dataFile.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(dataFile.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Can not store the shared strings:{}", target.getAbsolutePath(), e);
+            return;
+        }
+        trim();
+    }
+    
+    private static void trim() {
+        File[] files = listFiles();
+        long size = 0;
+        for (File file : files) {
+            size += file.length();
+        }
+        long currentMaxSize = maxSize;
+        if (size <= currentMaxSize) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            if (size <= currentMaxSize) {
+                return;
+            }
+            long length = file.length();
+            if (file.delete()) {
+                size -= length;
+                if (log.isDebugEnabled()) {
+                    log.debug("Evict the shared strings:{}", file.getName());
+                }
+            }
+        }
+    }
+    
+    /**
+     * Create the directory and check that it can be used.
+     *
+     * @return false if it is refused
+     */
+    private static boolean checkDirectory() {
+        try {
+            FileUtils.createStoreDirectory(getDirectory());
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("The shared strings store can not be used:{}", getDirectory().getAbsolutePath(), e);
+            return false;
+        }
+    }
+    
+    private static File[] listFiles() {
+        if (!checkDirectory()) {
+            return new File[0];
+        }
+        File[] files = getDirectory().listFiles((dir, name) -> name.endsWith(FILE_SUFFIX));
+        return files == null ? new File[0] : files;
+    }
+    
+    private static File file(String key) {
+        return new File(getDirectory(), key + FILE_SUFFIX);
+    }
+    
+}
@@ -0,0 +1,703 @@
+package cn.idev.excel.cache;
+
+import cn.idev.excel.exception.ExcelAnalysisException;
+import cn.idev.excel.util.FileUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.openxml4j.opc.ZipPackagePart;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * A directory that keeps the sheets of the workbooks read before, together with an index of their rows.
+ * <p>
+ * The first read of a sheet inflates its xml into the directory and records the byte offset of a row every
+ * {@value #ROW_INTERVAL} rows. The next read of the same sheet reads the local file instead of inflating the zip entry
+ * again, and only reads the head rows and the rows from the index entry before the start row, the rows between them
+ * are never parsed. The file name is built from the metadata of the zip entry, see {@link #key(PackagePart)}, so
+ * the sheet is not inflated to find the stored file. When the directory exceeds {@link #setMaxSize(long)}, the least
+ * recently used files are deleted.
+ * <p>
+ * The directory is only accessible by its owner, a directory that is a symbolic link or belongs to another user is not
+ * used, see {@link FileUtils#createStoreDirectory(File)}.
+ */
+@Slf4j
+public class SheetIndexStore {
+    
+    private static final String SHEET_FILE_SUFFIX = ".xml";
+    
+    private static final String INDEX_FILE_SUFFIX = ".idx";
+    
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+    
+    private static final String DIRECTORY_NAME = "sheetindex";
+    
+    private static final long DEFAULT_MAX_SIZE = 4 * 1024 * 1024 * 1024L;
+    
+    private static final int INDEX_MAGIC = 0x46455849;
+    
+    /**
+     * Record the offset of a row every this many rows.
+     */
+    private static final int ROW_INTERVAL = 1000;
+    
+    private static final int BUFFER_SIZE = 8192;
+    
+    private static final int MAX_NAME_LENGTH = 64;
+    
+    private static final Pattern PART_NAME_PATTERN = Pattern.compile("[^0-9A-Za-z]+");
+    
+    private static volatile File directory;
+    
+    private static volatile long maxSize = DEFAULT_MAX_SIZE;
+    
+    private SheetIndexStore() {
+    }
+    
+    /**
+     * Directory of the stored files. Default is {@code sheetindex} under {@link FileUtils#getStorePath()}.
+     *
+     * @param directory
+     */
+    public static void setDirectory(File directory) {
+        SheetIndexStore.directory = directory;
+    }
+    
+    public static File getDirectory() {
+        File currentDirectory = directory;
+        if (currentDirectory == null) {
+            currentDirectory = new File(FileUtils.getStorePath(), DIRECTORY_NAME);
+        }
+        return currentDirectory;
+    }
+    
+    /**
+     * Maximum size of all the stored files. Default is 4 GB.
+     *
+     * @param maxSize unit bytes
+     */
+    public static void setMaxSize(long maxSize) {
+        SheetIndexStore.maxSize = maxSize;
+    }
+    
+    public static long getMaxSize() {
+        return maxSize;
+    }
+    
+    /**
+     * The key of the sheet: the part name, and the CRC-32, the compressed size and the size that the zip records for
+     * the entry. None of them needs the sheet to be inflated.
+     *
+     * @param sheetPackagePart
+     * @return null if the part is not read from a zip file that records them
+     */
+    public static String key(PackagePart sheetPackagePart) {
+        if (!(sheetPackagePart instanceof ZipPackagePart)) {
+            return null;
+        }
+        ZipArchiveEntry zipArchiveEntry = ((ZipPackagePart) sheetPackagePart).getZipArchive();
+        if (zipArchiveEntry == null || zipArchiveEntry.getCrc() < 0 || zipArchiveEntry.getCompressedSize() < 0
+                || zipArchiveEntry.getSize() < 0) {
+            return null;
+        }
+        String partName = PART_NAME_PATTERN.matcher(sheetPackagePart.getPartName().getName().substring(1))
+                .replaceAll("_");
+        return partName + "-" + Long.toHexString(zipArchiveEntry.getCrc()) + "-"
+                + zipArchiveEntry.getCompressedSize() + "-" + zipArchiveEntry.getSize();
+    }
+    
+    /**
+     * Open the sheet from the store, the sheet is stored first if it is not stored yet. The sheet is read directly if
+     * it has no key or the directory can not be used.
+     *
+     * @param sheetPackagePart
+     * @param sheetInputStream The stream of the zip entry, it is closed if the sheet is read from the store
+     * @param headRowNumber    The head rows are always read
+     * @param startRow         The first data row to read, null if all the rows are read
+     * @return stream of the sheet xml
+     */
+    public static InputStream open(PackagePart sheetPackagePart, InputStream sheetInputStream, int headRowNumber,
+            Integer startRow) {
+        String key = key(sheetPackagePart);
+        if (key == null || !checkDirectory()) {
+            return sheetInputStream;
+        }
+        try {
+            // The stored sheet is opened under the lock, so that it is not evicted between the load and the open
+            synchronized (SheetIndexStore.class) {
+                SheetIndex sheetIndex = load(key);
+                if (sheetIndex != null) {
+                    long[] regions = sheetIndex.regions(headRowNumber, startRow);
+                    if (sheetIndex.hasRowTags(regions)) {
+                        if (log.isDebugEnabled()) {
+                            log.debug("Load the stored sheet:{}", key);
+                        }
+                        return open(key, sheetIndex, regions);
+                    }
+                    // Another sheet with the same key, or the file has been changed
+                    log.warn("The stored sheet does not match its index, store the sheet again:{}", key);
+                }
+            }
+            return store(key, sheetInputStream, headRowNumber, startRow);
+        } finally {
+            try {
+                sheetInputStream.close();
+            } catch (IOException e) {
+                log.warn("Can not close the sheet input stream.", e);
+            }
+        }
+    }
+    
+    private static InputStream open(String key, SheetIndex sheetIndex, long[] regions) {
+        try {
+            return new RegionInputStream(FileChannel.open(sheetIndex.sheetFile.toPath(), StandardOpenOption.READ),
+                    regions, sheetIndex.temporary ? sheetIndex.sheetFile : null);
+        } catch (IOException e) {
+            throw new ExcelAnalysisException("Can not open the stored sheet:" + key, e);
+        }
+    }
+    
+    /**
+     * Delete the stored sheet.
+     *
+     * @param key
+     * @return true if deleted
+     */
+    public static synchronized boolean evict(String key) {
+        boolean deleted = indexFile(key).delete();
+        return sheetFile(key).delete() || deleted;
+    }
+    
+    /**
+     * Delete all the stored sheets.
+     */
+    public static synchronized void evictAll() {
+        for (File file : listFiles()) {
+            file.delete();
+        }
+    }
+    
+    /**
+     * Size of all the stored files.
+     *
+     * @return unit bytes
+     */
+    public static synchronized long size() {
+        long size = 0;
+        for (File file : listFiles()) {
+            size += file.length();
+        }
+        return size;
+    }
+    
+    private static SheetIndex load(String key) {
+        File sheetFile = sheetFile(key);
+        File indexFile = indexFile(key);
+        if (!sheetFile.isFile() || !indexFile.isFile()) {
+            return null;
+        }
+        try (DataInputStream dataInputStream = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(indexFile), BUFFER_SIZE))) {
+            if (dataInputStream.readInt() != INDEX_MAGIC) {
+                return null;
+            }
+            long sheetLength = dataInputStream.readLong();
+            if (sheetLength != sheetFile.length()) {
+                return null;
+            }
+            int size = dataInputStream.readInt();
+            int[] rowIndexes = new int[size];
+            long[] offsets = new long[size];
+            for (int i = 0; i < size; i++) {
+                rowIndexes[i] = dataInputStream.readInt();
+                offsets[i] = dataInputStream.readLong();
+            }
+            // Used as the access time of the LRU
+            long now = System.currentTimeMillis();
+            sheetFile.setLastModified(now);
+            indexFile.setLastModified(now);
+            return new SheetIndex(sheetFile, sheetLength, rowIndexes, offsets, size);
+        } catch (IOException e) {
+            log.warn("The stored sheet index can not be loaded, index the sheet again:{}", key, e);
+            return null;
+        }
+    }
+    
+    private static InputStream store(String key, InputStream sheetInputStream, int headRowNumber,
+            Integer startRow) {
+        File parent = getDirectory();
+        String tempName = key + "-" + UUID.randomUUID();
+        File tempSheetFile = new File(parent, tempName + SHEET_FILE_SUFFIX + TEMP_FILE_SUFFIX);
+        File tempIndexFile = new File(parent, tempName + INDEX_FILE_SUFFIX + TEMP_FILE_SUFFIX);
+        SheetIndex sheetIndex;
+        try {
+            Files.copy(sheetInputStream, tempSheetFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            try (InputStream inputStream = new BufferedInputStream(new FileInputStream(tempSheetFile), BUFFER_SIZE)) {
+                sheetIndex = new RowOffsetScanner(inputStream).scan(tempSheetFile.length());
+            }
+            try (DataOutputStream dataOutputStream = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(tempIndexFile), BUFFER_SIZE))) {
+                sheetIndex.write(dataOutputStream);
+            }
+        } catch (IOException | RuntimeException e) {
+            FileUtils.delete(tempSheetFile);
+            FileUtils.delete(tempIndexFile);
+            throw new ExcelAnalysisException("Can not store the sheet:" + key, e);
+        }
+        synchronized (SheetIndexStore.class) {
+            // Make room before the sheet is moved in, so that it is not evicted before it is opened
+            trim();
+            File sheetFile = sheetFile(key);
+            try {
+                // The index is moved last, a sheet without the index is stored again by the next read
+                move(tempSheetFile, sheetFile);
+                move(tempIndexFile, indexFile(key));
+            } catch (IOException e) {
+                log.warn("Can not store the sheet:{}", sheetFile.getAbsolutePath(), e);
+                FileUtils.delete(tempIndexFile);
+                if (tempSheetFile.isFile()) {
+                    return open(key, sheetIndex.moveTo(tempSheetFile, true),
+                            sheetIndex.regions(headRowNumber, startRow));
+                }
+            }
+            return open(key, sheetIndex.moveTo(sheetFile, false), sheetIndex.regions(headRowNumber, startRow));
+        }
+    }
+    
+    private static void move(File source, File target) throws IOException {
+        try {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    
+    private static void trim() {
+        File[] files = listFiles();
+        long size = 0;
+        for (File file : files) {
+            size += file.length();
+        }
+        long currentMaxSize = maxSize;
+        if (size <= currentMaxSize) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            if (size <= currentMaxSize) {
+                return;
+            }
+            long length = file.length();
+            if (file.delete()) {
+                size -= length;
+                if (log.isDebugEnabled()) {
+                    log.debug("Evict the stored sheet:{}", file.getName());
+                }
+            }
+        }
+    }
+    
+    /**
+     * Create the directory and check that it can be used.
+     *
+     * @return false if it is refused
+     */
+    private static boolean checkDirectory() {
+        try {
+            FileUtils.createStoreDirectory(getDirectory());
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("The sheet index store can not be used:{}", getDirectory().getAbsolutePath(), e);
+            return false;
+        }
+    }
+    
+    private static File[] listFiles() {
+        if (!checkDirectory()) {
+            return new File[0];
+        }
+        File[] files = getDirectory().listFiles(
+                (dir, name) -> name.endsWith(SHEET_FILE_SUFFIX) || name.endsWith(INDEX_FILE_SUFFIX));
+        return files == null ? new File[0] : files;
+    }
+    
+    private static File sheetFile(String key) {
+        return new File(getDirectory(), key + SHEET_FILE_SUFFIX);
+    }
+    
+    private static File indexFile(String key) {
+        return new File(getDirectory(), key + INDEX_FILE_SUFFIX);
+    }
+    
+    /**
+     * The offsets of the rows of a stored sheet, sorted by the row index.
+     */
+    private static class SheetIndex {
+        
+        private final File sheetFile;
+        
+        private final long sheetLength;
+        
+        private final int[] rowIndexes;
+        
+        private final long[] offsets;
+        
+        private final int size;
+        
+        /**
+         * The sheet file is not in the store and is deleted after it is read.
+         */
+        private boolean temporary;
+        
+        private SheetIndex(File sheetFile, long sheetLength, int[] rowIndexes, long[] offsets, int size) {
+            this.sheetFile = sheetFile;
+            this.sheetLength = sheetLength;
+            this.rowIndexes = rowIndexes;
+            this.offsets = offsets;
+            this.size = size;
+        }
+        
+        private SheetIndex moveTo(File sheetFile, boolean temporary) {
+            SheetIndex sheetIndex = new SheetIndex(sheetFile, sheetLength, rowIndexes, offsets, size);
+            sheetIndex.temporary = temporary;
+            return sheetIndex;
+        }
+        
+        /**
+         * The regions of the file to read: the beginning of the file up to the first indexed row after the head,
+         * and the rest of the file from the last indexed row that is not after the start row.
+         *
+         * @param headRowNumber
+         * @param startRow      null if all the rows are read
+         * @return pairs of the start and the end offset
+         */
+        private long[] regions(int headRowNumber, Integer startRow) {
+            if (startRow == null) {
+                return new long[] {0, sheetLength};
+            }
+            int headEnd = 0;
+            while (headEnd < size && rowIndexes[headEnd] < headRowNumber) {
+                headEnd++;
+            }
+            int seek = headEnd;
+            while (seek + 1 < size && rowIndexes[seek + 1] <= startRow) {
+                seek++;
+            }
+            if (seek <= headEnd || seek >= size) {
+                // Nothing to skip
+                return new long[] {0, sheetLength};
+            }
+            return new long[] {0, offsets[headEnd], offsets[seek], sheetLength};
+        }
+        
+        /**
+         * Whether a row tag starts at each offset where a region is cut. The key does not cover the content, so the
+         * bytes are checked before the rows between the regions are skipped.
+         *
+         * @param regions
+         * @return false if the stored sheet does not match the index
+         */
+        private boolean hasRowTags(long[] regions) {
+            if (regions.length <= 2) {
+                return true;
+            }
+            try (FileChannel fileChannel = FileChannel.open(sheetFile.toPath(), StandardOpenOption.READ)) {
+                for (int i = 1; i < regions.length - 1; i++) {
+                    if (!isRowTag(fileChannel, regions[i])) {
+                        return false;
+                    }
+                }
+                return true;
+            } catch (IOException e) {
+                log.warn("Can not read the stored sheet:{}", sheetFile.getAbsolutePath(), e);
+                return false;
+            }
+        }
+        
+        private boolean isRowTag(FileChannel fileChannel, long offset) throws IOException {
+            ByteBuffer byteBuffer = ByteBuffer.allocate(MAX_NAME_LENGTH + 2);
+            fileChannel.read(byteBuffer, offset);
+            byteBuffer.flip();
+            if (!byteBuffer.hasRemaining() || byteBuffer.get() != '<') {
+                return false;
+            }
+            byte[] name = new byte[MAX_NAME_LENGTH];
+            int nameLength = 0;
+            while (byteBuffer.hasRemaining() && nameLength < MAX_NAME_LENGTH) {
+                byte b = byteBuffer.get();
+                if (isWhitespace(b) || b == '>' || b == '/') {
+                    return isRowName(name, nameLength);
+                }
+                name[nameLength++] = b;
+            }
+            return false;
+        }
+        
+        private void write(DataOutputStream dataOutputStream) throws IOException {
+            dataOutputStream.writeInt(INDEX_MAGIC);
+            dataOutputStream.writeLong(sheetLength);
+            dataOutputStream.writeInt(size);
+            for (int i = 0; i < size; i++) {
+                dataOutputStream.writeInt(rowIndexes[i]);
+                dataOutputStream.writeLong(offsets[i]);
+            }
+        }
+    }
+    
+    /**
+     * Find the offsets of the row tags in the sheet xml. Comments, CDATA and the attribute values are skipped, so the
+     * text that looks like a row tag is ignored.
+     */
+    private static class RowOffsetScanner {
+        
+        private final InputStream inputStream;
+        
+        private final byte[] name = new byte[MAX_NAME_LENGTH];
+        
+        private int nameLength;
+        
+        private long position;
+        
+        private int[] rowIndexes = new int[16];
+        
+        private long[] offsets = new long[16];
+        
+        private int size;
+        
+        private RowOffsetScanner(InputStream inputStream) {
+            this.inputStream = inputStream;
+        }
+        
+        private SheetIndex scan(long sheetLength) throws IOException {
+            int lastRowIndex = -1;
+            int lastInterval = -1;
+            boolean withoutRowIndex = false;
+            int b = read();
+            while (b >= 0) {
+                if (b != '<') {
+                    b = read();
+                    continue;
+                }
+                long tagOffset = position - 1;
+                b = read();
+                if (b == '!') {
+                    skipMarkup();
+                    b = read();
+                    continue;
+                }
+                b = readName(b);
+                if (!isRowName(name, nameLength)) {
+                    continue;
+                }
+                int rowIndex = -1;
+                while (b >= 0 && b != '>') {
+                    if (isWhitespace(b) || b == '/') {
+                        b = read();
+                        continue;
+                    }
+                    b = readName(b);
+                    boolean rowAttribute = nameLength == 1 && name[0] == 'r';
+                    while (isWhitespace(b)) {
+                        b = read();
+                    }
+                    if (b != '=') {
+                        continue;
+                    }
+                    b = read();
+                    while (isWhitespace(b)) {
+                        b = read();
+                    }
+                    if (b != '"' && b != '\'') {
+                        continue;
+                    }
+                    int quote = b;
+                    int value = 0;
+                    b = read();
+                    while (b >= 0 && b != quote) {
+                        if (rowAttribute && b >= '0' && b <= '9') {
+                            value = value * 10 + b - '0';
+                        }
+                        b = read();
+                    }
+                    if (rowAttribute && value > 0) {
+                        rowIndex = value - 1;
+                    }
+                    b = read();
+                }
+                if (rowIndex < 0) {
+                    rowIndex = lastRowIndex + 1;
+                    withoutRowIndex = true;
+                }
+                int interval = rowIndex / ROW_INTERVAL;
+                if (interval > lastInterval) {
+                    add(rowIndex, tagOffset);
+                    lastInterval = interval;
+                }
+                lastRowIndex = rowIndex;
+            }
+            if (withoutRowIndex) {
+                // The rows after a seek would be counted from the wrong row, so the sheet is always read in full
+                size = 0;
+            }
+            return new SheetIndex(null, sheetLength, rowIndexes, offsets, size);
+        }
+        
+        private int readName(int b) throws IOException {
+            nameLength = 0;
+            while (b >= 0 && !isWhitespace(b) && b != '>' && b != '/' && b != '=' && b != '<') {
+                if (nameLength < MAX_NAME_LENGTH) {
+                    name[nameLength] = (byte) b;
+                }
+                nameLength++;
+                b = read();
+            }
+            return b;
+        }
+        
+        /**
+         * Skip a comment, a CDATA or a declaration, the {@code <!} has been read.
+         */
+        private void skipMarkup() throws IOException {
+            int b = read();
+            if (b == '-') {
+                skipTo('-', '-', '>');
+            } else if (b == '[') {
+                skipTo(']', ']', '>');
+            } else {
+                while (b >= 0 && b != '>') {
+                    b = read();
+                }
+            }
+        }
+        
+        private void skipTo(int first, int second, int third) throws IOException {
+            int previous2 = -1;
+            int previous1 = -1;
+            int b = read();
+            while (b >= 0 && !(previous2 == first && previous1 == second && b == third)) {
+                previous2 = previous1;
+                previous1 = b;
+                b = read();
+            }
+        }
+        
+        private void add(int rowIndex, long offset) {
+            if (size == rowIndexes.length) {
+                rowIndexes = Arrays.copyOf(rowIndexes, size << 1);
+                offsets = Arrays.copyOf(offsets, size << 1);
+            }
+            rowIndexes[size] = rowIndex;
+            offsets[size] = offset;
+            size++;
+        }
+        
+        private int read() throws IOException {
+            int b = inputStream.read();
+            if (b >= 0) {
+                position++;
+            }
+            return b;
+        }
+    }
+    
+    /**
+     * {@code row} with or without the prefix of the namespace.
+     */
+    private static boolean isRowName(byte[] name, int nameLength) {
+        if (nameLength < 3 || nameLength > MAX_NAME_LENGTH) {
+            return false;
+        }
+        int start = nameLength - 3;
+        if (name[start] != 'r' || name[start + 1] != 'o' || name[start + 2] != 'w') {
+            return false;
+        }
+        return start == 0 || name[start - 1] == ':';
+    }
+    
+    private static boolean isWhitespace(int b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+    
+    /**
+     * Read the regions of the stored sheet one after another.
+     */
+    private static class RegionInputStream extends InputStream {
+        
+        private final FileChannel fileChannel;
+        
+        private final long[] regions;
+        
+        private int region;
+        
+        private long position;
+        
+        private final File deleteOnClose;
+        
+        private RegionInputStream(FileChannel fileChannel, long[] regions, File deleteOnClose) {
+            this.fileChannel = fileChannel;
+            this.regions = regions;
+            this.deleteOnClose = deleteOnClose;
+            this.position = regions[0];
+        }
+        
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            int read = read(b, 0, 1);
+            return read < 0 ? -1 : b[0] & 0xFF;
+        }
+        
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            while (region < regions.length) {
+                long end = regions[region + 1];
+                if (position < end) {
+                    int read = fileChannel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, end - position)),
+                            position);
+                    if (read < 0) {
+                        return -1;
+                    }
+                    position += read;
+                    return read;
+                }
+                region += 2;
+                if (region < regions.length) {
+                    position = regions[region];
+                }
+            }
+            return -1;
+        }
+        
+        @Override
+        public void close() throws IOException {
+            fileChannel.close();
+            if (deleteOnClose != null) {
+                FileUtils.delete(deleteOnClose);
+            }
+        }
+    }
+    
+}
@@ -0,0 +1,70 @@
+package cn.idev.excel.cache;
+
+import cn.idev.excel.context.AnalysisContext;
+
+/**
+ * A cache that can be read by several threads at the same time, used when the sheets are read concurrently.
+ */
+public class SynchronizedReadCache implements ReadCache {
+    
+    private final ReadCache readCache;
+    
+    private SynchronizedReadCache(ReadCache readCache) {
+        this.readCache = readCache;
+    }
+    
+    /**
+     * Make the cache safe to be read concurrently. {@link MapCache}, {@link CompactMapCache} and {@link FileCache} do
+     * not change after all the values are put in and count the reads with a
+     * {@link java.util.concurrent.atomic.LongAdder}, so they are returned directly, the others are synchronized.
+     *
+     * @param readCache
+     * @return read cache
+     */
+    public static ReadCache wrap(ReadCache readCache) {
+        if (readCache == null || readCache instanceof SynchronizedReadCache) {
+            return readCache;
+        }
+        ReadCache actualReadCache = readCache;
+        if (readCache instanceof AsyncReadCache) {
+            // It only locks while the values are still being put in
+            actualReadCache = ((AsyncReadCache) readCache).getReadCache();
+        }
+        if (actualReadCache instanceof MapCache || actualReadCache instanceof CompactMapCache
+                || actualReadCache instanceof FileCache) {
+            return readCache;
+        }
+        return new SynchronizedReadCache(readCache);
+    }
+    
+    @Override
+    public synchronized void init(AnalysisContext analysisContext) {
+        readCache.init(analysisContext);
+    }
+    
+    @Override
+    public synchronized void put(String value) {
+        readCache.put(value);
+    }
+    
+    @Override
+    public synchronized String get(Integer key) {
+        return readCache.get(key);
+    }
+    
+    @Override
+    public synchronized void putFinished() {
+        readCache.putFinished();
+    }
+    
+    @Override
+    public synchronized void destroy() {
+        readCache.destroy();
+    }
+    
+    @Override
+    public synchronized ReadCacheStatistics statistics() {
+        return readCache.statistics();
+    }
+    
+}
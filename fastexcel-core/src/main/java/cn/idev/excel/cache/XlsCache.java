@@ -3,17 +3,50 @@ package cn.idev.excel.cache;
 import cn.idev.excel.context.AnalysisContext;
 import org.apache.poi.hssf.record.SSTRecord;
 
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * Use SSTRecord.
+ * <p>
+ * The decoded strings are kept in a direct-mapped table keyed by the index of the string, so the repeated strings are
+ * not converted again. If the SSTRecord is not larger than the table, every string has its own slot. The sheets may be
+ * read in parallel, an entry is published with its key and value together, so a race only causes a miss, and the
+ * reads are counted with a {@link LongAdder}.
  *
  * @author Jiaju Zhuang
  */
 public class XlsCache implements ReadCache {
     
+    /**
+     * The default max number of the decoded strings that are kept.
+     */
+    public static final int DEFAULT_MAX_DECODED_SIZE = 1 << 16;
+    
+    private static final int MAX_TABLE_SIZE = 1 << 30;
+    
     private final SSTRecord sstRecord;
     
+    private final DecodedString[] decodedStringTable;
+    
+    private final int mask;
+    
+    private final LongAdder getCount = new LongAdder();
+    
+    private final LongAdder missCount = new LongAdder();
+    
     public XlsCache(SSTRecord sstRecord) {
+        this(sstRecord, DEFAULT_MAX_DECODED_SIZE);
+    }
+    
+    /**
+     * @param sstRecord
+     * @param maxDecodedSize The max number of the decoded strings that are kept, it is rounded up to a power of two.
+     */
+    public XlsCache(SSTRecord sstRecord, int maxDecodedSize) {
         this.sstRecord = sstRecord;
+        int size = tableSizeFor(Math.min(sstRecord.getNumUniqueStrings(), maxDecodedSize));
+        this.decodedStringTable = new DecodedString[size];
+        this.mask = size - 1;
     }
     
     @Override
@@ -26,7 +59,17 @@ public class XlsCache implements ReadCache {
     
     @Override
     public String get(Integer key) {
-        return sstRecord.getString(key).toString();
+        getCount.increment();
+        int index = key;
+        int slot = index & mask;
+        DecodedString decodedString = decodedStringTable[slot];
+        if (decodedString != null && decodedString.index == index) {
+            return decodedString.value;
+        }
+        missCount.increment();
+        String value = sstRecord.getString(index).toString();
+        decodedStringTable[slot] = new DecodedString(index, value);
+        return value;
     }
     
     @Override
@@ -37,4 +80,38 @@ public class XlsCache implements ReadCache {
     public void destroy() {
     }
     
+    @Override
+    public ReadCacheStatistics statistics() {
+        ReadCacheStatistics statistics = new ReadCacheStatistics(XlsCache.class.getSimpleName());
+        statistics.setGetCount(getCount.sum());
+        statistics.setMissCount(missCount.sum());
+        statistics.setStoredCount(sstRecord.getNumUniqueStrings());
+        return statistics;
+    }
+    
+    private static int tableSizeFor(int size) {
+        if (size <= 1) {
+            return 1;
+        }
+        if (size >= MAX_TABLE_SIZE) {
+            return MAX_TABLE_SIZE;
+        }
+        int tableSize = Integer.highestOneBit(size);
+        return tableSize == size ? tableSize : tableSize << 1;
+    }
+    
+    /**
+     * A decoded string and its index, the fields are final so that it can be read by other threads without a lock.
+     */
+    private static class DecodedString {
+        
+        private final int index;
+        
+        private final String value;
+        
+        private DecodedString(int index, String value) {
+            this.index = index;
+            this.value = value;
+        }
+    }
 }
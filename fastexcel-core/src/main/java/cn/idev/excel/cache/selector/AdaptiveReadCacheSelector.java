@@ -0,0 +1,198 @@
+package cn.idev.excel.cache.selector;
+
+import cn.idev.excel.cache.CompactMapCache;
+import cn.idev.excel.cache.Ehcache;
+import cn.idev.excel.cache.MapCache;
+import cn.idev.excel.cache.MappedFileCache;
+import cn.idev.excel.cache.ReadCache;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A cache selector that estimates the memory needed by the shared strings and checks the free heap.
+ * <p>
+ * The number of strings is read from the {@code uniqueCount} attribute of {@code <sst>}, or estimated from the size of
+ * the part if it is missing, and the heap headroom from {@link java.lang.management.MemoryMXBean}. When several files
+ * are read at the same time, each read only takes the memory it can actually get:
+ * <ol>
+ * <li>{@link MapCache} if all the strings fit in the allowed part of the free heap</li>
+ * <li>{@link CompactMapCache} if the packed strings fit</li>
+ * <li>{@link MappedFileCache} if the strings are not larger than {@link #maxUseMappedFileCacheSize}</li>
+ * <li>{@link Ehcache}, with the active batches sized to the allowed part of the free heap</li>
+ * </ol>
+ **/
+@Getter
+@Setter
+@EqualsAndHashCode
+public class AdaptiveReadCacheSelector implements ReadCacheSelector {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdaptiveReadCacheSelector.class);
+    
+    /**
+     * Convert bytes to megabytes
+     */
+    private static final long B2M = 1000 * 1000L;
+    
+    private static final Pattern UNIQUE_COUNT_PATTERN = Pattern.compile("uniqueCount=\"(\\d+)\"");
+    
+    /**
+     * The sst tag is at the beginning of the file, only read this many bytes to find it.
+     */
+    private static final int PEEK_SIZE = 4096;
+    
+    /**
+     * Length of {@code <si><t></t></si>}, which is not part of the value
+     */
+    private static final int SI_TAG_LENGTH = 16;
+    
+    /**
+     * Average size of an entry when `uniqueCount` can not be read, the size of the part is used instead
+     */
+    private static final int DEFAULT_AVERAGE_ENTRY_SIZE = 32;
+    
+    /**
+     * Offset and length of a value in {@link CompactMapCache}
+     */
+    private static final int COMPACT_OVERHEAD = 8;
+    
+    private static final double DEFAULT_MAX_HEAP_USAGE_RATIO = 0.25D;
+    
+    private static final long DEFAULT_MAX_USE_MAPPED_FILE_CACHE_SIZE = 1024;
+    
+    private static final int MIN_EHCACHE_ACTIVATE_BATCH_COUNT = 20;
+    
+    private static final int MAX_EHCACHE_ACTIVATE_BATCH_COUNT = 100 * 1000;
+    
+    /**
+     * The part of the free heap that one read can use for the shared strings. Default is 0.25.
+     */
+    private Double maxHeapUsageRatio;
+    
+    /**
+     * Shared strings exceeding this value will use {@link Ehcache}, or use {@link MappedFileCache}.unit MB. Default is
+     * 1024.
+     */
+    private Long maxUseMappedFileCacheSize;
+    
+    @Override
+    public ReadCache readCache(PackagePart sharedStringsTablePackagePart) {
+        long size = sharedStringsTablePackagePart.getSize();
+        if (size < 0) {
+            try (InputStream inputStream = sharedStringsTablePackagePart.getInputStream()) {
+                size = inputStream.available();
+            } catch (IOException e) {
+                LOGGER.warn("Unable to get file size, default used MapCache");
+                return new MapCache();
+            }
+        }
+        return readCache(size, readUniqueCount(sharedStringsTablePackagePart));
+    }
+    
+    @Override
+    public ReadCache readCache(long sharedStringsSize) {
+        return readCache(sharedStringsSize, -1);
+    }
+    
+    private ReadCache readCache(long size, long uniqueCount) {
+        if (uniqueCount < 0) {
+            uniqueCount = size / DEFAULT_AVERAGE_ENTRY_SIZE;
+        }
+        long valueSize = Math.max(0L, size - uniqueCount * SI_TAG_LENGTH);
+        
+        double ratio = maxHeapUsageRatio == null ? DEFAULT_MAX_HEAP_USAGE_RATIO : maxHeapUsageRatio;
+        long heapBudget = (long) (freeHeap() * ratio);
+        
+        // A char takes 2 bytes on Java 8, and the value in the file is at least 1 byte per char
+        long mapCacheSize = uniqueCount * MapCache.STRING_OVERHEAD + valueSize * 2;
+        if (mapCacheSize <= heapBudget) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Use map cache.estimated size:{}, heap budget:{}", mapCacheSize, heapBudget);
+            }
+            return new MapCache();
+        }
+        long compactMapCacheSize = uniqueCount * COMPACT_OVERHEAD + valueSize;
+        if (compactMapCacheSize <= heapBudget) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Use compact map cache.estimated size:{}, heap budget:{}", compactMapCacheSize,
+                        heapBudget);
+            }
+            return new CompactMapCache();
+        }
+        long maxMappedFileSize = maxUseMappedFileCacheSize == null ? DEFAULT_MAX_USE_MAPPED_FILE_CACHE_SIZE
+                : maxUseMappedFileCacheSize;
+        if (valueSize <= maxMappedFileSize * B2M) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Use mapped file cache.estimated size:{}", valueSize);
+            }
+            return new MappedFileCache();
+        }
+        long batchSize = Math.max(1L, mapCacheSize / Math.max(1L, uniqueCount)) * Ehcache.BATCH_COUNT;
+        int batchCount = (int) Math.max(MIN_EHCACHE_ACTIVATE_BATCH_COUNT,
+                Math.min(MAX_EHCACHE_ACTIVATE_BATCH_COUNT, heapBudget / batchSize));
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Use ehcache.estimated size:{}, active batch count:{}", valueSize, batchCount);
+        }
+        return new Ehcache(null, batchCount);
+    }
+    
+    /**
+     * Free heap, including the part that has not been allocated yet.
+     *
+     * @return bytes
+     */
+    private long freeHeap() {
+        MemoryUsage heapMemoryUsage = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        long max = heapMemoryUsage.getMax();
+        if (max < 0) {
+            max = Runtime.getRuntime().maxMemory();
+        }
+        return Math.max(0L, max - heapMemoryUsage.getUsed());
+    }
+    
+    /**
+     * Read `uniqueCount` in the sst tag. `count` is not used, it is the number of the cells that refer to the shared
+     * strings and can be far larger than the number of strings.
+     *
+     * @param sharedStringsTablePackagePart
+     * @return -1 if not found
+     */
+    private long readUniqueCount(PackagePart sharedStringsTablePackagePart) {
+        byte[] buffer = new byte[PEEK_SIZE];
+        int length = 0;
+        try (InputStream inputStream = sharedStringsTablePackagePart.getInputStream()) {
+            int read;
+            while (length < PEEK_SIZE && (read = inputStream.read(buffer, length, PEEK_SIZE - length)) > 0) {
+                length += read;
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read the count of shared strings.", e);
+            return -1;
+        }
+        String head = new String(buffer, 0, length, StandardCharsets.ISO_8859_1);
+        int start = head.indexOf("sst");
+        if (start < 0) {
+            return -1;
+        }
+        int end = head.indexOf('>', start);
+        if (end > 0) {
+            head = head.substring(start, end);
+        }
+        Matcher matcher = UNIQUE_COUNT_PATTERN.matcher(head);
+        if (matcher.find()) {
+            return Long.parseLong(matcher.group(1));
+        }
+        return -1;
+    }
+}
@@ -17,4 +17,15 @@ public interface ReadCacheSelector {
      * @return
      */
     ReadCache readCache(PackagePart sharedStringsTablePackagePart);
+    
+    /**
+     * Select a cache when the shared strings are not in a package, like the ones read from a streaming zip. The
+     * default selects by size with the thresholds of {@link SimpleReadCacheSelector}.
+     *
+     * @param sharedStringsSize Size of the shared strings xml, unit bytes
+     * @return
+     */
+    default ReadCache readCache(long sharedStringsSize) {
+        return new SimpleReadCacheSelector().readCache(sharedStringsSize);
+    }
 }
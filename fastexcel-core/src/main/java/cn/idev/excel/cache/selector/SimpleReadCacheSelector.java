@@ -1,7 +1,10 @@
 package cn.idev.excel.cache.selector;
 
+import cn.idev.excel.cache.CompactMapCache;
 import cn.idev.excel.cache.Ehcache;
+import cn.idev.excel.cache.FileCache;
 import cn.idev.excel.cache.MapCache;
+import cn.idev.excel.cache.MappedFileCache;
 import cn.idev.excel.cache.ReadCache;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -57,6 +60,35 @@ public class SimpleReadCacheSelector implements ReadCacheSelector {
      */
     private Integer maxCacheActivateBatchCount;
     
+    /**
+     * Number of `SharedStrings` in a batch of {@link Ehcache}. Default is 100.{@link Ehcache#BATCH_COUNT}
+     */
+    private Integer ehcacheBatchSize;
+    
+    /**
+     * Number of batches {@link Ehcache} reads ahead in the background when the shared strings are read in order.
+     * Default is 0, disabled.
+     */
+    private Integer ehcachePrefetchBatchCount;
+    
+    /**
+     * Shared strings exceeding {@link #maxUseMapCacheSize} will use {@link MappedFileCache} instead of {@link Ehcache}.
+     * Default is false.
+     */
+    private Boolean useMappedFileCache;
+    
+    /**
+     * Shared strings exceeding {@link #maxUseMapCacheSize} will use {@link FileCache} instead of {@link Ehcache}. Each
+     * read has its own file, which is deleted when the read is finished. Default is false.
+     */
+    private Boolean useFileCache;
+    
+    /**
+     * Shared strings under {@link #maxUseMapCacheSize} will use {@link CompactMapCache} instead of {@link MapCache}. It
+     * takes up much less memory, so a larger {@link #maxUseMapCacheSize} can be used. Default is false.
+     */
+    private Boolean useCompactMapCache;
+    
     public SimpleReadCacheSelector() {
     }
     
@@ -80,9 +112,14 @@ public class SimpleReadCacheSelector implements ReadCacheSelector {
                 size = sharedStringsTablePackagePart.getInputStream().available();
             } catch (IOException e) {
                 LOGGER.warn("Unable to get file size, default used MapCache");
-                return new MapCache();
+                return newMapCache();
             }
         }
+        return readCache(size);
+    }
+    
+    @Override
+    public ReadCache readCache(long size) {
         if (maxUseMapCacheSize == null) {
             maxUseMapCacheSize = DEFAULT_MAX_USE_MAP_CACHE_SIZE;
         }
@@ -90,7 +127,19 @@ public class SimpleReadCacheSelector implements ReadCacheSelector {
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug("Use map cache.size:{}", size);
             }
-            return new MapCache();
+            return newMapCache();
+        }
+        if (Boolean.TRUE.equals(useMappedFileCache)) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Use mapped file cache.size:{}", size);
+            }
+            return new MappedFileCache();
+        }
+        if (Boolean.TRUE.equals(useFileCache)) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Use file cache.size:{}", size);
+            }
+            return new FileCache();
         }
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Use ehcache.size:{}", size);
@@ -99,13 +148,22 @@ public class SimpleReadCacheSelector implements ReadCacheSelector {
         // In order to be compatible with the code
         // If the user set up `maxCacheActivateSize`, then continue using it
         if (maxCacheActivateSize != null) {
-            return new Ehcache(maxCacheActivateSize, maxCacheActivateBatchCount);
+            return new Ehcache(maxCacheActivateSize, maxCacheActivateBatchCount, ehcacheBatchSize,
+                    ehcachePrefetchBatchCount);
         } else {
             if (maxCacheActivateBatchCount == null) {
                 maxCacheActivateBatchCount = DEFAULT_MAX_EHCACHE_ACTIVATE_BATCH_COUNT;
             }
-            return new Ehcache(maxCacheActivateSize, maxCacheActivateBatchCount);
+            return new Ehcache(maxCacheActivateSize, maxCacheActivateBatchCount, ehcacheBatchSize,
+                    ehcachePrefetchBatchCount);
         }
         
     }
+    
+    private ReadCache newMapCache() {
+        if (Boolean.TRUE.equals(useCompactMapCache)) {
+            return new CompactMapCache();
+        }
+        return new MapCache();
+    }
 }
@@ -15,6 +15,7 @@ import cn.idev.excel.read.metadata.holder.xlsx.XlsxReadSheetHolder;
 import cn.idev.excel.read.metadata.holder.xlsx.XlsxReadWorkbookHolder;
 import cn.idev.excel.read.processor.AnalysisEventProcessor;
 import cn.idev.excel.read.processor.DefaultAnalysisEventProcessor;
+import cn.idev.excel.read.processor.PipelinedAnalysisEventProcessor;
 import cn.idev.excel.support.ExcelTypeEnum;
 import lombok.extern.slf4j.Slf4j;
 
@@ -70,12 +71,34 @@ public class AnalysisContextImpl implements AnalysisContext {
                 break;
         }
         currentReadHolder = readWorkbookHolder;
-        analysisEventProcessor = new DefaultAnalysisEventProcessor();
+        analysisEventProcessor = newAnalysisEventProcessor(readWorkbookHolder);
         if (log.isDebugEnabled()) {
             log.debug("Initialization 'AnalysisContextImpl' complete");
         }
     }
     
+    /**
+     * A context that reads a single sheet of the workbook holder, used when the sheets are read concurrently.
+     *
+     * @param readWorkbookHolder the workbook holder shared with the context of the workbook
+     */
+    public AnalysisContextImpl(ReadWorkbookHolder readWorkbookHolder) {
+        if (readWorkbookHolder == null) {
+            throw new IllegalArgumentException("Workbook holder argument cannot be null");
+        }
+        this.readWorkbookHolder = readWorkbookHolder;
+        currentReadHolder = readWorkbookHolder;
+        analysisEventProcessor = newAnalysisEventProcessor(readWorkbookHolder);
+    }
+    
+    private static AnalysisEventProcessor newAnalysisEventProcessor(ReadWorkbookHolder readWorkbookHolder) {
+        if (readWorkbookHolder != null && readWorkbookHolder.getRowPipelineExecutor() != null) {
+            return new PipelinedAnalysisEventProcessor(readWorkbookHolder.getRowPipelineExecutor(),
+                    readWorkbookHolder.getRowPipelineOrdered());
+        }
+        return new DefaultAnalysisEventProcessor();
+    }
+    
     @Override
     public void currentSheet(ReadSheet readSheet) {
         switch (readWorkbookHolder.getExcelType()) {
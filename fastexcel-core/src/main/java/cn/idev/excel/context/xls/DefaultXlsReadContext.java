@@ -17,6 +17,10 @@ public class DefaultXlsReadContext extends AnalysisContextImpl implements XlsRea
         super(readWorkbook, actualExcelType);
     }
     
+    public DefaultXlsReadContext(XlsReadWorkbookHolder xlsReadWorkbookHolder) {
+        super(xlsReadWorkbookHolder);
+    }
+    
     @Override
     public XlsReadWorkbookHolder xlsReadWorkbookHolder() {
         return (XlsReadWorkbookHolder) readWorkbookHolder();
@@ -33,10 +33,10 @@ public class DateNumberConverter implements Converter<Date> {
     public Date convertToJavaData(ReadCellData<?> cellData, ExcelContentProperty contentProperty,
             GlobalConfiguration globalConfiguration) {
         if (contentProperty == null || contentProperty.getDateTimeFormatProperty() == null) {
-            return DateUtils.getJavaDate(cellData.getNumberValue().doubleValue(),
+            return DateUtils.getJavaDate(cellData.doubleNumberValue(),
                     globalConfiguration.getUse1904windowing());
         } else {
-            return DateUtils.getJavaDate(cellData.getNumberValue().doubleValue(),
+            return DateUtils.getJavaDate(cellData.doubleNumberValue(),
                     contentProperty.getDateTimeFormatProperty().getUse1904windowing());
         }
     }
@@ -28,7 +28,7 @@ public class DoubleNumberConverter implements Converter<Double> {
     @Override
     public Double convertToJavaData(ReadCellData<?> cellData, ExcelContentProperty contentProperty,
             GlobalConfiguration globalConfiguration) {
-        return cellData.getNumberValue().doubleValue();
+        return cellData.doubleNumberValue();
     }
     
     @Override
@@ -33,10 +33,10 @@ public class LocalDateNumberConverter implements Converter<LocalDate> {
     public LocalDate convertToJavaData(ReadCellData<?> cellData, ExcelContentProperty contentProperty,
             GlobalConfiguration globalConfiguration) {
         if (contentProperty == null || contentProperty.getDateTimeFormatProperty() == null) {
-            return DateUtils.getLocalDate(cellData.getNumberValue().doubleValue(),
+            return DateUtils.getLocalDate(cellData.doubleNumberValue(),
                     globalConfiguration.getUse1904windowing());
         } else {
-            return DateUtils.getLocalDate(cellData.getNumberValue().doubleValue(),
+            return DateUtils.getLocalDate(cellData.doubleNumberValue(),
                     contentProperty.getDateTimeFormatProperty().getUse1904windowing());
         }
     }
@@ -33,10 +33,10 @@ public class LocalDateTimeNumberConverter implements Converter<LocalDateTime> {
     public LocalDateTime convertToJavaData(ReadCellData<?> cellData, ExcelContentProperty contentProperty,
             GlobalConfiguration globalConfiguration) {
         if (contentProperty == null || contentProperty.getDateTimeFormatProperty() == null) {
-            return DateUtils.getLocalDateTime(cellData.getNumberValue().doubleValue(),
+            return DateUtils.getLocalDateTime(cellData.doubleNumberValue(),
                     globalConfiguration.getUse1904windowing());
         } else {
-            return DateUtils.getLocalDateTime(cellData.getNumberValue().doubleValue(),
+            return DateUtils.getLocalDateTime(cellData.doubleNumberValue(),
                     contentProperty.getDateTimeFormatProperty().getUse1904windowing());
         }
     }
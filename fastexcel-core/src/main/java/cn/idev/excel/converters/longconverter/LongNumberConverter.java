@@ -29,7 +29,7 @@ public class LongNumberConverter implements Converter<Long> {
     @Override
     public Long convertToJavaData(ReadCellData<?> cellData, ExcelContentProperty contentProperty,
             GlobalConfiguration globalConfiguration) {
-        return cellData.getNumberValue().longValue();
+        return cellData.longNumberValue();
     }
     
     @Override
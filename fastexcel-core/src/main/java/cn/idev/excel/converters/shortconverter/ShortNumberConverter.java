@@ -29,7 +29,7 @@ public class ShortNumberConverter implements Converter<Short> {
     @Override
     public Short convertToJavaData(ReadCellData<?> cellData, ExcelContentProperty contentProperty,
             GlobalConfiguration globalConfiguration) {
-        return cellData.getNumberValue().shortValue();
+        return (short) cellData.longNumberValue();
     }
     
     @Override
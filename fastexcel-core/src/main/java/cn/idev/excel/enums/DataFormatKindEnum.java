@@ -0,0 +1,125 @@
+package cn.idev.excel.enums;
+
+import cn.idev.excel.util.DateUtils;
+import cn.idev.excel.util.StringUtils;
+
+/**
+ * The kind of number format, resolved once from the index and the format code of a data format.
+ */
+public enum DataFormatKindEnum {
+    /**
+     * General, or no format
+     */
+    GENERAL,
+    /**
+     * Text, like {@code @}
+     */
+    TEXT,
+    /**
+     * Date, with or without time
+     */
+    DATE,
+    /**
+     * Time only, like {@code h:mm:ss}
+     */
+    TIME,
+    /**
+     * Percent, like {@code 0.00%}
+     */
+    PERCENT,
+    /**
+     * Any other number format
+     */
+    NUMBER,
+    ;
+    
+    /**
+     * Whether the number is read as a date, the same as {@link DateUtils#isADateFormat(Short, String)}.
+     *
+     * @return true if it is a date or a time
+     */
+    public boolean isDate() {
+        return this == DATE || this == TIME;
+    }
+    
+    /**
+     * Resolve the kind of data format.
+     *
+     * @param index  The index of the format
+     * @param format The format code
+     * @return kind
+     */
+    public static DataFormatKindEnum of(Short index, String format) {
+        if (index != null && DateUtils.isADateFormatUncached(index, format)) {
+            return StringUtils.isEmpty(format) || hasDatePart(format) ? DATE : TIME;
+        }
+        if (StringUtils.isBlank(format) || "General".equalsIgnoreCase(format)) {
+            return GENERAL;
+        }
+        if ("@".equals(format)) {
+            return TEXT;
+        }
+        return contains(format, '%') ? PERCENT : NUMBER;
+    }
+    
+    /**
+     * The format has a year, a day, an era or a month name, the minutes are the same as the months and are ignored.
+     */
+    private static boolean hasDatePart(String format) {
+        int monthCount = 0;
+        for (int i = 0; i < format.length(); i++) {
+            char c = Character.toLowerCase(format.charAt(i));
+            switch (c) {
+                case '\\':
+                    i++;
+                    break;
+                case '"':
+                    i = skip(format, i, '"');
+                    break;
+                case '[':
+                    i = skip(format, i, ']');
+                    break;
+                case 'y':
+                case 'd':
+                case 'e':
+                case 'g':
+                case 'b':
+                    return true;
+                case 'm':
+                    if (++monthCount >= 3) {
+                        return true;
+                    }
+                    break;
+                default:
+                    monthCount = 0;
+                    break;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * The character is not in a quoted text, an escape or a bracket.
+     */
+    private static boolean contains(String format, char target) {
+        for (int i = 0; i < format.length(); i++) {
+            char c = format.charAt(i);
+            if (c == target) {
+                return true;
+            }
+            if (c == '\\') {
+                i++;
+            } else if (c == '"') {
+                i = skip(format, i, '"');
+            } else if (c == '[') {
+                i = skip(format, i, ']');
+            }
+        }
+        return false;
+    }
+    
+    private static int skip(String format, int start, char end) {
+        int index = format.indexOf(end, start + 1);
+        return index < 0 ? format.length() : index;
+    }
+}
@@ -7,6 +7,10 @@ import java.time.LocalDateTime;
 
 /**
  * Read not to {@code cn.idev.excel.metadata.BasicParameter#clazz} value, the default will return type.
+ * <p>
+ * The row is passed to the listener as a {@link cn.idev.excel.metadata.DenseRowMap} instead of a
+ * {@link java.util.LinkedHashMap}. The columns are iterated in the same order, but the row can not be cast to
+ * {@link java.util.LinkedHashMap}, use it as a {@link java.util.Map}.
  *
  * @author Jiaju Zhuang
  */
@@ -0,0 +1,276 @@
+package cn.idev.excel.metadata;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A map of a row whose keys are the column indexes, start from 0.
+ * <p>
+ * The values are stored in an array indexed by the column and the existing columns are recorded in a {@link BitSet},
+ * so there is no hashing and no entry per cell. The entries are iterated in the ascending order of the columns, which
+ * is the order of the cells in the file. Null values are allowed, null keys are not.
+ * <p>
+ * {@link #get(int)}, {@link #put(int, Object)} and {@link #nextColumn(int)} avoid boxing the column index.
+ * <p>
+ * The rows read without a model class are passed to the listeners as this map, they used to be a
+ * {@link java.util.LinkedHashMap}.
+ *
+ * @param <V> type of the values
+ */
+public class DenseRowMap<V> extends AbstractMap<Integer, V> implements Serializable {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private static final int DEFAULT_COLUMN_COUNT = 16;
+    
+    private Object[] values;
+    
+    private final BitSet columns;
+    
+    private int size;
+    
+    private transient EntrySet entrySet;
+    
+    public DenseRowMap() {
+        this(DEFAULT_COLUMN_COUNT);
+    }
+    
+    /**
+     * @param expectedColumnCount The expected maximum column index plus 1
+     */
+    public DenseRowMap(int expectedColumnCount) {
+        int columnCount = Math.max(1, expectedColumnCount);
+        this.values = new Object[columnCount];
+        this.columns = new BitSet(columnCount);
+    }
+    
+    /**
+     * Use the map directly if it is already a {@link DenseRowMap}, otherwise copy it.
+     *
+     * @param map
+     * @param <V>
+     * @return dense row map
+     */
+    public static <V> DenseRowMap<V> valueOf(Map<Integer, V> map) {
+        if (map instanceof DenseRowMap) {
+            return (DenseRowMap<V>) map;
+        }
+        DenseRowMap<V> denseRowMap = new DenseRowMap<>();
+        if (map != null) {
+            denseRowMap.putAll(map);
+        }
+        return denseRowMap;
+    }
+    
+    @SuppressWarnings("unchecked")
+    public V get(int column) {
+        if (column < 0 || column >= values.length) {
+            return null;
+        }
+        return (V) values[column];
+    }
+    
+    @SuppressWarnings("unchecked")
+    public V put(int column, V value) {
+        if (column < 0) {
+            throw new IllegalArgumentException("The column index can not be negative:" + column);
+        }
+        if (column >= values.length) {
+            values = Arrays.copyOf(values, Math.max(column + 1, values.length << 1));
+        }
+        V oldValue = (V) values[column];
+        values[column] = value;
+        if (!columns.get(column)) {
+            columns.set(column);
+            size++;
+        }
+        return oldValue;
+    }
+    
+    @SuppressWarnings("unchecked")
+    public V remove(int column) {
+        if (!containsColumn(column)) {
+            return null;
+        }
+        V oldValue = (V) values[column];
+        values[column] = null;
+        columns.clear(column);
+        size--;
+        return oldValue;
+    }
+    
+    public boolean containsColumn(int column) {
+        return column >= 0 && columns.get(column);
+    }
+    
+    /**
+     * The first existing column that is greater than or equal to the column.
+     *
+     * @param fromColumn
+     * @return column, -1 if there is no such column
+     */
+    public int nextColumn(int fromColumn) {
+        return columns.nextSetBit(Math.max(0, fromColumn));
+    }
+    
+    /**
+     * @return the maximum existing column, -1 if the map is empty
+     */
+    public int maxColumn() {
+        return columns.length() - 1;
+    }
+    
+    @Override
+    public int size() {
+        return size;
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    @Override
+    public V get(Object key) {
+        return key instanceof Integer ? get(((Integer) key).intValue()) : null;
+    }
+    
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer && containsColumn((Integer) key);
+    }
+    
+    @Override
+    public V put(Integer key, V value) {
+        if (key == null) {
+            throw new NullPointerException("The column index can not be null.");
+        }
+        return put(key.intValue(), value);
+    }
+    
+    @Override
+    public V remove(Object key) {
+        return key instanceof Integer ? remove(((Integer) key).intValue()) : null;
+    }
+    
+    @Override
+    public void clear() {
+        int length = columns.length();
+        if (length > 0) {
+            Arrays.fill(values, 0, length, null);
+        }
+        columns.clear();
+        size = 0;
+    }
+    
+    @Override
+    public Set<Map.Entry<Integer, V>> entrySet() {
+        EntrySet currentEntrySet = entrySet;
+        if (currentEntrySet == null) {
+            currentEntrySet = new EntrySet();
+            entrySet = currentEntrySet;
+        }
+        return currentEntrySet;
+    }
+    
+    private class EntrySet extends AbstractSet<Map.Entry<Integer, V>> {
+        
+        @Override
+        public Iterator<Map.Entry<Integer, V>> iterator() {
+            return new EntryIterator();
+        }
+        
+        @Override
+        public int size() {
+            return size;
+        }
+        
+        @Override
+        public void clear() {
+            DenseRowMap.this.clear();
+        }
+    }
+    
+    private class EntryIterator implements Iterator<Map.Entry<Integer, V>> {
+        
+        private int nextColumn = nextColumn(0);
+        
+        private int lastColumn = -1;
+        
+        @Override
+        public boolean hasNext() {
+            return nextColumn >= 0;
+        }
+        
+        @Override
+        public Map.Entry<Integer, V> next() {
+            if (nextColumn < 0) {
+                throw new NoSuchElementException();
+            }
+            lastColumn = nextColumn;
+            nextColumn = nextColumn(nextColumn + 1);
+            return new Entry(lastColumn);
+        }
+        
+        @Override
+        public void remove() {
+            if (lastColumn < 0) {
+                throw new IllegalStateException();
+            }
+            DenseRowMap.this.remove(lastColumn);
+            lastColumn = -1;
+        }
+    }
+    
+    private class Entry implements Map.Entry<Integer, V> {
+        
+        private final int column;
+        
+        private Entry(int column) {
+            this.column = column;
+        }
+        
+        @Override
+        public Integer getKey() {
+            return column;
+        }
+        
+        @Override
+        public V getValue() {
+            return get(column);
+        }
+        
+        @Override
+        public V setValue(V value) {
+            return put(column, value);
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            return getKey().equals(entry.getKey()) && Objects.equals(getValue(), entry.getValue());
+        }
+        
+        @Override
+        public int hashCode() {
+            return column ^ Objects.hashCode(getValue());
+        }
+        
+        @Override
+        public String toString() {
+            return column + "=" + getValue();
+        }
+    }
+    
+}
@@ -1,6 +1,8 @@
 package cn.idev.excel.metadata.data;
 
+import cn.idev.excel.enums.DataFormatKindEnum;
 import cn.idev.excel.util.StringUtils;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
@@ -25,6 +27,37 @@ public class DataFormatData {
      */
     private String format;
     
+    /**
+     * The kind of the format, resolved when it is first used and reset when the index or the format is changed.
+     */
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private DataFormatKindEnum kind;
+    
+    public void setIndex(Short index) {
+        this.index = index;
+        this.kind = null;
+    }
+    
+    public void setFormat(String format) {
+        this.format = format;
+        this.kind = null;
+    }
+    
+    /**
+     * The kind of the format, it is not necessary to analyze the format of each cell again.
+     *
+     * @return kind
+     */
+    public DataFormatKindEnum getKind() {
+        DataFormatKindEnum currentKind = kind;
+        if (currentKind == null) {
+            currentKind = DataFormatKindEnum.of(index, format);
+            kind = currentKind;
+        }
+        return currentKind;
+    }
+    
     /**
      * The source is not empty merge the data to the target.
      *
@@ -48,6 +81,7 @@ public class DataFormatData {
         DataFormatData dataFormatData = new DataFormatData();
         dataFormatData.setIndex(getIndex());
         dataFormatData.setFormat(getFormat());
+        dataFormatData.kind = kind;
         return dataFormatData;
     }
 }
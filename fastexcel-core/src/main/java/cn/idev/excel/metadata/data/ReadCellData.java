@@ -1,7 +1,9 @@
 package cn.idev.excel.metadata.data;
 
+import cn.idev.excel.cache.ReadCache;
 import cn.idev.excel.constant.EasyExcelConstants;
 import cn.idev.excel.enums.CellDataTypeEnum;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -21,6 +23,18 @@ import java.math.BigDecimal;
 @NoArgsConstructor
 public class ReadCellData<T> extends CellData<T> {
     
+    /**
+     * A long can hold any 18 digits number
+     */
+    private static final int MAX_LAZY_NUMBER_PRECISION = 18;
+    
+    private static final double[] DOUBLE_POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+    
+    private static final long[] LONG_POWERS_OF_TEN = {1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L,
+            100000000L, 1000000000L, 10000000000L, 100000000000L, 1000000000000L, 10000000000000L, 100000000000000L,
+            1000000000000000L, 10000000000000000L, 100000000000000000L, 1000000000000000000L};
+    
     /**
      * originalNumberValue vs numberValue
      * <ol>
@@ -41,6 +55,8 @@ public class ReadCellData<T> extends CellData<T> {
      * </ol>
      * {@link CellDataTypeEnum#NUMBER} {@link CellDataTypeEnum#DATE}
      */
+    @Getter(value = AccessLevel.NONE)
+    @Setter(value = AccessLevel.NONE)
     private BigDecimal originalNumberValue;
     
     /**
@@ -48,6 +64,60 @@ public class ReadCellData<T> extends CellData<T> {
      */
     private DataFormatData dataFormatData;
     
+    /**
+     * The index in the shared strings that has not been resolved yet. It will be resolved the first time
+     * {@link #getStringValue()} is called.
+     *
+     * @see cn.idev.excel.read.metadata.ReadWorkbook#getLazySharedStrings()
+     */
+    @Setter(value = AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private Integer sharedStringIndex;
+    
+    /**
+     * The cache used to resolve {@link #sharedStringIndex}
+     */
+    @Getter(value = AccessLevel.NONE)
+    @Setter(value = AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private ReadCache sharedStringReadCache;
+    
+    /**
+     * Whether to trim the resolved shared string
+     */
+    @Getter(value = AccessLevel.NONE)
+    @Setter(value = AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private boolean sharedStringAutoTrim;
+    
+    /**
+     * Whether the number is only kept in {@link #lazyUnscaledNumberValue} and {@link #lazyNumberScale}. The
+     * {@link BigDecimal} values are created the first time {@link #getNumberValue()} or
+     * {@link #getOriginalNumberValue()} is called.
+     */
+    @Getter(value = AccessLevel.NONE)
+    @Setter(value = AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private boolean lazyNumber;
+    
+    @Getter(value = AccessLevel.NONE)
+    @Setter(value = AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private long lazyUnscaledNumberValue;
+    
+    @Getter(value = AccessLevel.NONE)
+    @Setter(value = AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private int lazyNumberScale;
+    
+    /**
+     * Number of significant digits of {@link #lazyUnscaledNumberValue}
+     */
+    @Getter(value = AccessLevel.NONE)
+    @Setter(value = AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private int lazyNumberPrecision;
+    
     public ReadCellData(CellDataTypeEnum type) {
         super();
         if (type == null) {
@@ -140,6 +210,200 @@ public class ReadCellData<T> extends CellData<T> {
         return cellData;
     }
     
+    /**
+     * Set a shared string that will not be read from the cache until it is used.
+     *
+     * @param sharedStringIndex     Index in the shared strings
+     * @param sharedStringReadCache The cache that stores the shared strings
+     * @param autoTrim              Whether to trim the string after reading
+     */
+    public void setLazySharedString(Integer sharedStringIndex, ReadCache sharedStringReadCache, boolean autoTrim) {
+        super.setStringValue(null);
+        this.sharedStringIndex = sharedStringIndex;
+        this.sharedStringReadCache = sharedStringReadCache;
+        this.sharedStringAutoTrim = autoTrim;
+    }
+    
+    @Override
+    public String getStringValue() {
+        if (sharedStringIndex != null) {
+            resolveSharedString();
+        }
+        return super.getStringValue();
+    }
+    
+    @Override
+    public void setStringValue(String stringValue) {
+        sharedStringIndex = null;
+        sharedStringReadCache = null;
+        super.setStringValue(stringValue);
+    }
+    
+    @Override
+    public void checkEmpty() {
+        // The shared string has not been resolved, so it is still considered a string
+        if (sharedStringIndex != null && getType() == CellDataTypeEnum.STRING) {
+            return;
+        }
+        // The number has not been converted to BigDecimal
+        if (lazyNumber && getType() == CellDataTypeEnum.NUMBER) {
+            return;
+        }
+        super.checkEmpty();
+    }
+    
+    /**
+     * Set a number that is kept as a {@code long} until the {@link BigDecimal} values are needed. Only plain decimals
+     * such as {@code -123.45} with at most {@link #MAX_LAZY_NUMBER_PRECISION} significant digits are accepted, the
+     * others should be set by {@link #setOriginalNumberValue(BigDecimal)} and {@link #setNumberValue(BigDecimal)}.
+     *
+     * @param value The characters of the number
+     * @return true if the number is set
+     */
+    public boolean setLazyNumberValue(CharSequence value) {
+        int length = value.length();
+        int index = 0;
+        boolean negative = false;
+        if (length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+')) {
+            negative = value.charAt(0) == '-';
+            index++;
+        }
+        long unscaledValue = 0;
+        int precision = 0;
+        int scale = -1;
+        boolean hasDigit = false;
+        for (; index < length; index++) {
+            char c = value.charAt(index);
+            if (c == '.') {
+                if (scale >= 0) {
+                    return false;
+                }
+                scale = 0;
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                return false;
+            }
+            hasDigit = true;
+            if (unscaledValue != 0 || c != '0') {
+                if (precision == MAX_LAZY_NUMBER_PRECISION) {
+                    return false;
+                }
+                precision++;
+            }
+            unscaledValue = unscaledValue * 10 + (c - '0');
+            if (scale >= 0) {
+                scale++;
+            }
+        }
+        if (!hasDigit) {
+            return false;
+        }
+        super.setNumberValue(null);
+        this.originalNumberValue = null;
+        this.lazyNumber = true;
+        this.lazyUnscaledNumberValue = negative ? -unscaledValue : unscaledValue;
+        this.lazyNumberScale = Math.max(scale, 0);
+        this.lazyNumberPrecision = Math.max(precision, 1);
+        return true;
+    }
+    
+    @Override
+    public BigDecimal getNumberValue() {
+        if (lazyNumber) {
+            resolveNumber();
+        }
+        return super.getNumberValue();
+    }
+    
+    @Override
+    public void setNumberValue(BigDecimal numberValue) {
+        if (lazyNumber) {
+            resolveNumber();
+        }
+        super.setNumberValue(numberValue);
+    }
+    
+    public BigDecimal getOriginalNumberValue() {
+        if (lazyNumber) {
+            resolveNumber();
+        }
+        return originalNumberValue;
+    }
+    
+    public void setOriginalNumberValue(BigDecimal originalNumberValue) {
+        if (lazyNumber) {
+            resolveNumber();
+        }
+        this.originalNumberValue = originalNumberValue;
+    }
+    
+    /**
+     * Same as {@code getNumberValue().doubleValue()}, but no {@link BigDecimal} is created for the numbers set by
+     * {@link #setLazyNumberValue(CharSequence)}.
+     *
+     * @return double value
+     */
+    public double doubleNumberValue() {
+        if (lazyNumber && lazyNumberPrecision <= EasyExcelConstants.EXCEL_MATH_CONTEXT.getPrecision()
+                && lazyNumberScale < DOUBLE_POWERS_OF_TEN.length) {
+            // Both operands are exact, so the division is rounded correctly
+            return (double) lazyUnscaledNumberValue / DOUBLE_POWERS_OF_TEN[lazyNumberScale];
+        }
+        return getNumberValue().doubleValue();
+    }
+    
+    /**
+     * Same as {@code getNumberValue().longValue()}, but no {@link BigDecimal} is created for the numbers set by
+     * {@link #setLazyNumberValue(CharSequence)}.
+     *
+     * @return long value
+     */
+    public long longNumberValue() {
+        if (lazyNumber && lazyNumberPrecision <= EasyExcelConstants.EXCEL_MATH_CONTEXT.getPrecision()
+                && lazyNumberScale < LONG_POWERS_OF_TEN.length) {
+            return lazyUnscaledNumberValue / LONG_POWERS_OF_TEN[lazyNumberScale];
+        }
+        return getNumberValue().longValue();
+    }
+    
+    /**
+     * Clear all the values, so that the object can be reused by another cell.
+     *
+     * @param type
+     * @see cn.idev.excel.read.metadata.holder.ReadRowArena
+     */
+    public void reset(CellDataTypeEnum type) {
+        setType(type);
+        super.setNumberValue(null);
+        super.setStringValue(null);
+        setBooleanValue(null);
+        setData(null);
+        setFormulaData(null);
+        setRowIndex(null);
+        setColumnIndex(null);
+        this.originalNumberValue = null;
+        this.dataFormatData = null;
+        this.sharedStringIndex = null;
+        this.sharedStringReadCache = null;
+        this.sharedStringAutoTrim = false;
+        this.lazyNumber = false;
+    }
+    
+    private void resolveNumber() {
+        lazyNumber = false;
+        originalNumberValue = BigDecimal.valueOf(lazyUnscaledNumberValue, lazyNumberScale);
+        super.setNumberValue(originalNumberValue.round(EasyExcelConstants.EXCEL_MATH_CONTEXT));
+    }
+    
+    private void resolveSharedString() {
+        String stringValue = sharedStringReadCache.get(sharedStringIndex);
+        if (stringValue != null && sharedStringAutoTrim) {
+            stringValue = stringValue.trim();
+        }
+        setStringValue(stringValue);
+    }
+    
     @Override
     public ReadCellData<Object> clone() {
         ReadCellData<Object> readCellData = new ReadCellData<>();
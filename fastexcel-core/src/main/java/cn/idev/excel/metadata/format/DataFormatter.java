@@ -18,6 +18,7 @@
 
 package cn.idev.excel.metadata.format;
 
+import cn.idev.excel.metadata.data.DataFormatData;
 import cn.idev.excel.util.DateUtils;
 import org.apache.poi.ss.format.CellFormat;
 import org.apache.poi.ss.format.CellFormatResult;
@@ -687,6 +688,20 @@ public class DataFormatter {
         return getFormattedNumberString(data, dataFormat, dataFormatString);
     }
     
+    /**
+     * Format data, the kind of the format has been resolved in the data format.
+     *
+     * @param data
+     * @param dataFormatData
+     * @return
+     */
+    public String format(BigDecimal data, DataFormatData dataFormatData) {
+        if (dataFormatData.getKind().isDate()) {
+            return getFormattedDateString(data.doubleValue(), dataFormatData.getIndex(), dataFormatData.getFormat());
+        }
+        return getFormattedNumberString(data, dataFormatData.getIndex(), dataFormatData.getFormat());
+    }
+    
     /**
      * <p>
      * Sets a default number format to be used when the Excel format cannot be parsed successfully. <b>Note:</b> This is
@@ -5,6 +5,8 @@ import cn.idev.excel.read.listener.ReadListener;
 import cn.idev.excel.read.metadata.ReadBasicParameter;
 import cn.idev.excel.util.ListUtils;
 
+import java.util.Collection;
+
 /**
  * Build ExcelBuilder
  *
@@ -44,6 +46,41 @@ public abstract class AbstractExcelReaderParameterBuilder<T extends AbstractExce
         return self();
     }
     
+    /**
+     * Only read the custom columns of the data rows. The head rows are always read whole.
+     *
+     * @param includeColumnIndexes
+     * @return
+     */
+    public T includeColumnIndexes(Collection<Integer> includeColumnIndexes) {
+        parameter().setIncludeColumnIndexes(includeColumnIndexes);
+        return self();
+    }
+    
+    /**
+     * Only read the columns of the custom fields of the head in the data rows.
+     *
+     * @param includeColumnFieldNames
+     * @return
+     */
+    public T includeColumnFieldNames(Collection<String> includeColumnFieldNames) {
+        parameter().setIncludeColumnFieldNames(includeColumnFieldNames);
+        return self();
+    }
+    
+    /**
+     * Only read the columns of the head in the data rows, the columns that are not mapped by the head are skipped.
+     * <p>
+     * default is false
+     *
+     * @param includeHeadColumns
+     * @return
+     */
+    public T includeHeadColumns(Boolean includeHeadColumns) {
+        parameter().setIncludeHeadColumns(includeHeadColumns);
+        return self();
+    }
+    
     /**
      * Custom type listener run after default
      *
@@ -2,6 +2,8 @@ package cn.idev.excel.read.builder;
 
 import cn.idev.excel.ExcelReader;
 import cn.idev.excel.cache.ReadCache;
+import cn.idev.excel.cache.SharedStringsStore;
+import cn.idev.excel.cache.SheetIndexStore;
 import cn.idev.excel.cache.selector.ReadCacheSelector;
 import cn.idev.excel.cache.selector.SimpleReadCacheSelector;
 import cn.idev.excel.context.AnalysisContext;
@@ -11,6 +13,7 @@ import cn.idev.excel.event.AnalysisEventListener;
 import cn.idev.excel.event.SyncReadListener;
 import cn.idev.excel.read.listener.ModelBuildEventListener;
 import cn.idev.excel.read.metadata.ReadWorkbook;
+import cn.idev.excel.read.metadata.holder.xlsx.XlsxReadWorkbookHolder;
 import cn.idev.excel.support.ExcelTypeEnum;
 
 import javax.xml.parsers.SAXParserFactory;
@@ -19,6 +22,7 @@ import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * Build ExcelReader
@@ -144,6 +148,181 @@ public class ExcelReaderBuilder extends AbstractExcelReaderParameterBuilder<Exce
         return this;
     }
     
+    /**
+     * Only read the shared strings from the cache when the string value of the cell is used. Default is false.
+     * <p>
+     * Cells must be used before the read is finished. Only work on the xlsx file.
+     *
+     * @param lazySharedStrings
+     * @return
+     */
+    public ExcelReaderBuilder lazySharedStrings(Boolean lazySharedStrings) {
+        readWorkbook.setLazySharedStrings(lazySharedStrings);
+        return this;
+    }
+    
+    /**
+     * Parse the shared strings in a background thread, so that the sheet can be read at the same time. Reading a cell
+     * whose shared string has not been parsed yet will wait for it. Default is false.
+     * <p>
+     * Only work on the xlsx file.
+     *
+     * @param asyncSharedStrings
+     * @return
+     */
+    public ExcelReaderBuilder asyncSharedStrings(Boolean asyncSharedStrings) {
+        readWorkbook.setAsyncSharedStrings(asyncSharedStrings);
+        return this;
+    }
+    
+    /**
+     * Keep the parsed shared strings in {@link SharedStringsStore}, the next read of the same workbook maps them
+     * instead of parsing the shared strings again. Default is false.
+     * <p>
+     * The size of the store can be limited by {@link SharedStringsStore#setMaxSize(long)}. Only work on the xlsx file.
+     *
+     * @param persistentSharedStrings
+     * @return
+     */
+    public ExcelReaderBuilder persistentSharedStrings(Boolean persistentSharedStrings) {
+        readWorkbook.setPersistentSharedStrings(persistentSharedStrings);
+        return this;
+    }
+    
+    /**
+     * Keep the sheets in {@link SheetIndexStore} with an index of the offsets of their rows, the next read of the same
+     * sheet with {@link ExcelReaderSheetBuilder#startRow(Integer)} reads the head rows and then seeks to the start row
+     * instead of parsing all the rows before it. Default is false.
+     * <p>
+     * The shared strings are also persisted unless {@link #persistentSharedStrings(Boolean)} is false. The size of the
+     * store can be limited by {@link SheetIndexStore#setMaxSize(long)}. Only work on the xlsx file.
+     *
+     * @param persistentSheetIndex
+     * @return
+     */
+    public ExcelReaderBuilder persistentSheetIndex(Boolean persistentSheetIndex) {
+        readWorkbook.setPersistentSheetIndex(persistentSheetIndex);
+        return this;
+    }
+    
+    /**
+     * Read the xlsx from the input stream in the order of the zip entries instead of writing it to a temp file first.
+     * Default is false.
+     * <p>
+     * Only the parts that are needed before they arrive are spooled, like the sheets before the shared strings. Each
+     * sheet can only be read once, and the parallel sheets and the persistent stores are not used. It is not used if
+     * the file is encrypted or the comments or the hyperlinks are read. Only work on the xlsx file.
+     *
+     * @param streamingZip
+     * @return
+     */
+    public ExcelReaderBuilder streamingZip(Boolean streamingZip) {
+        readWorkbook.setStreamingZip(streamingZip);
+        return this;
+    }
+    
+    /**
+     * Read the sheets, the 1904 date system and the number formats of the styles with SAX when the workbook is opened,
+     * instead of loading the XMLBeans schemas. It makes opening small files much faster. Default is false.
+     * <p>
+     * When it is enabled, {@link XlsxReadWorkbookHolder#getStylesTable()} is null. Only work on the xlsx file.
+     *
+     * @param lightweightMetadata
+     * @return
+     */
+    public ExcelReaderBuilder lightweightMetadata(Boolean lightweightMetadata) {
+        readWorkbook.setLightweightMetadata(lightweightMetadata);
+        return this;
+    }
+    
+    /**
+     * Parse the sheets with a tokenizer that scans the xml bytes directly instead of the SAX parser. It creates much
+     * less garbage for large sheets. Default is false.
+     * <p>
+     * Sheets that are not encoded in UTF-8 are still parsed by the SAX parser. Only work on the xlsx file.
+     *
+     * @param useSheetTokenizer
+     * @return
+     */
+    public ExcelReaderBuilder useSheetTokenizer(Boolean useSheetTokenizer) {
+        readWorkbook.setUseSheetTokenizer(useSheetTokenizer);
+        return this;
+    }
+    
+    /**
+     * Jump to the sheets to read with the stream offsets of the bound sheet records, after the workbook globals like
+     * the shared strings and the formats are read. The records of the other sheets are not decoded. Default is false.
+     * <p>
+     * The offsets must be correct, some files written by other tools have wrong offsets. It is not used if the file is
+     * encrypted. Only work on the xls file.
+     *
+     * @param seekXlsSheet
+     * @return
+     */
+    public ExcelReaderBuilder seekXlsSheet(Boolean seekXlsSheet) {
+        readWorkbook.setSeekXlsSheet(seekXlsSheet);
+        return this;
+    }
+    
+    /**
+     * Reuse the cells, the cell map and the row holder of each row for the next row, so that a long read creates
+     * almost no garbage per row. Default is false.
+     * <p>
+     * When it is enabled, the {@link cn.idev.excel.metadata.data.ReadCellData}, the cell map and
+     * {@link cn.idev.excel.context.AnalysisContext#readRowHolder()} are only valid until the listener returns, the
+     * listener must copy the ones it keeps. Only work on the xlsx and csv file.
+     *
+     * @param recycleRowObjects
+     * @return
+     */
+    public ExcelReaderBuilder recycleRowObjects(Boolean recycleRowObjects) {
+        readWorkbook.setRecycleRowObjects(recycleRowObjects);
+        return this;
+    }
+    
+    /**
+     * Read the sheets concurrently on the executor. Default is null, the sheets are read one by one.
+     * <p>
+     * The listeners of the workbook are called concurrently by different sheets, so they must be thread safe, or
+     * register the listeners on each sheet by {@link ExcelReaderSheetBuilder#registerReadListener} instead. The
+     * executor is not shut down by the reader. Each sheet of the xls file is read from its offset, and the xls file
+     * read from a file is read into memory once, which takes about as much heap as the file. It is not used if the xls
+     * file is encrypted. Only work on the xlsx and xls file.
+     *
+     * @param parallelSheetExecutor
+     * @return
+     */
+    public ExcelReaderBuilder parallelSheets(Executor parallelSheetExecutor) {
+        readWorkbook.setParallelSheetExecutor(parallelSheetExecutor);
+        return this;
+    }
+    
+    /**
+     * Convert the data rows to the models on the executor while the sheet is still being parsed. Default is null, the
+     * rows are converted by the thread that parses the sheet.
+     * <p>
+     * The listeners are still called by the thread that parses the sheet, so they do not need to be thread safe. The
+     * custom converters are called concurrently. The executor is not shut down by the reader.
+     *
+     * @param rowPipelineExecutor
+     * @return
+     */
+    public ExcelReaderBuilder pipelineRows(Executor rowPipelineExecutor) {
+        readWorkbook.setRowPipelineExecutor(rowPipelineExecutor);
+        return this;
+    }
+    
+    /**
+     * Whether the listeners see the rows of the pipeline in the order of the file. Default is true.
+     *
+     * @param rowPipelineOrdered
+     * @return
+     */
+    public ExcelReaderBuilder rowPipelineOrdered(Boolean rowPipelineOrdered) {
+        readWorkbook.setRowPipelineOrdered(rowPipelineOrdered);
+        return this;
+    }
+    
     /**
      * Whether the encryption
      *
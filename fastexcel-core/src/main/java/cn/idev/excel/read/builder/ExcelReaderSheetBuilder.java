@@ -64,6 +64,29 @@ public class ExcelReaderSheetBuilder extends AbstractExcelReaderParameterBuilder
         return this;
     }
     
+    /**
+     * The first data row to read, start with 0. The rows before it are skipped without being parsed into cells, the
+     * head rows are always read.
+     *
+     * @param startRow
+     * @return
+     */
+    public ExcelReaderSheetBuilder startRow(Integer startRow) {
+        readSheet.setStartRow(startRow);
+        return this;
+    }
+    
+    /**
+     * The last row to read, start with 0. The sheet stops being parsed after it.
+     *
+     * @param endRow
+     * @return
+     */
+    public ExcelReaderSheetBuilder endRow(Integer endRow) {
+        readSheet.setEndRow(endRow);
+        return this;
+    }
+    
     public ReadSheet build() {
         return readSheet;
     }
@@ -5,6 +5,7 @@ import cn.idev.excel.enums.CellDataTypeEnum;
 import cn.idev.excel.enums.HeadKindEnum;
 import cn.idev.excel.enums.ReadDefaultReturnEnum;
 import cn.idev.excel.exception.ExcelDataConvertException;
+import cn.idev.excel.metadata.DenseRowMap;
 import cn.idev.excel.metadata.Head;
 import cn.idev.excel.metadata.data.DataFormatData;
 import cn.idev.excel.metadata.data.ReadCellData;
@@ -14,8 +15,6 @@ import cn.idev.excel.support.cglib.beans.BeanMap;
 import cn.idev.excel.util.BeanMapUtils;
 import cn.idev.excel.util.ClassUtils;
 import cn.idev.excel.util.ConverterUtils;
-import cn.idev.excel.util.DateUtils;
-import cn.idev.excel.util.MapUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -41,10 +40,10 @@ public class ModelBuildEventListener implements IgnoreExceptionReadListener<Map<
     private Object buildNoModel(Map<Integer, ReadCellData<?>> cellDataMap, ReadSheetHolder readSheetHolder,
             AnalysisContext context) {
         int index = 0;
-        Map<Integer, Object> map = MapUtils.newLinkedHashMapWithExpectedSize(cellDataMap.size());
-        for (Map.Entry<Integer, ReadCellData<?>> entry : cellDataMap.entrySet()) {
-            Integer key = entry.getKey();
-            ReadCellData<?> cellData = entry.getValue();
+        DenseRowMap<ReadCellData<?>> denseCellDataMap = DenseRowMap.valueOf(cellDataMap);
+        DenseRowMap<Object> map = new DenseRowMap<>(denseCellDataMap.maxColumn() + 1);
+        for (int key = denseCellDataMap.nextColumn(0); key >= 0; key = denseCellDataMap.nextColumn(key + 1)) {
+            ReadCellData<?> cellData = denseCellDataMap.get(key);
             while (index < key) {
                 map.put(index, null);
                 index++;
@@ -92,8 +91,7 @@ public class ModelBuildEventListener implements IgnoreExceptionReadListener<Map<
                 break;
             case NUMBER:
                 DataFormatData dataFormatData = cellData.getDataFormatData();
-                if (dataFormatData != null && DateUtils.isADateFormat(dataFormatData.getIndex(),
-                        dataFormatData.getFormat())) {
+                if (dataFormatData != null && dataFormatData.getKind().isDate()) {
                     classGeneric = LocalDateTime.class;
                 } else {
                     classGeneric = BigDecimal.class;
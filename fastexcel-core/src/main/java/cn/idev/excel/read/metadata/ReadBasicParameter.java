@@ -7,6 +7,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -36,6 +37,23 @@ public class ReadBasicParameter extends BasicParameter {
      */
     private List<ReadListener<?>> customReadListenerList;
     
+    /**
+     * Only read the custom columns of the data rows, the other cells are skipped before they are parsed.
+     */
+    private Collection<Integer> includeColumnIndexes;
+    
+    /**
+     * Only read the columns of the custom fields of the head in the data rows.
+     */
+    private Collection<String> includeColumnFieldNames;
+    
+    /**
+     * Only read the columns of the head in the data rows.
+     * <p>
+     * default is false.
+     */
+    private Boolean includeHeadColumns;
+    
     public ReadBasicParameter() {
         customReadListenerList = new ArrayList<>();
     }
@@ -22,6 +22,21 @@ public class ReadSheet extends ReadBasicParameter {
      */
     public Integer numRows;
     
+    /**
+     * The first data row to read, start with 0. The rows before it are skipped without being parsed into cells, the
+     * head rows are always read. Default is the first row after the head.
+     */
+    private Integer startRow;
+    
+    /**
+     * The last row to read, start with 0. The sheet stops being parsed after it. Default is the last row.
+     * <p>
+     * An xls file is read forward, so the records after it are still decoded up to the next sheet that is read. After
+     * the last sheet that is read, the rest of the file is not decoded. With seekXlsSheet the records after it are not
+     * decoded at all.
+     */
+    private Integer endRow;
+    
     public ReadSheet() {
     }
     
@@ -64,6 +79,22 @@ public class ReadSheet extends ReadBasicParameter {
         this.numRows = numRows;
     }
     
+    public Integer getStartRow() {
+        return startRow;
+    }
+    
+    public void setStartRow(Integer startRow) {
+        this.startRow = startRow;
+    }
+    
+    public Integer getEndRow() {
+        return endRow;
+    }
+    
+    public void setEndRow(Integer endRow) {
+        this.endRow = endRow;
+    }
+    
     public void copyBasicParameter(ReadSheet other) {
         if (other == null) {
             return;
@@ -76,6 +107,11 @@ public class ReadSheet extends ReadBasicParameter {
         this.setAutoTrim(other.getAutoTrim());
         this.setUse1904windowing(other.getUse1904windowing());
         this.setNumRows(other.getNumRows());
+        this.setIncludeColumnIndexes(other.getIncludeColumnIndexes());
+        this.setIncludeColumnFieldNames(other.getIncludeColumnFieldNames());
+        this.setIncludeHeadColumns(other.getIncludeHeadColumns());
+        this.setStartRow(other.getStartRow());
+        this.setEndRow(other.getEndRow());
     }
     
     @Override
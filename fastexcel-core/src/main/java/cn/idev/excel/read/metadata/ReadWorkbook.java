@@ -1,9 +1,13 @@
 package cn.idev.excel.read.metadata;
 
+import cn.idev.excel.cache.MappedFileCache;
 import cn.idev.excel.cache.ReadCache;
+import cn.idev.excel.cache.SharedStringsStore;
+import cn.idev.excel.cache.SheetIndexStore;
 import cn.idev.excel.cache.selector.ReadCacheSelector;
 import cn.idev.excel.cache.selector.SimpleReadCacheSelector;
 import cn.idev.excel.context.AnalysisContext;
+import cn.idev.excel.enums.CellDataTypeEnum;
 import cn.idev.excel.enums.CellExtraTypeEnum;
 import cn.idev.excel.enums.ReadDefaultReturnEnum;
 import cn.idev.excel.event.AnalysisEventListener;
@@ -18,6 +22,7 @@ import java.io.File;
 import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 /**
  * Workbook
@@ -86,6 +91,122 @@ public class ReadWorkbook extends ReadBasicParameter {
      */
     private ReadCacheSelector readCacheSelector;
     
+    /**
+     * Only read the shared strings from the cache when the string value of the cell is used. Default is false.
+     * <p>
+     * This avoids reading the cache for columns that are never used, but cells must be used before the read is
+     * finished, and a cell that refers to an empty shared string is still of type {@link CellDataTypeEnum#STRING}.
+     * Only work on the xlsx file.
+     */
+    private Boolean lazySharedStrings;
+    
+    /**
+     * Parse the shared strings in a background thread, so that the sheet can be read at the same time. Reading a cell
+     * whose shared string has not been parsed yet will wait for it. Default is false.
+     * <p>
+     * Only work on the xlsx file.
+     */
+    private Boolean asyncSharedStrings;
+    
+    /**
+     * Keep the parsed shared strings in {@link SharedStringsStore}, the next read of the same workbook maps them
+     * instead of parsing the shared strings again. Default is false, or true if {@link #persistentSheetIndex} is
+     * enabled.
+     * <p>
+     * When it is enabled, the shared strings are always read with {@link MappedFileCache}, {@link #readCache} and
+     * {@link #readCacheSelector} are ignored. Only work on the xlsx file.
+     */
+    private Boolean persistentSharedStrings;
+    
+    /**
+     * Keep the sheets in {@link SheetIndexStore} with an index of the offsets of their rows, the next read of the same
+     * sheet with {@link ReadSheet#getStartRow()} reads the head rows and then seeks to the start row instead of
+     * parsing all the rows before it. Default is false.
+     * <p>
+     * When it is enabled, {@link #persistentSharedStrings} defaults to true. Only work on the xlsx file.
+     */
+    private Boolean persistentSheetIndex;
+    
+    /**
+     * Read the xlsx from {@link #inputStream} in the order of the zip entries instead of writing it to a temp file
+     * first. Default is false.
+     * <p>
+     * The sheets are parsed while they are inflated, only the parts that are needed before they arrive are spooled,
+     * like the sheets before the shared strings. Each sheet can only be read once by a reader, and
+     * {@link #parallelSheetExecutor}, {@link #persistentSharedStrings}, {@link #persistentSheetIndex} and
+     * {@link #asyncSharedStrings} are ignored, and the metadata is always read as with {@link #lightweightMetadata}.
+     * It is not used if the file is encrypted or the comments or the hyperlinks are read. Only work on the xlsx file.
+     */
+    private Boolean streamingZip;
+    
+    /**
+     * Read the sheets, the 1904 date system and the number formats of the styles with SAX when the workbook is opened,
+     * instead of {@link org.apache.poi.xssf.eventusermodel.XSSFReader} and the {@code StylesTable} of XMLBeans. It
+     * makes opening small files much faster. Default is false.
+     * <p>
+     * When it is enabled, the styles table of the workbook holder is null, only the number formats are read. Only work
+     * on the xlsx file.
+     */
+    private Boolean lightweightMetadata;
+    
+    /**
+     * Parse the sheets with a tokenizer that scans the xml bytes directly instead of the SAX parser. It creates much
+     * less garbage for large sheets. Default is false.
+     * <p>
+     * Sheets that are not encoded in UTF-8 are still parsed by the SAX parser. Only work on the xlsx file.
+     */
+    private Boolean useSheetTokenizer;
+    
+    /**
+     * Jump to the sheets to read with the stream offsets of the bound sheet records, after the workbook globals like
+     * the shared strings and the formats are read. The records of the other sheets are not decoded. Default is false.
+     * <p>
+     * The offsets must be correct, some files written by other tools have wrong offsets. It is not used if the file is
+     * encrypted. Only work on the xls file.
+     */
+    private Boolean seekXlsSheet;
+    
+    /**
+     * Reuse the cells, the cell map and the row holder of each row for the next row, so that a long read creates
+     * almost no garbage per row. Default is false.
+     * <p>
+     * When it is enabled, the {@link cn.idev.excel.metadata.data.ReadCellData}, the cell map and
+     * {@link cn.idev.excel.context.AnalysisContext#readRowHolder()} are only valid until the listener returns, the
+     * listener must copy the ones it keeps. The converted data, including the {@code ReadCellData} fields of the model,
+     * are always new objects. Only work on the xlsx and csv file.
+     */
+    private Boolean recycleRowObjects;
+    
+    /**
+     * Read the sheets concurrently on this executor. Default is null, the sheets are read one by one.
+     * <p>
+     * Each sheet has its own {@link AnalysisContext}, the shared strings and the styles are shared. The listeners of
+     * the workbook are called concurrently by different sheets, so they must be thread safe, or register the listeners
+     * on each sheet instead. If a sheet fails, the other sheets are stopped and the first exception is thrown.
+     * <p>
+     * On the xls file, each sheet is read from the offset of its bound sheet record, as with {@link #seekXlsSheet}. If
+     * the xls file is read from a {@link #file}, the workbook stream is read into memory once, which takes about as
+     * much heap as the file. It is not used if the xls file is encrypted. Only work on the xlsx and xls file.
+     */
+    private Executor parallelSheetExecutor;
+    
+    /**
+     * Convert the data rows to the models on this executor while the sheet is still being parsed. Default is null, the
+     * rows are converted by the thread that parses the sheet.
+     * <p>
+     * The listeners are still called by the thread that parses the sheet, one row at a time. The head rows are read
+     * before the data rows are converted. {@link #recycleRowObjects} is ignored when it is set.
+     */
+    private Executor rowPipelineExecutor;
+    
+    /**
+     * Whether the listeners see the rows of the pipeline in the order of the file. Default is true.
+     * <p>
+     * When it is false, the rows are passed to the listeners as soon as they are converted, and
+     * {@link cn.idev.excel.context.AnalysisContext#readRowHolder()} tells the row index.
+     */
+    private Boolean rowPipelineOrdered;
+    
     /**
      * Whether the encryption
      */
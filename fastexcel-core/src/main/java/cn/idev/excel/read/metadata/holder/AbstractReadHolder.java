@@ -16,6 +16,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 
@@ -52,6 +53,21 @@ public abstract class AbstractReadHolder extends AbstractHolder implements ReadH
      */
     private List<ReadListener<?>> readListenerList;
     
+    /**
+     * Only read the custom columns of the data rows.
+     */
+    private Collection<Integer> includeColumnIndexes;
+    
+    /**
+     * Only read the columns of the custom fields of the head in the data rows.
+     */
+    private Collection<String> includeColumnFieldNames;
+    
+    /**
+     * Only read the columns of the head in the data rows.
+     */
+    private Boolean includeHeadColumns;
+    
     public AbstractReadHolder(ReadBasicParameter readBasicParameter, AbstractReadHolder parentAbstractReadHolder) {
         super(readBasicParameter, parentAbstractReadHolder);
         
@@ -80,6 +96,26 @@ public abstract class AbstractReadHolder extends AbstractHolder implements ReadH
             this.headRowNumber = readBasicParameter.getHeadRowNumber();
         }
         
+        if (readBasicParameter.getIncludeColumnIndexes() == null && parentAbstractReadHolder != null) {
+            this.includeColumnIndexes = parentAbstractReadHolder.getIncludeColumnIndexes();
+        } else {
+            this.includeColumnIndexes = readBasicParameter.getIncludeColumnIndexes();
+        }
+        if (readBasicParameter.getIncludeColumnFieldNames() == null && parentAbstractReadHolder != null) {
+            this.includeColumnFieldNames = parentAbstractReadHolder.getIncludeColumnFieldNames();
+        } else {
+            this.includeColumnFieldNames = readBasicParameter.getIncludeColumnFieldNames();
+        }
+        if (readBasicParameter.getIncludeHeadColumns() == null) {
+            if (parentAbstractReadHolder == null) {
+                this.includeHeadColumns = Boolean.FALSE;
+            } else {
+                this.includeHeadColumns = parentAbstractReadHolder.getIncludeHeadColumns();
+            }
+        } else {
+            this.includeHeadColumns = readBasicParameter.getIncludeHeadColumns();
+        }
+        
         if (parentAbstractReadHolder == null) {
             this.readListenerList = ListUtils.newArrayList();
         } else {
@@ -0,0 +1,88 @@
+package cn.idev.excel.read.metadata.holder;
+
+import cn.idev.excel.enums.CellDataTypeEnum;
+import cn.idev.excel.enums.RowTypeEnum;
+import cn.idev.excel.metadata.Cell;
+import cn.idev.excel.metadata.DenseRowMap;
+import cn.idev.excel.metadata.GlobalConfiguration;
+import cn.idev.excel.metadata.data.ReadCellData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The objects of a row that are reused by the next row.
+ * <p>
+ * The cells, the cell map and the row holder are only valid until
+ * {@link cn.idev.excel.read.processor.AnalysisEventProcessor#endRow} returns, after that they are cleared by
+ * {@link #recycle()} and filled with the next row.
+ * @see cn.idev.excel.read.metadata.ReadWorkbook#getRecycleRowObjects()
+ */
+public class ReadRowArena {
+    
+    private final List<ReadCellData<?>> cellDataPool = new ArrayList<>();
+    
+    /**
+     * Number of the cells in {@link #cellDataPool} used by the current row
+     */
+    private int usedCellDataCount;
+    
+    private final Map<Integer, Cell> cellMap = new DenseRowMap<>();
+    
+    private final ReadRowHolder readRowHolder = new ReadRowHolder(null, null, null, cellMap);
+    
+    /**
+     * Take a cell from the pool.
+     *
+     * @param type
+     * @return an empty cell of the type
+     */
+    public ReadCellData<?> cellData(CellDataTypeEnum type) {
+        ReadCellData<?> readCellData;
+        if (usedCellDataCount < cellDataPool.size()) {
+            readCellData = cellDataPool.get(usedCellDataCount);
+            readCellData.reset(type);
+        } else {
+            readCellData = new ReadCellData<>(type);
+            cellDataPool.add(readCellData);
+        }
+        usedCellDataCount++;
+        return readCellData;
+    }
+    
+    /**
+     * The cell map of the current row.
+     *
+     * @return cell map
+     */
+    public Map<Integer, Cell> getCellMap() {
+        return cellMap;
+    }
+    
+    /**
+     * The row holder of the current row, it holds {@link #getCellMap()}.
+     *
+     * @param rowIndex
+     * @param rowType
+     * @param globalConfiguration
+     * @return row holder
+     */
+    public ReadRowHolder readRowHolder(Integer rowIndex, RowTypeEnum rowType, GlobalConfiguration globalConfiguration) {
+        readRowHolder.setRowIndex(rowIndex);
+        readRowHolder.setRowType(rowType);
+        readRowHolder.setGlobalConfiguration(globalConfiguration);
+        readRowHolder.setCellMap(cellMap);
+        readRowHolder.setCurrentRowAnalysisResult(null);
+        return readRowHolder;
+    }
+    
+    /**
+     * Clear the current row, all the cells are returned to the pool.
+     */
+    public void recycle() {
+        cellMap.clear();
+        usedCellDataCount = 0;
+    }
+    
+}
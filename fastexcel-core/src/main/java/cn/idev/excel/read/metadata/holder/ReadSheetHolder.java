@@ -3,6 +3,8 @@ package cn.idev.excel.read.metadata.holder;
 import cn.idev.excel.enums.HolderEnum;
 import cn.idev.excel.metadata.Cell;
 import cn.idev.excel.metadata.CellExtra;
+import cn.idev.excel.metadata.DenseRowMap;
+import cn.idev.excel.metadata.Head;
 import cn.idev.excel.metadata.data.ReadCellData;
 import cn.idev.excel.read.metadata.ReadSheet;
 import lombok.EqualsAndHashCode;
@@ -10,7 +12,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.util.LinkedHashMap;
+import java.util.BitSet;
 import java.util.Map;
 
 /**
@@ -74,19 +76,43 @@ public class ReadSheetHolder extends AbstractReadHolder {
      */
     private Integer maxNotEmptyDataHeadSize;
     
+    /**
+     * The reused objects of the current row, null if they are not reused.
+     *
+     * @see ReadWorkbookHolder#getRecycleRowObjects()
+     */
+    private ReadRowArena readRowArena;
+    
     /**
      * Reading this sheet has ended.
      */
     private Boolean ended;
     
+    /**
+     * The columns read in the data rows, null if all the columns are read or the head rows are not finished.
+     */
+    private BitSet includeColumnSet;
+    
+    /**
+     * The first data row to read, see {@link ReadSheet#getStartRow()}.
+     */
+    private Integer startRow;
+    
+    /**
+     * The last row to read, see {@link ReadSheet#getEndRow()}.
+     */
+    private Integer endRow;
+    
     public ReadSheetHolder(ReadSheet readSheet, ReadWorkbookHolder readWorkbookHolder) {
         super(readSheet, readWorkbookHolder);
         this.readSheet = readSheet;
         this.parentReadWorkbookHolder = readWorkbookHolder;
         this.sheetNo = readSheet.getSheetNo();
         this.sheetName = readSheet.getSheetName();
-        this.cellMap = new LinkedHashMap<>();
+        this.cellMap = new DenseRowMap<>();
         this.rowIndex = -1;
+        this.startRow = readSheet.getStartRow();
+        this.endRow = readSheet.getEndRow();
     }
     
     /**
@@ -99,6 +125,99 @@ public class ReadSheetHolder extends AbstractReadHolder {
         return approximateTotalRowNumber;
     }
     
+    /**
+     * Reuse the objects of each row, only called by the analysers that support it.
+     */
+    protected void initReadRowArena() {
+        // The rows of the pipeline are still used after the next row is parsed
+        if (parentReadWorkbookHolder.getRecycleRowObjects()
+                && parentReadWorkbookHolder.getRowPipelineExecutor() == null) {
+            this.readRowArena = new ReadRowArena();
+            this.cellMap = readRowArena.getCellMap();
+        }
+    }
+    
+    /**
+     * Whether the cell should be read. The cells of the rows out of {@link #includeRow(int)} are not read. The head
+     * rows are always read, the data rows only read the columns limited by
+     * {@link #getIncludeColumnIndexes()}, {@link #getIncludeColumnFieldNames()} and {@link #getIncludeHeadColumns()}.
+     *
+     * @param rowIndex    Row index, start from 0
+     * @param columnIndex Column index, start from 0
+     * @return true if the cell should be read
+     */
+    public boolean includeColumn(int rowIndex, int columnIndex) {
+        if (!includeRow(rowIndex)) {
+            return false;
+        }
+        if (includeColumnSet == null) {
+            if (getIncludeColumnIndexes() == null && getIncludeColumnFieldNames() == null
+                    && !getIncludeHeadColumns()) {
+                return true;
+            }
+            if (rowIndex < getHeadRowNumber()) {
+                return true;
+            }
+            // The head has been matched to the columns
+            includeColumnSet = buildIncludeColumnSet();
+        }
+        return includeColumnSet.get(columnIndex);
+    }
+    
+    /**
+     * Whether the row should be read. The head rows are always read, the data rows are limited by {@link #startRow}
+     * and {@link #endRow}.
+     *
+     * @param rowIndex Row index, start from 0
+     * @return true if the row should be read
+     */
+    public boolean includeRow(int rowIndex) {
+        if (startRow == null && endRow == null) {
+            return true;
+        }
+        if (rowIndex < getHeadRowNumber()) {
+            return true;
+        }
+        return (startRow == null || rowIndex >= startRow) && (endRow == null || rowIndex <= endRow);
+    }
+    
+    /**
+     * Whether the row is after {@link #endRow}, so the sheet does not need to be parsed any more.
+     *
+     * @param rowIndex Row index, start from 0
+     * @return true if the row is after the last row to read
+     */
+    public boolean afterEndRow(int rowIndex) {
+        return endRow != null && rowIndex > endRow && rowIndex >= getHeadRowNumber();
+    }
+    
+    private BitSet buildIncludeColumnSet() {
+        BitSet columnSet = new BitSet();
+        if (getIncludeColumnFieldNames() == null && !getIncludeHeadColumns()) {
+            for (Integer columnIndex : getIncludeColumnIndexes()) {
+                if (columnIndex != null && columnIndex >= 0) {
+                    columnSet.set(columnIndex);
+                }
+            }
+            return columnSet;
+        }
+        for (Map.Entry<Integer, Head> entry : excelReadHeadProperty().getHeadMap().entrySet()) {
+            Integer columnIndex = entry.getKey();
+            if (columnIndex == null || columnIndex < 0) {
+                continue;
+            }
+            if (getIncludeColumnFieldNames() != null && !getIncludeColumnFieldNames().contains(
+                    entry.getValue().getFieldName())) {
+                continue;
+            }
+            if (getIncludeColumnIndexes() != null && !getIncludeColumnIndexes().contains(columnIndex)) {
+                continue;
+            }
+            columnSet.set(columnIndex);
+        }
+        return columnSet;
+    }
+    
     @Override
     public HolderEnum holderType() {
         return HolderEnum.SHEET;
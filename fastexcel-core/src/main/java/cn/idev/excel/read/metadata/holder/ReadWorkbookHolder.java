@@ -1,6 +1,7 @@
 package cn.idev.excel.read.metadata.holder;
 
 import cn.idev.excel.cache.ReadCache;
+import cn.idev.excel.cache.ReadCacheStatistics;
 import cn.idev.excel.cache.selector.EternalReadCacheSelector;
 import cn.idev.excel.cache.selector.ReadCacheSelector;
 import cn.idev.excel.cache.selector.SimpleReadCacheSelector;
@@ -24,6 +25,7 @@ import java.nio.charset.Charset;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 /**
  * Workbook holder
@@ -101,11 +103,83 @@ public class ReadWorkbookHolder extends AbstractReadHolder {
      */
     private ReadCache readCache;
     
+    /**
+     * Time spent parsing the shared strings.unit milliseconds.
+     */
+    private volatile Long sharedStringsParseTime;
+    
+    /**
+     * Statistics of {@link #readCache}, available after the read is finished. Null if the cache does not support
+     * statistics.
+     */
+    private ReadCacheStatistics readCacheStatistics;
+    
     /**
      * Select the cache.Default use {@link SimpleReadCacheSelector}
      */
     private ReadCacheSelector readCacheSelector;
     
+    /**
+     * Only read the shared strings from the cache when the string value of the cell is used. Default is false.
+     */
+    private Boolean lazySharedStrings;
+    
+    /**
+     * Parse the shared strings in a background thread, so that the sheet can be read at the same time. Default is
+     * false.
+     */
+    private Boolean asyncSharedStrings;
+    
+    /**
+     * Keep the parsed shared strings in the store for the next read of the same workbook. Default is false.
+     */
+    private Boolean persistentSharedStrings;
+    
+    /**
+     * Keep the sheets and the index of their rows in the store for the next read of the same sheet. Default is false.
+     */
+    private Boolean persistentSheetIndex;
+    
+    /**
+     * Read the xlsx from the input stream in the order of the zip entries. Default is false.
+     */
+    private Boolean streamingZip;
+    
+    /**
+     * Read the metadata of the workbook with SAX instead of XMLBeans. Default is false.
+     */
+    private Boolean lightweightMetadata;
+    
+    /**
+     * Parse the sheets with the tokenizer instead of the SAX parser. Default is false.
+     */
+    private Boolean useSheetTokenizer;
+    
+    /**
+     * Jump to the sheets to read with the offsets of the bound sheet records. Default is false.
+     */
+    private Boolean seekXlsSheet;
+    
+    /**
+     * Reuse the objects of each row for the next row. Default is false.
+     */
+    private Boolean recycleRowObjects;
+    
+    /**
+     * Read the sheets concurrently on this executor, null if the sheets are read one by one.
+     */
+    private Executor parallelSheetExecutor;
+    
+    /**
+     * Convert the data rows on this executor, null if the rows are converted by the thread that parses the sheet.
+     */
+    private Executor rowPipelineExecutor;
+    
+    /**
+     * Whether the listeners see the rows of the pipeline in the order of the file.
+     */
+    private Boolean rowPipelineOrdered;
+    
     /**
      * Temporary files when reading excel
      */
@@ -192,6 +266,58 @@ public class ReadWorkbookHolder extends AbstractReadHolder {
                 this.readCacheSelector = readWorkbook.getReadCacheSelector();
             }
         }
+        if (readWorkbook.getLazySharedStrings() == null) {
+            this.lazySharedStrings = Boolean.FALSE;
+        } else {
+            this.lazySharedStrings = readWorkbook.getLazySharedStrings();
+        }
+        if (readWorkbook.getAsyncSharedStrings() == null) {
+            this.asyncSharedStrings = Boolean.FALSE;
+        } else {
+            this.asyncSharedStrings = readWorkbook.getAsyncSharedStrings();
+        }
+        if (readWorkbook.getPersistentSheetIndex() == null) {
+            this.persistentSheetIndex = Boolean.FALSE;
+        } else {
+            this.persistentSheetIndex = readWorkbook.getPersistentSheetIndex();
+        }
+        if (readWorkbook.getLightweightMetadata() == null) {
+            this.lightweightMetadata = Boolean.FALSE;
+        } else {
+            this.lightweightMetadata = readWorkbook.getLightweightMetadata();
+        }
+        if (readWorkbook.getStreamingZip() == null) {
+            this.streamingZip = Boolean.FALSE;
+        } else {
+            this.streamingZip = readWorkbook.getStreamingZip();
+        }
+        if (readWorkbook.getPersistentSharedStrings() == null) {
+            this.persistentSharedStrings = this.persistentSheetIndex;
+        } else {
+            this.persistentSharedStrings = readWorkbook.getPersistentSharedStrings();
+        }
+        if (readWorkbook.getUseSheetTokenizer() == null) {
+            this.useSheetTokenizer = Boolean.FALSE;
+        } else {
+            this.useSheetTokenizer = readWorkbook.getUseSheetTokenizer();
+        }
+        if (readWorkbook.getSeekXlsSheet() == null) {
+            this.seekXlsSheet = Boolean.FALSE;
+        } else {
+            this.seekXlsSheet = readWorkbook.getSeekXlsSheet();
+        }
+        if (readWorkbook.getRecycleRowObjects() == null) {
+            this.recycleRowObjects = Boolean.FALSE;
+        } else {
+            this.recycleRowObjects = readWorkbook.getRecycleRowObjects();
+        }
+        this.parallelSheetExecutor = readWorkbook.getParallelSheetExecutor();
+        this.rowPipelineExecutor = readWorkbook.getRowPipelineExecutor();
+        if (readWorkbook.getRowPipelineOrdered() == null) {
+            this.rowPipelineOrdered = Boolean.TRUE;
+        } else {
+            this.rowPipelineOrdered = readWorkbook.getRowPipelineOrdered();
+        }
         if (readWorkbook.getExtraReadSet() == null) {
             this.extraReadSet = new HashSet<CellExtraTypeEnum>();
         } else {
@@ -19,5 +19,6 @@ public class CsvReadSheetHolder extends ReadSheetHolder {
     
     public CsvReadSheetHolder(ReadSheet readSheet, ReadWorkbookHolder readWorkbookHolder) {
         super(readSheet, readWorkbookHolder);
+        initReadRowArena();
     }
 }
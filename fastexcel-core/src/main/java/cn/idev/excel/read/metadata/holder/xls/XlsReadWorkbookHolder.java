@@ -1,19 +1,24 @@
 package cn.idev.excel.read.metadata.holder.xls;
 
+import cn.idev.excel.constant.BuiltinFormats;
+import cn.idev.excel.metadata.data.DataFormatData;
 import cn.idev.excel.read.metadata.ReadWorkbook;
 import cn.idev.excel.read.metadata.holder.ReadWorkbookHolder;
 import cn.idev.excel.support.ExcelTypeEnum;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
 import org.apache.poi.hssf.record.BoundSheetRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.poifs.filesystem.POIFSFileSystem;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Workbook holder
@@ -66,6 +71,20 @@ public class XlsReadWorkbookHolder extends ReadWorkbookHolder {
      */
     private Boolean currentSheetStopped;
     
+    /**
+     * Number of the extended format records read, the same as the extended formats of
+     * {@link #formatTrackingHSSFListener}.
+     */
+    private int extendedFormatCount;
+    
+    /**
+     * The data format of each extended format, filled when the extended format is first used. The index is the xf
+     * index of the cell. The sheets may be read in parallel, so the table is shared by all the threads.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private AtomicReferenceArray<DataFormatData> dataFormatDataTable;
+    
     public XlsReadWorkbookHolder(ReadWorkbook readWorkbook) {
         super(readWorkbook);
         this.boundSheetRecordList = new ArrayList<BoundSheetRecord>();
@@ -77,4 +96,49 @@ public class XlsReadWorkbookHolder extends ReadWorkbookHolder {
         ignoreRecord = Boolean.FALSE;
         currentSheetStopped = Boolean.TRUE;
     }
+    
+    /**
+     * The data format of the cell, the kind of the format is resolved once for each extended format.
+     *
+     * @param cellValueRecord
+     * @return data format
+     */
+    public DataFormatData dataFormatData(CellValueRecordInterface cellValueRecord) {
+        int xfIndex = cellValueRecord.getXFIndex();
+        AtomicReferenceArray<DataFormatData> table = initDataFormatDataTable();
+        if (xfIndex < 0 || xfIndex >= table.length()) {
+            return newDataFormatData(cellValueRecord);
+        }
+        DataFormatData dataFormatData = table.get(xfIndex);
+        if (dataFormatData == null) {
+            dataFormatData = newDataFormatData(cellValueRecord);
+            dataFormatData.getKind();
+            table.set(xfIndex, dataFormatData);
+        }
+        return dataFormatData;
+    }
+    
+    /**
+     * Build the table of the data formats, must be called after the extended formats are read and before the sheets
+     * are read in parallel.
+     *
+     * @return table of the data formats
+     */
+    public AtomicReferenceArray<DataFormatData> initDataFormatDataTable() {
+        AtomicReferenceArray<DataFormatData> table = dataFormatDataTable;
+        if (table == null || table.length() != extendedFormatCount) {
+            // The extended formats are all read before the first sheet, the table is not built again
+            table = new AtomicReferenceArray<DataFormatData>(extendedFormatCount);
+            dataFormatDataTable = table;
+        }
+        return table;
+    }
+    
+    private DataFormatData newDataFormatData(CellValueRecordInterface cellValueRecord) {
+        DataFormatData dataFormatData = new DataFormatData();
+        dataFormatData.setIndex((short) formatTrackingHSSFListener.getFormatIndex(cellValueRecord));
+        dataFormatData.setFormat(BuiltinFormats.getBuiltinFormat(dataFormatData.getIndex(),
+                formatTrackingHSSFListener.getFormatString(cellValueRecord), getGlobalConfiguration().getLocale()));
+        return dataFormatData;
+    }
 }
@@ -10,6 +10,8 @@ import org.apache.poi.openxml4j.opc.PackageRelationshipCollection;
 
 import java.util.Deque;
 import java.util.LinkedList;
+import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * sheet holder
@@ -41,15 +43,62 @@ public class XlsxReadSheetHolder extends ReadSheetHolder {
      */
     private StringBuilder tempFormula;
     
+    /**
+     * The current cell is not read, see {@link #includeColumn(int, int)}.
+     */
+    private boolean skipCell;
+    
     /**
      * excel Relationship
+     *
+     * @deprecated The relationships are read when the first hyperlink is read, see {@link #relationshipTarget(String)}
      */
+    @Deprecated
     private PackageRelationshipCollection packageRelationshipCollection;
     
+    /**
+     * Read the targets of the relationships of the sheet. key: relationship id value: target
+     */
+    private Supplier<Map<String, String>> relationshipTargetSupplier;
+    
+    /**
+     * The targets of the relationships, null if they have not been read.
+     */
+    private Map<String, String> relationshipTargetMap;
+    
     public XlsxReadSheetHolder(ReadSheet readSheet, ReadWorkbookHolder readWorkbookHolder) {
         super(readSheet, readWorkbookHolder);
         this.tagDeque = new LinkedList<String>();
-        packageRelationshipCollection = ((XlsxReadWorkbookHolder) readWorkbookHolder).getPackageRelationshipCollectionMap()
-                .get(readSheet.getSheetNo());
+        initReadRowArena();
+    }
+    
+    /**
+     * The relationships are read from the package part of the sheet the first time it is called.
+     *
+     * @deprecated The relationships are read when the first hyperlink is read, see {@link #relationshipTarget(String)}
+     */
+    @Deprecated
+    public PackageRelationshipCollection getPackageRelationshipCollection() {
+        if (packageRelationshipCollection == null) {
+            packageRelationshipCollection = ((XlsxReadWorkbookHolder) getParentReadWorkbookHolder())
+                    .sheetRelationships(getSheetNo());
+        }
+        return packageRelationshipCollection;
+    }
+    
+    /**
+     * The target of a relationship of the sheet, the relationships are read the first time it is called.
+     *
+     * @param relationshipId
+     * @return null if not found
+     */
+    public String relationshipTarget(String relationshipId) {
+        if (relationshipTargetMap == null) {
+            if (relationshipTargetSupplier == null) {
+                return null;
+            }
+            relationshipTargetMap = relationshipTargetSupplier.get();
+        }
+        return relationshipTargetMap.get(relationshipId);
     }
 }
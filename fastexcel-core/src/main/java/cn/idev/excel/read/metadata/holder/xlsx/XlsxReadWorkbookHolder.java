@@ -1,15 +1,19 @@
 package cn.idev.excel.read.metadata.holder.xlsx;
 
 import cn.idev.excel.constant.BuiltinFormats;
+import cn.idev.excel.exception.ExcelAnalysisException;
 import cn.idev.excel.metadata.data.DataFormatData;
 import cn.idev.excel.read.metadata.ReadWorkbook;
 import cn.idev.excel.read.metadata.holder.ReadWorkbookHolder;
 import cn.idev.excel.support.ExcelTypeEnum;
 import cn.idev.excel.util.MapUtils;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
 import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
 import org.apache.poi.openxml4j.opc.PackageRelationshipCollection;
 import org.apache.poi.xssf.model.StylesTable;
 import org.apache.poi.xssf.usermodel.XSSFCellStyle;
@@ -50,38 +54,154 @@ public class XlsxReadWorkbookHolder extends ReadWorkbookHolder {
     private StylesTable stylesTable;
     
     /**
-     * cache data format
+     * The format codes of the custom number formats, read without {@link #stylesTable}. key: numFmtId
      */
-    private Map<Integer, DataFormatData> dataFormatDataCache;
+    private Map<Integer, String> numberFormatMap;
+    
+    /**
+     * The numFmtId of each cell style, read without {@link #stylesTable}. The index is the style index of the cell.
+     */
+    private int[] cellStyleNumberFormatIds;
+    
+    /**
+     * The data format of each cell style, built once when the styles have been read. The index is the style index of
+     * the cell, and the kind of each format is resolved when the table is built.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile DataFormatData[] dataFormatDataTable;
     
     /**
      * excel Relationship, key: sheetNo value: PackageRelationshipCollection
+     *
+     * @deprecated The relationships of a sheet are read when the first hyperlink of the sheet is read, see
+     * {@link XlsxReadSheetHolder#relationshipTarget(String)}
      */
+    @Deprecated
     private Map<Integer, PackageRelationshipCollection> packageRelationshipCollectionMap;
     
+    /**
+     * The package parts of the sheets, kept when the extras or the sheet index need them. key: sheetNo
+     */
+    private Map<Integer, PackagePart> sheetPartMap;
+    
     public XlsxReadWorkbookHolder(ReadWorkbook readWorkbook) {
         super(readWorkbook);
         this.saxParserFactoryName = readWorkbook.getXlsxSAXParserFactoryName();
         setExcelType(ExcelTypeEnum.XLSX);
-        dataFormatDataCache = MapUtils.newHashMap();
+    }
+    
+    /**
+     * The relationships are read from {@link #sheetPartMap} the first time it is called.
+     *
+     * @deprecated The relationships of a sheet are read when the first hyperlink of the sheet is read, see
+     * {@link XlsxReadSheetHolder#relationshipTarget(String)}
+     */
+    @Deprecated
+    public Map<Integer, PackageRelationshipCollection> getPackageRelationshipCollectionMap() {
+        if (packageRelationshipCollectionMap == null && sheetPartMap != null) {
+            Map<Integer, PackageRelationshipCollection> relationshipCollectionMap = MapUtils.newHashMap();
+            for (Map.Entry<Integer, PackagePart> entry : sheetPartMap.entrySet()) {
+                relationshipCollectionMap.put(entry.getKey(), readRelationships(entry.getValue()));
+            }
+            packageRelationshipCollectionMap = relationshipCollectionMap;
+        }
+        return packageRelationshipCollectionMap;
+    }
+    
+    /**
+     * The relationships of a sheet, read from its package part.
+     *
+     * @param sheetNo
+     * @return null if the package part of the sheet is not kept
+     */
+    PackageRelationshipCollection sheetRelationships(Integer sheetNo) {
+        if (packageRelationshipCollectionMap != null) {
+            return packageRelationshipCollectionMap.get(sheetNo);
+        }
+        PackagePart sheetPart = sheetPartMap == null ? null : sheetPartMap.get(sheetNo);
+        return sheetPart == null ? null : readRelationships(sheetPart);
+    }
+    
+    private PackageRelationshipCollection readRelationships(PackagePart sheetPart) {
+        try {
+            return sheetPart.getRelationships();
+        } catch (InvalidFormatException e) {
+            throw new ExcelAnalysisException(
+                    "Can not read the relationships of the sheet:" + sheetPart.getPartName(), e);
+        }
     }
     
     public DataFormatData dataFormatData(int dateFormatIndexInteger) {
-        return dataFormatDataCache.computeIfAbsent(dateFormatIndexInteger, key -> {
+        DataFormatData[] table = dataFormatDataTable;
+        if (table == null) {
+            table = buildDataFormatDataTable();
+            dataFormatDataTable = table;
+        }
+        if (dateFormatIndexInteger < 0 || dateFormatIndexInteger >= table.length) {
+            return null;
+        }
+        return table[dateFormatIndexInteger];
+    }
+    
+    /**
+     * The styles with the same number format share the data format, so each format is analyzed only once.
+     */
+    private DataFormatData[] buildDataFormatDataTable() {
+        int styleCount;
+        if (stylesTable != null) {
+            styleCount = stylesTable.getNumCellStyles();
+        } else if (cellStyleNumberFormatIds != null) {
+            styleCount = cellStyleNumberFormatIds.length;
+        } else {
+            styleCount = 0;
+        }
+        DataFormatData[] table = new DataFormatData[styleCount];
+        Map<Short, DataFormatData> dataFormatDataMap = MapUtils.newHashMap();
+        for (int styleIndex = 0; styleIndex < styleCount; styleIndex++) {
             DataFormatData dataFormatData = new DataFormatData();
             if (stylesTable == null) {
-                return null;
+                dataFormatData = lightweightDataFormatData(dataFormatData, styleIndex);
+            } else {
+                XSSFCellStyle xssfCellStyle = stylesTable.getStyleAt(styleIndex);
+                if (xssfCellStyle == null) {
+                    continue;
+                }
+                dataFormatData.setIndex(xssfCellStyle.getDataFormat());
+                dataFormatData.setFormat(
+                        BuiltinFormats.getBuiltinFormat(dataFormatData.getIndex(), xssfCellStyle.getDataFormatString(),
+                                globalConfiguration().getLocale()));
+            }
+            if (dataFormatData == null) {
+                continue;
             }
-            XSSFCellStyle xssfCellStyle = stylesTable.getStyleAt(dateFormatIndexInteger);
-            if (xssfCellStyle == null) {
-                return null;
+            DataFormatData sharedDataFormatData = dataFormatDataMap.get(dataFormatData.getIndex());
+            if (sharedDataFormatData == null || !sharedDataFormatData.equals(dataFormatData)) {
+                dataFormatData.getKind();
+                dataFormatDataMap.put(dataFormatData.getIndex(), dataFormatData);
+                sharedDataFormatData = dataFormatData;
             }
-            dataFormatData.setIndex(xssfCellStyle.getDataFormat());
-            dataFormatData.setFormat(
-                    BuiltinFormats.getBuiltinFormat(dataFormatData.getIndex(), xssfCellStyle.getDataFormatString(),
-                            globalConfiguration().getLocale()));
-            return dataFormatData;
-        });
+            table[styleIndex] = sharedDataFormatData;
+        }
+        return table;
+    }
+    
+    /**
+     * The same format as {@link XSSFCellStyle#getDataFormatString()}, from {@link #cellStyleNumberFormatIds}.
+     */
+    private DataFormatData lightweightDataFormatData(DataFormatData dataFormatData, int styleIndex) {
+        if (cellStyleNumberFormatIds == null || styleIndex < 0 || styleIndex >= cellStyleNumberFormatIds.length) {
+            return null;
+        }
+        int numFmtId = cellStyleNumberFormatIds[styleIndex];
+        String format = numberFormatMap == null ? null : numberFormatMap.get(numFmtId);
+        if (format == null) {
+            format = org.apache.poi.ss.usermodel.BuiltinFormats.getBuiltinFormat(numFmtId);
+        }
+        dataFormatData.setIndex((short) numFmtId);
+        dataFormatData.setFormat(BuiltinFormats.getBuiltinFormat(dataFormatData.getIndex(), format,
+                globalConfiguration().getLocale()));
+        return dataFormatData;
     }
     
 }
@@ -90,7 +90,7 @@ public class DefaultAnalysisEventProcessor implements AnalysisEventProcessor {
         }
     }
     
-    private void onException(AnalysisContext analysisContext, Exception e) {
+    protected void onException(AnalysisContext analysisContext, Exception e) {
         for (ReadListener readListenerException : analysisContext.currentReadHolder().readListenerList()) {
             try {
                 readListenerException.onException(e, analysisContext);
@@ -102,7 +102,7 @@ public class DefaultAnalysisEventProcessor implements AnalysisEventProcessor {
         }
     }
     
-    private void dealData(AnalysisContext analysisContext) {
+    protected void dealData(AnalysisContext analysisContext) {
         ReadRowHolder readRowHolder = analysisContext.readRowHolder();
         Map<Integer, ReadCellData<?>> cellDataMap = (Map) readRowHolder.getCellMap();
         readRowHolder.setCurrentRowAnalysisResult(cellDataMap);
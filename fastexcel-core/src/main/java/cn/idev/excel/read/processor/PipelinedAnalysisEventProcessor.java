@@ -0,0 +1,434 @@
+package cn.idev.excel.read.processor;
+
+import cn.idev.excel.context.AnalysisContext;
+import cn.idev.excel.exception.ExcelAnalysisException;
+import cn.idev.excel.exception.ExcelAnalysisStopException;
+import cn.idev.excel.exception.ExcelAnalysisStopSheetException;
+import cn.idev.excel.metadata.data.ReadCellData;
+import cn.idev.excel.read.listener.ModelBuildEventListener;
+import cn.idev.excel.read.listener.ReadListener;
+import cn.idev.excel.read.metadata.ReadSheet;
+import cn.idev.excel.read.metadata.holder.ReadHolder;
+import cn.idev.excel.read.metadata.holder.ReadRowHolder;
+import cn.idev.excel.read.metadata.holder.ReadSheetHolder;
+import cn.idev.excel.read.metadata.holder.ReadWorkbookHolder;
+import cn.idev.excel.support.ExcelTypeEnum;
+import cn.idev.excel.util.ClassUtils;
+import cn.idev.excel.util.DateUtils;
+import cn.idev.excel.util.NumberDataFormatterUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Convert the data rows on an executor while the sheet is still being parsed.
+ * <p>
+ * The parsed rows are grouped into batches, and each batch is converted by {@link ModelBuildEventListener} on the
+ * executor. At most {@link #MAX_RUNNING_BATCH_COUNT} batches are waiting or running, when there are more the parsing
+ * waits. The converted rows are passed to the other listeners by the thread that parses the sheet, in the order of the
+ * file if it is ordered, otherwise in the order they are converted. The head rows and the rows of the sheets without
+ * {@link ModelBuildEventListener} are read like {@link DefaultAnalysisEventProcessor} after all the waiting rows. The
+ * thread-local caches filled on the executor are removed after each batch, they depend on the settings of the read.
+ */
+@Slf4j
+public class PipelinedAnalysisEventProcessor extends DefaultAnalysisEventProcessor {
+    
+    /**
+     * Rows in a batch.
+     */
+    private static final int BATCH_SIZE = 128;
+    
+    /**
+     * Batches waiting or running at the same time.
+     */
+    private static final int MAX_RUNNING_BATCH_COUNT = Math.max(2, Runtime.getRuntime().availableProcessors() * 2);
+    
+    private final Executor executor;
+    
+    private final boolean ordered;
+    
+    /**
+     * The sheet of the rows in the pipeline
+     */
+    private ReadSheetHolder readSheetHolder;
+    
+    private RowBatch currentBatch;
+    
+    /**
+     * Submitted batches in the order of the file, only used if it is ordered.
+     */
+    private final Deque<RowBatch> submittedBatches = new ArrayDeque<>();
+    
+    /**
+     * Converted batches, only used if it is unordered.
+     */
+    private BlockingQueue<RowBatch> convertedBatches = new LinkedBlockingQueue<>();
+    
+    private int runningBatchCount;
+    
+    public PipelinedAnalysisEventProcessor(Executor executor, boolean ordered) {
+        this.executor = executor;
+        this.ordered = ordered;
+    }
+    
+    @Override
+    public void extra(AnalysisContext analysisContext) {
+        flush(analysisContext);
+        super.extra(analysisContext);
+    }
+    
+    @Override
+    public void endSheet(AnalysisContext analysisContext) {
+        try {
+            flush(analysisContext);
+        } catch (ExcelAnalysisStopSheetException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Custom stop!", e);
+            }
+        }
+        super.endSheet(analysisContext);
+    }
+    
+    @Override
+    protected void dealData(AnalysisContext analysisContext) {
+        ReadRowHolder readRowHolder = analysisContext.readRowHolder();
+        List<ReadListener<?>> readListenerList = analysisContext.currentReadHolder().readListenerList();
+        if (readRowHolder.getRowIndex() < analysisContext.readSheetHolder().getHeadRowNumber()
+                || readListenerList.isEmpty() || !(readListenerList.get(0) instanceof ModelBuildEventListener)) {
+            flush(analysisContext);
+            super.dealData(analysisContext);
+            return;
+        }
+        if (readSheetHolder != analysisContext.readSheetHolder()) {
+            // The rows of the previous sheet are left by an exception
+            reset();
+            readSheetHolder = analysisContext.readSheetHolder();
+        }
+        try {
+            if (currentBatch == null) {
+                currentBatch = new RowBatch(analysisContext, (ModelBuildEventListener) readListenerList.get(0));
+            }
+            readRowHolder.setCurrentRowAnalysisResult(readRowHolder.getCellMap());
+            currentBatch.readRowHolderList.add(readRowHolder);
+            if (currentBatch.readRowHolderList.size() >= BATCH_SIZE) {
+                submit();
+                deliver(analysisContext, MAX_RUNNING_BATCH_COUNT);
+            }
+        } catch (RuntimeException | Error e) {
+            reset();
+            throw e;
+        }
+    }
+    
+    /**
+     * Pass all the rows in the pipeline to the listeners.
+     *
+     * @param analysisContext
+     */
+    private void flush(AnalysisContext analysisContext) {
+        if (readSheetHolder == null) {
+            return;
+        }
+        if (readSheetHolder != analysisContext.readSheetHolder()) {
+            reset();
+            return;
+        }
+        try {
+            if (currentBatch != null) {
+                submit();
+            }
+            deliver(analysisContext, 1);
+        } catch (RuntimeException | Error e) {
+            reset();
+            throw e;
+        }
+    }
+    
+    private void submit() {
+        RowBatch rowBatch = currentBatch;
+        currentBatch = null;
+        runningBatchCount++;
+        if (ordered) {
+            submittedBatches.addLast(rowBatch);
+        }
+        try {
+            executor.execute(rowBatch);
+        } catch (RejectedExecutionException e) {
+            rowBatch.run();
+        }
+    }
+    
+    /**
+     * Pass the converted batches to the listeners, and wait until less than the maximum batches are running.
+     *
+     * @param analysisContext
+     * @param maxRunningBatchCount
+     */
+    private void deliver(AnalysisContext analysisContext, int maxRunningBatchCount) {
+        while (runningBatchCount > 0) {
+            RowBatch rowBatch = ordered ? submittedBatches.peekFirst() : convertedBatches.peek();
+            if ((rowBatch == null || !rowBatch.isConverted()) && runningBatchCount < maxRunningBatchCount) {
+                return;
+            }
+            if (ordered) {
+                submittedBatches.pollFirst();
+            } else {
+                rowBatch = takeConvertedBatch();
+            }
+            runningBatchCount--;
+            deliver(analysisContext, rowBatch);
+        }
+    }
+    
+    private RowBatch takeConvertedBatch() {
+        try {
+            return convertedBatches.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExcelAnalysisException("Interrupted while converting the rows.", e);
+        }
+    }
+    
+    private void deliver(AnalysisContext analysisContext, RowBatch rowBatch) {
+        rowBatch.await();
+        ReadRowHolder currentReadRowHolder = analysisContext.readRowHolder();
+        List<ReadListener<?>> readListenerList = analysisContext.currentReadHolder().readListenerList();
+        try {
+            for (int i = 0; i < rowBatch.readRowHolderList.size(); i++) {
+                ReadRowHolder readRowHolder = rowBatch.readRowHolderList.get(i);
+                analysisContext.readRowHolder(readRowHolder);
+                if (rowBatch.exceptions != null && rowBatch.exceptions[i] != null) {
+                    onException(analysisContext, rowBatch.exceptions[i]);
+                    continue;
+                }
+                // The first listener has converted the row
+                for (int j = 1; j < readListenerList.size(); j++) {
+                    @SuppressWarnings("unchecked")
+                    ReadListener<Object> readListener = (ReadListener<Object>) readListenerList.get(j);
+                    try {
+                        readListener.invoke(readRowHolder.getCurrentRowAnalysisResult(), analysisContext);
+                    } catch (Exception e) {
+                        onException(analysisContext, e);
+                        break;
+                    }
+                    if (!readListener.hasNext(analysisContext)) {
+                        throw new ExcelAnalysisStopException();
+                    }
+                }
+            }
+        } finally {
+            analysisContext.readRowHolder(currentReadRowHolder);
+        }
+    }
+    
+    /**
+     * Drop the rows in the pipeline. The running batches are left to finish.
+     */
+    private void reset() {
+        readSheetHolder = null;
+        currentBatch = null;
+        submittedBatches.clear();
+        convertedBatches = new LinkedBlockingQueue<>();
+        runningBatchCount = 0;
+    }
+    
+    private class RowBatch implements Runnable {
+        
+        private final List<ReadRowHolder> readRowHolderList = new ArrayList<>(BATCH_SIZE);
+        
+        private final RowAnalysisContext rowAnalysisContext;
+        
+        private final ModelBuildEventListener modelBuildEventListener;
+        
+        private final BlockingQueue<RowBatch> convertedBatchQueue = convertedBatches;
+        
+        private final CountDownLatch convertedLatch = new CountDownLatch(1);
+        
+        /**
+         * Exception of each row, null if all the rows are converted
+         */
+        private Exception[] exceptions;
+        
+        private Throwable failure;
+        
+        /**
+         * The thread that parses the sheet, its caches are removed when the read is finished.
+         */
+        private final Thread parseThread = Thread.currentThread();
+        
+        private RowBatch(AnalysisContext analysisContext, ModelBuildEventListener modelBuildEventListener) {
+            this.rowAnalysisContext = new RowAnalysisContext(analysisContext);
+            this.modelBuildEventListener = modelBuildEventListener;
+        }
+        
+        @Override
+        public void run() {
+            try {
+                for (int i = 0; i < readRowHolderList.size(); i++) {
+                    ReadRowHolder readRowHolder = readRowHolderList.get(i);
+                    rowAnalysisContext.readRowHolder(readRowHolder);
+                    try {
+                        // The cells of a data row are all ReadCellData
+                        @SuppressWarnings("unchecked")
+                        Map<Integer, ReadCellData<?>> cellDataMap =
+                                (Map<Integer, ReadCellData<?>>) (Map<Integer, ?>) readRowHolder.getCellMap();
+                        modelBuildEventListener.invoke(cellDataMap, rowAnalysisContext);
+                    } catch (Exception e) {
+                        if (exceptions == null) {
+                            exceptions = new Exception[readRowHolderList.size()];
+                        }
+                        exceptions[i] = e;
+                    }
+                }
+            } catch (Throwable t) {
+                failure = t;
+            } finally {
+                if (Thread.currentThread() != parseThread) {
+                    removeThreadLocalCache();
+                }
+                convertedLatch.countDown();
+                if (!ordered) {
+                    convertedBatchQueue.add(this);
+                }
+            }
+        }
+        
+        private void removeThreadLocalCache() {
+            NumberDataFormatterUtils.removeThreadLocalCache();
+            DateUtils.removeThreadLocalCache();
+            ClassUtils.removeThreadLocalCache();
+        }
+        
+        private boolean isConverted() {
+            return convertedLatch.getCount() == 0;
+        }
+        
+        private void await() {
+            try {
+                convertedLatch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ExcelAnalysisException("Interrupted while converting the rows.", e);
+            }
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            }
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            if (failure != null) {
+                throw new ExcelAnalysisException(failure);
+            }
+        }
+    }
+    
+    /**
+     * The context used by the executor, it has its own row and shares the others with the context of the sheet.
+     */
+    private static class RowAnalysisContext implements AnalysisContext {
+        
+        private final AnalysisContext analysisContext;
+        
+        private ReadRowHolder readRowHolder;
+        
+        private RowAnalysisContext(AnalysisContext analysisContext) {
+            this.analysisContext = analysisContext;
+        }
+        
+        @Override
+        public void currentSheet(ReadSheet readSheet) {
+            throw new UnsupportedOperationException("Can not change the sheet while converting the rows.");
+        }
+        
+        @Override
+        public ReadWorkbookHolder readWorkbookHolder() {
+            return analysisContext.readWorkbookHolder();
+        }
+        
+        @Override
+        public ReadSheetHolder readSheetHolder() {
+            return analysisContext.readSheetHolder();
+        }
+        
+        @Override
+        public void readRowHolder(ReadRowHolder readRowHolder) {
+            this.readRowHolder = readRowHolder;
+        }
+        
+        @Override
+        public ReadRowHolder readRowHolder() {
+            return readRowHolder;
+        }
+        
+        @Override
+        public ReadHolder currentReadHolder() {
+            return analysisContext.currentReadHolder();
+        }
+        
+        @Override
+        public Object getCustom() {
+            return analysisContext.getCustom();
+        }
+        
+        @Override
+        public AnalysisEventProcessor analysisEventProcessor() {
+            return analysisContext.analysisEventProcessor();
+        }
+        
+        @Override
+        public List<ReadSheet> readSheetList() {
+            return analysisContext.readSheetList();
+        }
+        
+        @Override
+        public void readSheetList(List<ReadSheet> readSheetList) {
+            analysisContext.readSheetList(readSheetList);
+        }
+        
+        @Override
+        @Deprecated
+        public ExcelTypeEnum getExcelType() {
+            return analysisContext.getExcelType();
+        }
+        
+        @Override
+        @Deprecated
+        public InputStream getInputStream() {
+            return analysisContext.getInputStream();
+        }
+        
+        @Override
+        @Deprecated
+        public Integer getCurrentRowNum() {
+            return readRowHolder.getRowIndex();
+        }
+        
+        @Override
+        @Deprecated
+        public Integer getTotalCount() {
+            return analysisContext.getTotalCount();
+        }
+        
+        @Override
+        @Deprecated
+        public Object getCurrentRowAnalysisResult() {
+            return readRowHolder.getCurrentRowAnalysisResult();
+        }
+        
+        @Override
+        @Deprecated
+        public void interrupt() {
+            analysisContext.interrupt();
+        }
+    }
+}
@@ -8,6 +8,7 @@ import cn.idev.excel.converters.NullableObjectConverter;
 import cn.idev.excel.converters.ReadConverterContext;
 import cn.idev.excel.enums.CellDataTypeEnum;
 import cn.idev.excel.exception.ExcelDataConvertException;
+import cn.idev.excel.metadata.DenseRowMap;
 import cn.idev.excel.metadata.data.CellData;
 import cn.idev.excel.metadata.data.ReadCellData;
 import cn.idev.excel.metadata.property.ExcelContentProperty;
@@ -39,12 +40,12 @@ public class ConverterUtils {
      */
     public static Map<Integer, String> convertToStringMap(Map<Integer, ReadCellData<?>> cellDataMap,
             AnalysisContext context) {
-        Map<Integer, String> stringMap = MapUtils.newHashMapWithExpectedSize(cellDataMap.size());
+        DenseRowMap<ReadCellData<?>> denseCellDataMap = DenseRowMap.valueOf(cellDataMap);
+        DenseRowMap<String> stringMap = new DenseRowMap<>(denseCellDataMap.maxColumn() + 1);
         ReadSheetHolder readSheetHolder = context.readSheetHolder();
         int index = 0;
-        for (Map.Entry<Integer, ReadCellData<?>> entry : cellDataMap.entrySet()) {
-            Integer key = entry.getKey();
-            ReadCellData<?> cellData = entry.getValue();
+        for (int key = denseCellDataMap.nextColumn(0); key >= 0; key = denseCellDataMap.nextColumn(key + 1)) {
+            ReadCellData<?> cellData = denseCellDataMap.get(key);
             while (index < key) {
                 stringMap.put(index, null);
                 index++;
@@ -11,6 +11,14 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -31,6 +39,8 @@ public class FileUtils {
     
     public static final String EX_CACHE = "excache";
     
+    public static final String STORE = "fastexcel-store";
+    
     /**
      * If a server has multiple projects in use at the same time, a directory with the same name will be created under
      * the temporary directory, but each project is run by a different user, so there is a permission problem, so each
@@ -50,8 +60,19 @@ public class FileUtils {
      */
     private static String cachePath = tempFilePrefix + EX_CACHE + File.separator;
     
+    /**
+     * Used to store the files that are reused by the later reads. Unlike {@link #tempFilePrefix}, it is the same after
+     * a restart, and the name of the user keeps the projects run by different users apart. The directories are
+     * created by {@link #createStoreDirectory(File)}.
+     */
+    private static String storePath =
+            System.getProperty(TempFile.JAVA_IO_TMPDIR) + File.separator + STORE + "-" + System.getProperty("user.name")
+                    + File.separator;
+    
     private static final int WRITE_BUFF_SIZE = 8192;
     
+    private static final Set<PosixFilePermission> OWNER_ONLY_PERMISSIONS = PosixFilePermissions.fromString("rwx------");
+    
     private FileUtils() {
     }
     
@@ -178,6 +199,64 @@ public class FileUtils {
         return directory;
     }
     
+    /**
+     * Create a directory of the store that only the owner can access. The default {@link #storePath} is in the shared
+     * temporary directory, so a directory that is a symbolic link or belongs to another user is refused, the files in
+     * it could have been planted by that user. {@link #storePath} is checked too if it is the parent.
+     *
+     * @param directory
+     * @return directory
+     */
+    public static File createStoreDirectory(File directory) {
+        File absoluteDirectory = directory.getAbsoluteFile();
+        File storeDirectory = new File(storePath).getAbsoluteFile();
+        if (storeDirectory.equals(absoluteDirectory.getParentFile())) {
+            createOwnerOnlyDirectory(storeDirectory);
+        }
+        return createOwnerOnlyDirectory(absoluteDirectory);
+    }
+    
+    private static File createOwnerOnlyDirectory(File directory) {
+        Path path = directory.toPath();
+        boolean posix = path.getFileSystem().supportedFileAttributeViews().contains("posix");
+        try {
+            if (!Files.exists(path, LinkOption.NOFOLLOW_LINKS)) {
+                if (path.getParent() != null) {
+                    Files.createDirectories(path.getParent());
+                }
+                try {
+                    if (posix) {
+                        Files.createDirectory(path, PosixFilePermissions.asFileAttribute(OWNER_ONLY_PERMISSIONS));
+                    } else {
+                        Files.createDirectory(path);
+                    }
+                } catch (FileAlreadyExistsException e) {
+                    // Created by another read at the same time, it is checked below
+                }
+            }
+            if (!Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+                throw new ExcelCommonException(
+                        "The store directory is a symbolic link or not a directory:" + directory.getAbsolutePath());
+            }
+            if (!posix) {
+                return directory;
+            }
+            UserPrincipal owner = Files.getOwner(path, LinkOption.NOFOLLOW_LINKS);
+            UserPrincipal user = path.getFileSystem().getUserPrincipalLookupService()
+                    .lookupPrincipalByName(System.getProperty("user.name"));
+            if (!owner.equals(user)) {
+                throw new ExcelCommonException(
+                        "The store directory belongs to another user:" + directory.getAbsolutePath());
+            }
+            if (!OWNER_ONLY_PERMISSIONS.equals(Files.getPosixFilePermissions(path, LinkOption.NOFOLLOW_LINKS))) {
+                Files.setPosixFilePermissions(path, OWNER_ONLY_PERMISSIONS);
+            }
+        } catch (IOException e) {
+            throw new ExcelCommonException("Cannot create directory:" + directory.getAbsolutePath(), e);
+        }
+        return directory;
+    }
+    
     /**
      * delete file
      *
@@ -224,4 +303,12 @@ public class FileUtils {
     public static void setCachePath(String cachePath) {
         FileUtils.cachePath = cachePath;
     }
+    
+    public static String getStorePath() {
+        return storePath;
+    }
+    
+    public static void setStorePath(String storePath) {
+        FileUtils.storePath = storePath;
+    }
 }
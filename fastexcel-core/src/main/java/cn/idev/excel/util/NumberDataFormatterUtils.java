@@ -1,6 +1,7 @@
 package cn.idev.excel.util;
 
 import cn.idev.excel.metadata.GlobalConfiguration;
+import cn.idev.excel.metadata.data.DataFormatData;
 import cn.idev.excel.metadata.format.DataFormatter;
 
 import java.math.BigDecimal;
@@ -57,6 +58,33 @@ public class NumberDataFormatterUtils {
         return dataFormatter.format(data, dataFormat, dataFormatString);
     }
     
+    /**
+     * Format number data, the kind of the format is not analyzed again.
+     *
+     * @param data
+     * @param dataFormatData      Not null, and the index is not null.
+     * @param globalConfiguration
+     * @return
+     */
+    public static String format(BigDecimal data, DataFormatData dataFormatData,
+            GlobalConfiguration globalConfiguration) {
+        return dataFormatter(globalConfiguration).format(data, dataFormatData);
+    }
+    
+    private static DataFormatter dataFormatter(GlobalConfiguration globalConfiguration) {
+        DataFormatter dataFormatter = DATA_FORMATTER_THREAD_LOCAL.get();
+        if (dataFormatter == null) {
+            if (globalConfiguration == null) {
+                dataFormatter = new DataFormatter(null, null, null);
+            } else {
+                dataFormatter = new DataFormatter(globalConfiguration.getUse1904windowing(),
+                        globalConfiguration.getLocale(), globalConfiguration.getUseScientificFormat());
+            }
+            DATA_FORMATTER_THREAD_LOCAL.set(dataFormatter);
+        }
+        return dataFormatter;
+    }
+    
     public static void removeThreadLocalCache() {
         DATA_FORMATTER_THREAD_LOCAL.remove();
     }
@@ -0,0 +1,86 @@
+package cn.idev.excel.util;
+
+import cn.idev.excel.exception.ExcelAnalysisException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Read the sheets in parallel.
+ */
+public class ParallelSheetUtils {
+    
+    private ParallelSheetUtils() {
+    }
+    
+    /**
+     * Run the task of each sheet on the executor and wait for all of them, a task is run by the caller if the
+     * executor rejects it. The first failure is recorded, so that the other tasks can stop, and is thrown after all
+     * the tasks are finished. The thread-local caches filled by a task on a thread of the executor are removed when the
+     * task is finished, they depend on the settings of the read and the thread may be reused by another read.
+     *
+     * @param executor The executor of the sheets
+     * @param sheetTaskList The task of each sheet
+     * @param failure The first failure
+     */
+    public static void execute(Executor executor, List<Runnable> sheetTaskList, AtomicReference<Throwable> failure) {
+        Thread caller = Thread.currentThread();
+        List<FutureTask<Void>> taskList = new ArrayList<>(sheetTaskList.size());
+        for (Runnable sheetTask : sheetTaskList) {
+            taskList.add(new FutureTask<>(() -> {
+                try {
+                    sheetTask.run();
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                    throw t;
+                } finally {
+                    // The caches of the caller are removed when the read is finished
+                    if (Thread.currentThread() != caller) {
+                        removeThreadLocalCache();
+                    }
+                }
+            }, null));
+        }
+        for (FutureTask<Void> task : taskList) {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                task.run();
+            }
+        }
+        for (FutureTask<Void> task : taskList) {
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure.compareAndSet(null, e);
+            } catch (ExecutionException ignore) {
+                // The first failure has been recorded
+            }
+        }
+        Throwable throwable = failure.get();
+        if (throwable instanceof RuntimeException) {
+            throw (RuntimeException) throwable;
+        }
+        if (throwable instanceof Error) {
+            throw (Error) throwable;
+        }
+        if (throwable != null) {
+            throw new ExcelAnalysisException(throwable);
+        }
+    }
+    
+    /**
+     * Remove the thread-local caches of the current thread.
+     */
+    private static void removeThreadLocalCache() {
+        NumberDataFormatterUtils.removeThreadLocalCache();
+        DateUtils.removeThreadLocalCache();
+        ClassUtils.removeThreadLocalCache();
+    }
+}
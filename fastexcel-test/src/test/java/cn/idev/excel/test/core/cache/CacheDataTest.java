@@ -1,16 +1,30 @@
 package cn.idev.excel.test.core.cache;
 
 import cn.idev.excel.EasyExcel;
+import cn.idev.excel.ExcelReader;
 import cn.idev.excel.annotation.ExcelProperty;
+import cn.idev.excel.cache.CompactMapCache;
+import cn.idev.excel.cache.Ehcache;
+import cn.idev.excel.cache.FileCache;
+import cn.idev.excel.cache.MapCache;
+import cn.idev.excel.cache.MappedFileCache;
+import cn.idev.excel.cache.ReadCacheStatistics;
+import cn.idev.excel.cache.SharedStringsStore;
+import cn.idev.excel.cache.SheetIndexStore;
+import cn.idev.excel.cache.XlsCache;
+import cn.idev.excel.cache.selector.AdaptiveReadCacheSelector;
+import cn.idev.excel.cache.selector.SimpleReadCacheSelector;
 import cn.idev.excel.context.AnalysisContext;
 import cn.idev.excel.enums.CacheLocationEnum;
 import cn.idev.excel.event.AnalysisEventListener;
+import cn.idev.excel.exception.ExcelAnalysisException;
 import cn.idev.excel.metadata.FieldCache;
 import cn.idev.excel.read.listener.PageReadListener;
 import cn.idev.excel.test.demo.read.DemoData;
 import cn.idev.excel.test.util.TestFileUtil;
 import cn.idev.excel.util.ClassUtils;
 import cn.idev.excel.util.FieldUtils;
+import cn.idev.excel.util.FileUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
@@ -19,10 +33,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 
 import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -35,6 +55,8 @@ public class CacheDataTest {
     
     private static File file07;
     
+    private static File file03;
+    
     private static File fileCacheInvoke;
     
     private static File fileCacheInvoke2;
@@ -46,6 +68,7 @@ public class CacheDataTest {
     @BeforeAll
     public static void init() {
         file07 = TestFileUtil.createNewFile("cache/cache.xlsx");
+        file03 = TestFileUtil.createNewFile("cache/cache.xls");
         fileCacheInvoke = TestFileUtil.createNewFile("cache/fileCacheInvoke.xlsx");
         fileCacheInvoke2 = TestFileUtil.createNewFile("cache/fileCacheInvoke2.xlsx");
         fileCacheInvokeMemory = TestFileUtil.createNewFile("cache/fileCacheInvokeMemory.xlsx");
@@ -173,6 +196,278 @@ public class CacheDataTest {
         
     }
     
+    @Test
+    public void t04ReadMappedFileCache() {
+        EasyExcel.write(file07, CacheData.class).inMemory(Boolean.TRUE).sheet().doWrite(data());
+        List<CacheData> list = EasyExcel.read(file07).head(CacheData.class).readCache(new MappedFileCache()).sheet()
+                .doReadSync();
+        Assertions.assertEquals(data(), list);
+        
+        SimpleReadCacheSelector simpleReadCacheSelector = new SimpleReadCacheSelector();
+        simpleReadCacheSelector.setMaxUseMapCacheSize(0L);
+        simpleReadCacheSelector.setUseMappedFileCache(Boolean.TRUE);
+        list = EasyExcel.read(file07).head(CacheData.class).readCacheSelector(simpleReadCacheSelector).sheet()
+                .doReadSync();
+        Assertions.assertEquals(data(), list);
+    }
+    
+    @Test
+    public void t05ReadCompactMapCache() {
+        EasyExcel.write(file07, CacheData.class).inMemory(Boolean.TRUE).sheet().doWrite(data());
+        List<CacheData> list = EasyExcel.read(file07).head(CacheData.class).readCache(new CompactMapCache(16))
+                .sheet().doReadSync();
+        Assertions.assertEquals(data(), list);
+        
+        SimpleReadCacheSelector simpleReadCacheSelector = new SimpleReadCacheSelector();
+        simpleReadCacheSelector.setUseCompactMapCache(Boolean.TRUE);
+        list = EasyExcel.read(file07).head(CacheData.class).readCacheSelector(simpleReadCacheSelector).sheet()
+                .doReadSync();
+        Assertions.assertEquals(data(), list);
+        
+        // A value larger than an arena
+        StringBuilder largeValue = new StringBuilder();
+        for (int i = 0; i < (1 << 20) + 1; i++) {
+            largeValue.append((char) ('a' + i % 26));
+        }
+        CompactMapCache compactMapCache = new CompactMapCache();
+        compactMapCache.put("before");
+        compactMapCache.put(largeValue.toString());
+        compactMapCache.put("after");
+        compactMapCache.putFinished();
+        Assertions.assertEquals("before", compactMapCache.get(0));
+        Assertions.assertEquals(largeValue.toString(), compactMapCache.get(1));
+        Assertions.assertEquals("after", compactMapCache.get(2));
+    }
+    
+    @Test
+    public void t06ReadLazySharedStrings() {
+        EasyExcel.write(file07, CacheData.class).inMemory(Boolean.TRUE).sheet().doWrite(data());
+        List<CacheData> list = EasyExcel.read(file07).head(CacheData.class).lazySharedStrings(Boolean.TRUE).sheet()
+                .doReadSync();
+        Assertions.assertEquals(data(), list);
+        
+        List<Map<Integer, String>> mapList = EasyExcel.read(file07).lazySharedStrings(Boolean.TRUE).sheet()
+                .doReadSync();
+        Assertions.assertEquals(10, mapList.size());
+        Assertions.assertEquals("姓名0", mapList.get(0).get(0));
+    }
+    
+    @Test
+    public void t07ReadAsyncSharedStrings() {
+        EasyExcel.write(file07, CacheData.class).inMemory(Boolean.TRUE).sheet().doWrite(data());
+        List<CacheData> list = EasyExcel.read(file07).head(CacheData.class).asyncSharedStrings(Boolean.TRUE).sheet()
+                .doReadSync();
+        Assertions.assertEquals(data(), list);
+        
+        list = EasyExcel.read(file07).head(CacheData.class).asyncSharedStrings(Boolean.TRUE)
+                .readCache(new MappedFileCache()).sheet().doReadSync();
+        Assertions.assertEquals(data(), list);
+    }
+    
+    @Test
+    public void t08ReadAdaptiveReadCacheSelector() {
+        EasyExcel.write(file07, CacheData.class).inMemory(Boolean.TRUE).sheet().doWrite(data());
+        List<CacheData> list = EasyExcel.read(file07).head(CacheData.class)
+                .readCacheSelector(new AdaptiveReadCacheSelector()).sheet().doReadSync();
+        Assertions.assertEquals(data(), list);
+        
+        AdaptiveReadCacheSelector adaptiveReadCacheSelector = new AdaptiveReadCacheSelector();
+        adaptiveReadCacheSelector.setMaxHeapUsageRatio(0D);
+        list = EasyExcel.read(file07).head(CacheData.class).readCacheSelector(adaptiveReadCacheSelector).sheet()
+                .doReadSync();
+        Assertions.assertEquals(data(), list);
+    }
+    
+    @Test
+    public void t09ReadFileCache() {
+        EasyExcel.write(file07, CacheData.class).inMemory(Boolean.TRUE).sheet().doWrite(data());
+        List<CacheData> list = EasyExcel.read(file07).head(CacheData.class).readCache(new FileCache()).sheet()
+                .doReadSync();
+        Assertions.assertEquals(data(), list);
+        Assertions.assertEquals(0L, FileCache.getTotalDiskUsage());
+        
+        long maxTotalDiskUsage = FileCache.getMaxTotalDiskUsage();
+        FileCache.setMaxTotalDiskUsage(1L);
+        try {
+            Assertions.assertThrows(ExcelAnalysisException.class,
+                    () -> EasyExcel.read(file07).head(CacheData.class).readCache(new FileCache()).sheet()
+                            .doReadSync());
+        } finally {
+            FileCache.setMaxTotalDiskUsage(maxTotalDiskUsage);
+        }
+        Assertions.assertEquals(0L, FileCache.getTotalDiskUsage());
+    }
+    
+    @Test
+    public void t10ReadEhcachePrefetch() {
+        List<CacheData> data = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            CacheData cacheData = new CacheData();
+            cacheData.setName("姓名" + i);
+            cacheData.setAge((long) i);
+            data.add(cacheData);
+        }
+        EasyExcel.write(file07, CacheData.class).inMemory(Boolean.TRUE).sheet().doWrite(data);
+        List<CacheData> list = EasyExcel.read(file07).head(CacheData.class).readCache(new Ehcache(null, 4, 10, 8))
+                .sheet().doReadSync();
+        Assertions.assertEquals(data, list);
+    }
+    
+    @Test
+    public void t11ReadPersistentSharedStrings() throws IOException {
+        EasyExcel.write(file07, CacheData.class).inMemory(Boolean.TRUE).sheet().doWrite(data());
+        SharedStringsStore.evictAll();
+        List<CacheData> list = EasyExcel.read(file07).head(CacheData.class).persistentSharedStrings(Boolean.TRUE)
+                .sheet().doReadSync();
+        Assertions.assertEquals(data(), list);
+        Assertions.assertTrue(SharedStringsStore.size() > 0);
+        Assertions.assertEquals(new File(FileUtils.getStorePath()), SharedStringsStore.getDirectory().getParentFile());
+        
+        list = EasyExcel.read(file07).head(CacheData.class).persistentSharedStrings(Boolean.TRUE).sheet()
+                .doReadSync();
+        Assertions.assertEquals(data(), list);
+        
+        SharedStringsStore.evictAll();
+        Assertions.assertEquals(0L, SharedStringsStore.size());
+        
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            readPersistentSharedStringsInSymbolicLink();
+        }
+    }
+    
+    /**
+     * Only the owner can access the directory, and a directory that is a symbolic link is not used.
+     */
+    private void readPersistentSharedStringsInSymbolicLink() throws IOException {
+        Assertions.assertEquals(PosixFilePermissions.fromString("rwx------"),
+                Files.getPosixFilePermissions(SharedStringsStore.getDirectory().toPath()));
+        Assertions.assertEquals(PosixFilePermissions.fromString("rwx------"),
+                Files.getPosixFilePermissions(new File(FileUtils.getStorePath()).toPath()));
+        
+        File target = TestFileUtil.createNewFile("sharedStringsTarget");
+        FileUtils.delete(target);
+        Files.createDirectories(target.toPath());
+        File link = TestFileUtil.createNewFile("sharedStringsLink");
+        Files.deleteIfExists(link.toPath());
+        Files.createSymbolicLink(link.toPath(), target.toPath());
+        SharedStringsStore.setDirectory(link);
+        try {
+            List<CacheData> list = EasyExcel.read(file07).head(CacheData.class)
+                    .persistentSharedStrings(Boolean.TRUE).sheet().doReadSync();
+            Assertions.assertEquals(data(), list);
+            Assertions.assertEquals(0L, SharedStringsStore.size());
+            String[] targetFiles = target.list();
+            Assertions.assertNotNull(targetFiles);
+            Assertions.assertEquals(0, targetFiles.length);
+        } finally {
+            SharedStringsStore.setDirectory(null);
+            Files.deleteIfExists(link.toPath());
+            FileUtils.delete(target);
+        }
+    }
+    
+    @Test
+    public void t12ReadCacheStatistics() {
+        EasyExcel.write(file07, CacheData.class).inMemory(Boolean.TRUE).sheet().doWrite(data());
+        ExcelReader excelReader = EasyExcel.read(file07, CacheData.class, new PageReadListener<CacheData>(list -> {
+        })).readCache(new MapCache()).build();
+        excelReader.readAll();
+        excelReader.finish();
+        ReadCacheStatistics readCacheStatistics = excelReader.analysisContext().readWorkbookHolder()
+                .getReadCacheStatistics();
+        Assertions.assertNotNull(readCacheStatistics);
+        Assertions.assertEquals(MapCache.class.getSimpleName(), readCacheStatistics.getCacheName());
+        Assertions.assertTrue(readCacheStatistics.getStoredCount() > 0);
+        Assertions.assertTrue(readCacheStatistics.getGetCount() > 0);
+        Assertions.assertNotNull(readCacheStatistics.getParseTime());
+    }
+    
+    @Test
+    public void t13ReadPersistentSheetIndex() throws IOException {
+        List<CacheData> data = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            CacheData cacheData = new CacheData();
+            cacheData.setName("姓名" + i);
+            cacheData.setAge((long) i);
+            data.add(cacheData);
+        }
+        EasyExcel.write(file07, CacheData.class).sheet().doWrite(data);
+        SheetIndexStore.evictAll();
+        SharedStringsStore.evictAll();
+        // The first read stores the sheet, the second one seeks to the start row
+        for (int i = 0; i < 2; i++) {
+            List<CacheData> list = EasyExcel.read(file07).head(CacheData.class).persistentSheetIndex(Boolean.TRUE)
+                    .sheet().startRow(2500).endRow(2509).doReadSync();
+            Assertions.assertEquals(data.subList(2499, 2509), list);
+            Assertions.assertTrue(SheetIndexStore.size() > 0);
+            Assertions.assertTrue(SharedStringsStore.size() > 0);
+            if (i == 0) {
+                // Break a row that is skipped by the seek, the read only succeeds if the index is used
+                breakStoredRow(1500);
+            }
+        }
+        Assertions.assertThrows(ExcelAnalysisException.class,
+                () -> EasyExcel.read(file07).head(CacheData.class).persistentSheetIndex(Boolean.TRUE).sheet()
+                        .doReadSync());
+        
+        // Break the row that the seek starts from, the sheet is stored again
+        breakStoredRow(2000);
+        List<CacheData> list = EasyExcel.read(file07).head(CacheData.class).persistentSheetIndex(Boolean.TRUE)
+                .sheet().startRow(2500).endRow(2509).doReadSync();
+        Assertions.assertEquals(data.subList(2499, 2509), list);
+        list = EasyExcel.read(file07).head(CacheData.class).persistentSheetIndex(Boolean.TRUE).sheet().doReadSync();
+        Assertions.assertEquals(data, list);
+        
+        SheetIndexStore.evictAll();
+        SharedStringsStore.evictAll();
+        Assertions.assertEquals(0L, SheetIndexStore.size());
+    }
+    
+    /**
+     * Replace the row tag in the stored sheet with the same number of invalid bytes.
+     *
+     * @param rowIndex index of the row
+     */
+    private void breakStoredRow(int rowIndex) throws IOException {
+        File[] sheetFiles = SheetIndexStore.getDirectory().listFiles((dir, name) -> name.endsWith(".xml"));
+        Assertions.assertNotNull(sheetFiles);
+        Assertions.assertEquals(1, sheetFiles.length);
+        String sheet = new String(Files.readAllBytes(sheetFiles[0].toPath()), StandardCharsets.UTF_8);
+        String rowTag = "<row r=\"" + (rowIndex + 1) + "\"";
+        int start = sheet.indexOf(rowTag);
+        Assertions.assertTrue(start > 0);
+        char[] invalid = new char[rowTag.length()];
+        Arrays.fill(invalid, '<');
+        sheet = sheet.substring(0, start) + new String(invalid) + sheet.substring(start + rowTag.length());
+        long lastModified = sheetFiles[0].lastModified();
+        Files.write(sheetFiles[0].toPath(), sheet.getBytes(StandardCharsets.UTF_8));
+        sheetFiles[0].setLastModified(lastModified);
+    }
+    
+    @Test
+    public void t14ReadXlsCache() {
+        List<CacheData> data = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            CacheData cacheData = new CacheData();
+            cacheData.setName("姓名" + (i % 5));
+            cacheData.setAge((long) i);
+            data.add(cacheData);
+        }
+        EasyExcel.write(file03, CacheData.class).sheet().doWrite(data);
+        List<CacheData> list = new ArrayList<>();
+        ExcelReader excelReader = EasyExcel.read(file03, CacheData.class, new PageReadListener<CacheData>(list::addAll))
+                .build();
+        excelReader.readAll();
+        excelReader.finish();
+        Assertions.assertEquals(data, list);
+        ReadCacheStatistics readCacheStatistics = excelReader.analysisContext().readWorkbookHolder()
+                .getReadCacheStatistics();
+        Assertions.assertEquals(XlsCache.class.getSimpleName(), readCacheStatistics.getCacheName());
+        Assertions.assertTrue(readCacheStatistics.getGetCount() >= 100);
+        // The repeated names are decoded once
+        Assertions.assertTrue(readCacheStatistics.getMissCount() <= readCacheStatistics.getStoredCount());
+    }
+    
     private List<CacheData> data() {
         List<CacheData> list = new ArrayList<CacheData>();
         for (int i = 0; i < 10; i++) {
@@ -50,6 +50,13 @@ public class CellDataDataTest {
         readAndWrite(fileCsv);
     }
     
+    @Test
+    public void t04ReadSheetTokenizer07() throws Exception {
+        EasyExcel.write(file07, CellDataWriteData.class).sheet().doWrite(data());
+        EasyExcel.read(file07, CellDataReadData.class, new CellDataDataListener()).useSheetTokenizer(Boolean.TRUE)
+                .sheet().doRead();
+    }
+    
     private void readAndWrite(File file) throws Exception {
         EasyExcel.write(file, CellDataWriteData.class).sheet().doWrite(data());
         EasyExcel.read(file, CellDataReadData.class, new CellDataDataListener()).sheet().doRead();
@@ -1,7 +1,10 @@
 package cn.idev.excel.test.core.converter;
 
+import cn.idev.excel.constant.EasyExcelConstants;
 import cn.idev.excel.converters.WriteConverterContext;
 import cn.idev.excel.converters.floatconverter.FloatNumberConverter;
+import cn.idev.excel.enums.CellDataTypeEnum;
+import cn.idev.excel.metadata.data.ReadCellData;
 import cn.idev.excel.metadata.data.WriteCellData;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.MethodOrderer;
@@ -25,4 +28,24 @@ public class ConverterTest {
         Assertions.assertEquals(0, writeCellData.getNumberValue().compareTo(new BigDecimal("95.62")));
     }
     
+    @Test
+    public void t02LazyNumberValue() {
+        String[] values = {"0", "-0.0", "1", "-25", "2087.0249999999996", "0.000123", "44729.99998836806",
+                "123456789012345678", "-99999999999999.9", ".5", "1."};
+        for (String value : values) {
+            ReadCellData<?> readCellData = new ReadCellData<>(CellDataTypeEnum.NUMBER);
+            Assertions.assertTrue(readCellData.setLazyNumberValue(value));
+            BigDecimal originalNumberValue = new BigDecimal(value);
+            BigDecimal numberValue = originalNumberValue.round(EasyExcelConstants.EXCEL_MATH_CONTEXT);
+            Assertions.assertEquals(numberValue.doubleValue(), readCellData.doubleNumberValue());
+            Assertions.assertEquals(numberValue.longValue(), readCellData.longNumberValue());
+            Assertions.assertEquals(originalNumberValue, readCellData.getOriginalNumberValue());
+            Assertions.assertEquals(numberValue, readCellData.getNumberValue());
+        }
+        ReadCellData<?> readCellData = new ReadCellData<>(CellDataTypeEnum.NUMBER);
+        Assertions.assertFalse(readCellData.setLazyNumberValue("1.5E-5"));
+        Assertions.assertFalse(readCellData.setLazyNumberValue("1234567890123456789"));
+        Assertions.assertFalse(readCellData.setLazyNumberValue("-"));
+    }
+    
 }
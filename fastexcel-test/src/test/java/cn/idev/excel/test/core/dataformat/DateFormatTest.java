@@ -1,6 +1,8 @@
 package cn.idev.excel.test.core.dataformat;
 
 import cn.idev.excel.EasyExcel;
+import cn.idev.excel.enums.DataFormatKindEnum;
+import cn.idev.excel.metadata.data.DataFormatData;
 import cn.idev.excel.test.util.TestFileUtil;
 import com.alibaba.fastjson2.JSON;
 import lombok.extern.slf4j.Slf4j;
@@ -62,6 +64,41 @@ public class DateFormatTest {
         Assertions.assertEquals("2023-1-01 00:00:01", dataMap.get(6).get(0));
     }
     
+    @Test
+    public void t04ReadLightweightMetadata() {
+        List<Map<Integer, String>> dataMap = EasyExcel.read(file07V2).headRowNumber(0).doReadAllSync();
+        List<Map<Integer, String>> lightweightDataMap = EasyExcel.read(file07V2).headRowNumber(0)
+                .lightweightMetadata(Boolean.TRUE).doReadAllSync();
+        Assertions.assertEquals(dataMap, lightweightDataMap);
+        
+        List<DateFormatData> list = EasyExcel.read(file07, DateFormatData.class, null).locale(Locale.US).sheet()
+                .doReadSync();
+        List<DateFormatData> lightweightList = EasyExcel.read(file07, DateFormatData.class, null).locale(Locale.US)
+                .lightweightMetadata(Boolean.TRUE).sheet().doReadSync();
+        Assertions.assertEquals(JSON.toJSONString(list), JSON.toJSONString(lightweightList));
+    }
+    
+    @Test
+    public void t05DataFormatKind() {
+        Assertions.assertEquals(DataFormatKindEnum.DATE, DataFormatKindEnum.of((short) 14, "m/d/yy"));
+        Assertions.assertEquals(DataFormatKindEnum.DATE, DataFormatKindEnum.of((short) 176, "yyyy-mm-dd hh:mm"));
+        Assertions.assertEquals(DataFormatKindEnum.TIME, DataFormatKindEnum.of((short) 20, "h:mm"));
+        Assertions.assertEquals(DataFormatKindEnum.TIME, DataFormatKindEnum.of((short) 177, "hh:mm:ss"));
+        Assertions.assertEquals(DataFormatKindEnum.PERCENT, DataFormatKindEnum.of((short) 10, "0.00%"));
+        Assertions.assertEquals(DataFormatKindEnum.NUMBER, DataFormatKindEnum.of((short) 178, "\"%\"0.00"));
+        Assertions.assertEquals(DataFormatKindEnum.NUMBER, DataFormatKindEnum.of((short) 4, "#,##0.00"));
+        Assertions.assertEquals(DataFormatKindEnum.TEXT, DataFormatKindEnum.of((short) 49, "@"));
+        Assertions.assertEquals(DataFormatKindEnum.GENERAL, DataFormatKindEnum.of((short) 0, "General"));
+        Assertions.assertFalse(DataFormatKindEnum.of(null, "yyyy-mm-dd").isDate());
+        
+        DataFormatData dataFormatData = new DataFormatData();
+        dataFormatData.setIndex((short) 176);
+        dataFormatData.setFormat("0.00");
+        Assertions.assertEquals(DataFormatKindEnum.NUMBER, dataFormatData.getKind());
+        dataFormatData.setFormat("yyyy-mm-dd");
+        Assertions.assertEquals(DataFormatKindEnum.DATE, dataFormatData.getKind());
+    }
+    
     private void readCn(File file) {
         List<DateFormatData> list = EasyExcel.read(file, DateFormatData.class, null).locale(Locale.CHINA).sheet()
                 .doReadSync();
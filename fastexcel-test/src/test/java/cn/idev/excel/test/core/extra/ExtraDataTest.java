@@ -2,11 +2,15 @@ package cn.idev.excel.test.core.extra;
 
 import cn.idev.excel.EasyExcel;
 import cn.idev.excel.context.AnalysisContext;
+import cn.idev.excel.context.xlsx.XlsxReadContext;
 import cn.idev.excel.enums.CellExtraTypeEnum;
 import cn.idev.excel.metadata.CellExtra;
+import cn.idev.excel.read.builder.ExcelReaderBuilder;
 import cn.idev.excel.read.listener.ReadListener;
 import cn.idev.excel.test.util.TestFileUtil;
 import com.alibaba.fastjson2.JSON;
+import org.apache.poi.openxml4j.opc.PackageRelationship;
+import org.apache.poi.openxml4j.opc.PackageRelationshipCollection;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -14,6 +18,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @author Jiaju Zhuang
@@ -77,6 +83,79 @@ public class ExtraDataTest {
         }).extraRead(CellExtraTypeEnum.HYPERLINK).sheet().doRead();
     }
     
+    @Test
+    public void t04ReadSheetTokenizer07() {
+        EasyExcel.read(file07, ExtraData.class, new ExtraDataListener()).useSheetTokenizer(Boolean.TRUE)
+                .extraRead(CellExtraTypeEnum.COMMENT).extraRead(CellExtraTypeEnum.HYPERLINK)
+                .extraRead(CellExtraTypeEnum.MERGE).sheet().doRead();
+    }
+    
+    @Test
+    public void t05ReadLightweightMetadata07() {
+        List<CellExtra> extraList = readExtraList(EasyExcel.read(file07, ExtraData.class, null));
+        Assertions.assertEquals(4, extraList.size());
+        List<CellExtra> lightweightExtraList = readExtraList(
+                EasyExcel.read(file07, ExtraData.class, null).lightweightMetadata(Boolean.TRUE));
+        Assertions.assertEquals(JSON.toJSONString(extraList), JSON.toJSONString(lightweightExtraList));
+        
+        List<CellExtra> relationshipsExtraList = readExtraList(
+                EasyExcel.read(extraRelationships, ExtraData.class, null).lightweightMetadata(Boolean.TRUE));
+        Assertions.assertEquals(2, relationshipsExtraList.size());
+        Assertions.assertEquals("222222222", relationshipsExtraList.get(0).getText());
+        Assertions.assertEquals("333333333333", relationshipsExtraList.get(1).getText());
+    }
+    
+    @Test
+    public void t06ReadDeprecatedRelationships07() {
+        List<String> targetList = new ArrayList<>();
+        EasyExcel.read(extraRelationships, ExtraData.class, new ReadListener<Object>() {
+            @Override
+            public void invoke(Object data, AnalysisContext context) {
+            }
+            
+            @Override
+            public void doAfterAllAnalysed(AnalysisContext context) {
+            }
+            
+            @Override
+            @SuppressWarnings("deprecation")
+            public void extra(CellExtra extra, AnalysisContext context) {
+                XlsxReadContext xlsxReadContext = (XlsxReadContext) context;
+                PackageRelationshipCollection packageRelationshipCollection = xlsxReadContext.xlsxReadSheetHolder()
+                        .getPackageRelationshipCollection();
+                Assertions.assertNotNull(packageRelationshipCollection);
+                Assertions.assertEquals(packageRelationshipCollection.size(), xlsxReadContext.xlsxReadWorkbookHolder()
+                        .getPackageRelationshipCollectionMap().get(context.readSheetHolder().getSheetNo()).size());
+                for (PackageRelationship packageRelationship : packageRelationshipCollection) {
+                    if (packageRelationship.getTargetURI().toString().equals(extra.getText())) {
+                        targetList.add(extra.getText());
+                    }
+                }
+            }
+        }).extraRead(CellExtraTypeEnum.HYPERLINK).sheet().doRead();
+        Assertions.assertEquals(2, targetList.size());
+    }
+    
+    private List<CellExtra> readExtraList(ExcelReaderBuilder excelReaderBuilder) {
+        List<CellExtra> extraList = new ArrayList<>();
+        excelReaderBuilder.registerReadListener(new ReadListener<Object>() {
+            @Override
+            public void invoke(Object data, AnalysisContext context) {
+            }
+            
+            @Override
+            public void doAfterAllAnalysed(AnalysisContext context) {
+            }
+            
+            @Override
+            public void extra(CellExtra extra, AnalysisContext context) {
+                extraList.add(extra);
+            }
+        }).extraRead(CellExtraTypeEnum.COMMENT).extraRead(CellExtraTypeEnum.HYPERLINK)
+                .extraRead(CellExtraTypeEnum.MERGE).sheet().doRead();
+        return extraList;
+    }
+    
     private void read(File file) {
         EasyExcel.read(file, ExtraData.class, new ExtraDataListener()).extraRead(CellExtraTypeEnum.COMMENT)
                 .extraRead(CellExtraTypeEnum.HYPERLINK).extraRead(CellExtraTypeEnum.MERGE).sheet().doRead();
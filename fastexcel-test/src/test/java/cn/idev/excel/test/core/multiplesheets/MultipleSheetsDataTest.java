@@ -2,6 +2,11 @@ package cn.idev.excel.test.core.multiplesheets;
 
 import cn.idev.excel.EasyExcel;
 import cn.idev.excel.ExcelReader;
+import cn.idev.excel.cache.MapCache;
+import cn.idev.excel.cache.selector.ReadCacheSelector;
+import cn.idev.excel.context.AnalysisContext;
+import cn.idev.excel.event.AnalysisEventListener;
+import cn.idev.excel.read.builder.ExcelReaderBuilder;
 import cn.idev.excel.read.metadata.ReadSheet;
 import cn.idev.excel.test.util.TestFileUtil;
 import org.junit.jupiter.api.Assertions;
@@ -11,7 +16,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author Jiaju Zhuang
@@ -19,6 +33,8 @@ import java.util.List;
 @TestMethodOrder(MethodOrderer.MethodName.class)
 public class MultipleSheetsDataTest {
     
+    private static final String PARALLEL_THREAD_NAME_PREFIX = "parallel-sheet-";
+    
     private static File file07;
     
     private static File file03;
@@ -47,6 +63,139 @@ public class MultipleSheetsDataTest {
     @Test
     public void t04Read03All() {
         readAll(file03);
+        // The rest of the file is not read after the end row of the last sheet, but every sheet is still ended
+        readHeadOnly(EasyExcel.read(file03));
+    }
+    
+    @Test
+    public void t05Read07AllParallel() {
+        List<String> titleList = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try (ExcelReader excelReader = EasyExcel.read(file07, MultipleSheetsData.class,
+                new AnalysisEventListener<MultipleSheetsData>() {
+                    @Override
+                    public void invoke(MultipleSheetsData data, AnalysisContext context) {
+                        titleList.add(data.getTitle());
+                    }
+                    
+                    @Override
+                    public void doAfterAllAnalysed(AnalysisContext context) {
+                    }
+                }).parallelSheets(executorService).build()) {
+            int sheetCount = excelReader.excelExecutor().sheetList().size();
+            excelReader.readAll();
+            Assertions.assertEquals(sheetCount, titleList.size());
+            Assertions.assertTrue(titleList.contains("表1数据"));
+        } finally {
+            executorService.shutdown();
+        }
+    }
+    
+    @Test
+    public void t06Read07AllStreamingZip() throws Exception {
+        List<String> expectedTitleList = readAllTitles(EasyExcel.read(file07));
+        try (InputStream inputStream = new FileInputStream(file07)) {
+            List<String> titleList = readAllTitles(EasyExcel.read(inputStream).streamingZip(Boolean.TRUE));
+            Assertions.assertEquals(expectedTitleList, titleList);
+        }
+        // a selector that only knows the package parts is never given a null part
+        ReadCacheSelector packagePartCacheSelector = sharedStringsTablePackagePart -> {
+            Assertions.assertNotNull(sharedStringsTablePackagePart);
+            return new MapCache();
+        };
+        try (InputStream inputStream = new FileInputStream(file07)) {
+            List<String> titleList = readAllTitles(
+                    EasyExcel.read(inputStream).streamingZip(Boolean.TRUE).readCacheSelector(packagePartCacheSelector));
+            Assertions.assertEquals(expectedTitleList, titleList);
+        }
+    }
+    
+    @Test
+    public void t07Read03SeekXlsSheet() {
+        List<String> expectedTitleList = readAllTitles(EasyExcel.read(file03));
+        List<String> titleList = readAllTitles(EasyExcel.read(file03).seekXlsSheet(Boolean.TRUE));
+        Assertions.assertEquals(expectedTitleList, titleList);
+        
+        List<String> lastSheetTitleList = new ArrayList<>();
+        try (ExcelReader excelReader = EasyExcel.read(file03).seekXlsSheet(Boolean.TRUE).build()) {
+            List<ReadSheet> sheets = excelReader.excelExecutor().sheetList();
+            ReadSheet lastSheet = sheets.get(sheets.size() - 1);
+            excelReader.read(EasyExcel.readSheet(lastSheet.getSheetNo()).head(MultipleSheetsData.class)
+                    .registerReadListener(new AnalysisEventListener<MultipleSheetsData>() {
+                        @Override
+                        public void invoke(MultipleSheetsData data, AnalysisContext context) {
+                            lastSheetTitleList.add(context.readSheetHolder().getSheetName() + ":" + data.getTitle());
+                        }
+                        
+                        @Override
+                        public void doAfterAllAnalysed(AnalysisContext context) {
+                        }
+                    }).build());
+        }
+        Assertions.assertFalse(lastSheetTitleList.isEmpty());
+        Assertions.assertTrue(expectedTitleList.containsAll(lastSheetTitleList));
+        
+        // The rest of a sheet is not read after its end row, but the sheet is still ended
+        Assertions.assertEquals(readHeadOnly(EasyExcel.read(file03)),
+                readHeadOnly(EasyExcel.read(file03).seekXlsSheet(Boolean.TRUE)));
+    }
+    
+    @Test
+    public void t08Read03AllParallel() throws Exception {
+        List<String> expectedTitleList = readAllTitles(EasyExcel.read(file03));
+        readAllParallel03(EasyExcel.read(file03), expectedTitleList);
+        try (InputStream inputStream = new FileInputStream(file03)) {
+            readAllParallel03(EasyExcel.read(inputStream), expectedTitleList);
+        }
+    }
+    
+    /**
+     * The sheets are read in any order, by the threads of the executor.
+     */
+    private void readAllParallel03(ExcelReaderBuilder excelReaderBuilder, List<String> expectedTitleList) {
+        List<String> titleList = Collections.synchronizedList(new ArrayList<>());
+        Set<String> threadNameSet = Collections.synchronizedSet(new HashSet<>());
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(2,
+                runnable -> new Thread(runnable, PARALLEL_THREAD_NAME_PREFIX + threadCount.incrementAndGet()));
+        try {
+            excelReaderBuilder.head(MultipleSheetsData.class).registerReadListener(
+                    new AnalysisEventListener<MultipleSheetsData>() {
+                        @Override
+                        public void invoke(MultipleSheetsData data, AnalysisContext context) {
+                            titleList.add(context.readSheetHolder().getSheetName() + ":" + data.getTitle());
+                            threadNameSet.add(Thread.currentThread().getName());
+                        }
+                        
+                        @Override
+                        public void doAfterAllAnalysed(AnalysisContext context) {
+                        }
+                    }).parallelSheets(executorService).doReadAll();
+        } finally {
+            executorService.shutdown();
+        }
+        Assertions.assertEquals(expectedTitleList.size(), titleList.size());
+        Assertions.assertTrue(titleList.containsAll(expectedTitleList));
+        Assertions.assertFalse(threadNameSet.isEmpty());
+        for (String threadName : threadNameSet) {
+            Assertions.assertTrue(threadName.startsWith(PARALLEL_THREAD_NAME_PREFIX), threadName);
+        }
+    }
+    
+    private List<String> readAllTitles(ExcelReaderBuilder excelReaderBuilder) {
+        List<String> titleList = new ArrayList<>();
+        excelReaderBuilder.head(MultipleSheetsData.class).registerReadListener(
+                new AnalysisEventListener<MultipleSheetsData>() {
+                    @Override
+                    public void invoke(MultipleSheetsData data, AnalysisContext context) {
+                        titleList.add(context.readSheetHolder().getSheetName() + ":" + data.getTitle());
+                    }
+                    
+                    @Override
+                    public void doAfterAllAnalysed(AnalysisContext context) {
+                    }
+                }).doReadAll();
+        return titleList;
     }
     
     private void read(File file) {
@@ -66,4 +215,33 @@ public class MultipleSheetsDataTest {
         EasyExcel.read(file, MultipleSheetsData.class, new MultipleSheetsListener()).doReadAll();
     }
     
+    /**
+     * Read each sheet up to its head row.
+     *
+     * @return the sheets that are ended
+     */
+    private List<Integer> readHeadOnly(ExcelReaderBuilder excelReaderBuilder) {
+        List<Integer> endedSheetNoList = new ArrayList<>();
+        try (ExcelReader excelReader = excelReaderBuilder.build()) {
+            List<ReadSheet> readSheetList = new ArrayList<>();
+            for (ReadSheet sheet : excelReader.excelExecutor().sheetList()) {
+                readSheetList.add(EasyExcel.readSheet(sheet.getSheetNo()).endRow(0).head(MultipleSheetsData.class)
+                        .registerReadListener(new AnalysisEventListener<MultipleSheetsData>() {
+                            @Override
+                            public void invoke(MultipleSheetsData data, AnalysisContext context) {
+                                Assertions.fail("Only the head row is read.");
+                            }
+                            
+                            @Override
+                            public void doAfterAllAnalysed(AnalysisContext context) {
+                                endedSheetNoList.add(context.readSheetHolder().getSheetNo());
+                            }
+                        }).build());
+            }
+            excelReader.read(readSheetList);
+            Assertions.assertEquals(readSheetList.size(), endedSheetNoList.size());
+        }
+        return endedSheetNoList;
+    }
+    
 }
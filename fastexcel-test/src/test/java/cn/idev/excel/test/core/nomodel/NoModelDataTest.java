@@ -17,6 +17,8 @@ import java.io.File;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -39,6 +41,8 @@ public class NoModelDataTest {
     
     private static File fileRepeatCsv;
     
+    private static File fileSparse07;
+    
     @BeforeAll
     public static void init() {
         file07 = TestFileUtil.createNewFile("noModel07.xlsx");
@@ -47,6 +51,7 @@ public class NoModelDataTest {
         fileRepeat07 = TestFileUtil.createNewFile("noModelRepeat07.xlsx");
         fileRepeat03 = TestFileUtil.createNewFile("noModelRepeat03.xls");
         fileRepeatCsv = TestFileUtil.createNewFile("noModelRepeatCsv.csv");
+        fileSparse07 = TestFileUtil.createNewFile("noModelSparse07.xlsx");
     }
     
     @Test
@@ -64,6 +69,30 @@ public class NoModelDataTest {
         readAndWrite(fileCsv, fileRepeatCsv, true);
     }
     
+    @Test
+    public void t04ReadSparseRow07() {
+        List<List<Object>> list = new ArrayList<>();
+        list.add(Arrays.asList("a", null, null, "d"));
+        EasyExcel.write(fileSparse07).sheet().doWrite(list);
+        List<Map<Integer, String>> result = EasyExcel.read(fileSparse07).headRowNumber(0).sheet().doReadSync();
+        Assertions.assertEquals(1, result.size());
+        Map<Integer, String> data = result.get(0);
+        Assertions.assertEquals(Arrays.asList(0, 1, 2, 3), new ArrayList<>(data.keySet()));
+        Assertions.assertEquals(Arrays.asList("a", null, null, "d"), new ArrayList<>(data.values()));
+        
+        // The map is still a normal map
+        data.put(5, "f");
+        data.remove(0);
+        Assertions.assertEquals(Arrays.asList(1, 2, 3, 5), new ArrayList<>(data.keySet()));
+        Map<Integer, String> expected = new HashMap<>();
+        expected.put(1, null);
+        expected.put(2, null);
+        expected.put(3, "d");
+        expected.put(5, "f");
+        Assertions.assertEquals(expected, data);
+        Assertions.assertThrows(NullPointerException.class, () -> data.put(null, "g"));
+    }
+    
     private void readAndWrite(File file, File fileRepeat, boolean isCsv) throws Exception {
         EasyExcel.write(file).sheet().doWrite(data());
         List<Map<Integer, String>> result = EasyExcel.read(file).headRowNumber(0).sheet().doReadSync();
@@ -0,0 +1,21 @@
+package cn.idev.excel.test.core.projection;
+
+import cn.idev.excel.annotation.ExcelProperty;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+public class ProjectionData {
+    
+    @ExcelProperty("姓名")
+    private String name;
+    
+    @ExcelProperty("年龄")
+    private Integer age;
+    
+    @ExcelProperty("城市")
+    private String city;
+}
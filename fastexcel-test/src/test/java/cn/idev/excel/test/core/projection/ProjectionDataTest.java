@@ -0,0 +1,105 @@
+package cn.idev.excel.test.core.projection;
+
+import cn.idev.excel.EasyExcel;
+import cn.idev.excel.test.util.TestFileUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Only read some columns of the data rows
+ */
+@TestMethodOrder(MethodOrderer.MethodName.class)
+public class ProjectionDataTest {
+    
+    private static File file07;
+    
+    private static File file03;
+    
+    private static File fileCsv;
+    
+    @BeforeAll
+    public static void init() {
+        file07 = TestFileUtil.createNewFile("projection07.xlsx");
+        file03 = TestFileUtil.createNewFile("projection03.xls");
+        fileCsv = TestFileUtil.createNewFile("projectionCsv.csv");
+    }
+    
+    @Test
+    public void t01ReadAndWrite07() {
+        readAndWrite(file07);
+    }
+    
+    @Test
+    public void t02ReadAndWrite03() {
+        readAndWrite(file03);
+    }
+    
+    @Test
+    public void t03ReadAndWriteCsv() {
+        readAndWrite(fileCsv);
+    }
+    
+    @Test
+    public void t04ReadSheetTokenizer07() {
+        EasyExcel.write(file07, ProjectionData.class).sheet().doWrite(data());
+        List<ProjectionData> list = EasyExcel.read(file07).head(ProjectionData.class).useSheetTokenizer(Boolean.TRUE)
+                .sheet().includeColumnFieldNames(Collections.singletonList("city")).doReadSync();
+        Assertions.assertEquals(10, list.size());
+        for (int i = 0; i < list.size(); i++) {
+            Assertions.assertNull(list.get(i).getName());
+            Assertions.assertNull(list.get(i).getAge());
+            Assertions.assertEquals("城市" + i, list.get(i).getCity());
+        }
+    }
+    
+    private void readAndWrite(File file) {
+        EasyExcel.write(file, ProjectionData.class).sheet().doWrite(data());
+        
+        List<ProjectionData> list = EasyExcel.read(file).head(ProjectionData.class).sheet()
+                .includeColumnFieldNames(Arrays.asList("name", "city")).doReadSync();
+        Assertions.assertEquals(10, list.size());
+        for (int i = 0; i < list.size(); i++) {
+            Assertions.assertEquals("姓名" + i, list.get(i).getName());
+            Assertions.assertNull(list.get(i).getAge());
+            Assertions.assertEquals("城市" + i, list.get(i).getCity());
+        }
+        
+        List<ProjectionNameData> nameList = EasyExcel.read(file).head(ProjectionNameData.class).sheet()
+                .includeHeadColumns(Boolean.TRUE).doReadSync();
+        Assertions.assertEquals(10, nameList.size());
+        for (int i = 0; i < nameList.size(); i++) {
+            Assertions.assertEquals("姓名" + i, nameList.get(i).getName());
+        }
+        
+        List<Map<Integer, String>> mapList = EasyExcel.read(file).sheet()
+                .includeColumnIndexes(Collections.singletonList(1)).doReadSync();
+        Assertions.assertEquals(10, mapList.size());
+        for (int i = 0; i < mapList.size(); i++) {
+            Assertions.assertNull(mapList.get(i).get(0));
+            Assertions.assertEquals(String.valueOf(i), mapList.get(i).get(1));
+            Assertions.assertNull(mapList.get(i).get(2));
+        }
+    }
+    
+    private List<ProjectionData> data() {
+        List<ProjectionData> list = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ProjectionData data = new ProjectionData();
+            data.setName("姓名" + i);
+            data.setAge(i);
+            data.setCity("城市" + i);
+            list.add(data);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,18 @@
+package cn.idev.excel.test.core.projection;
+
+import cn.idev.excel.annotation.ExcelProperty;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Only map one column of {@link ProjectionData}
+ */
+@Getter
+@Setter
+@EqualsAndHashCode
+public class ProjectionNameData {
+    
+    @ExcelProperty("姓名")
+    private String name;
+}
@@ -15,8 +15,11 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Test simple read/write for Excel formats:
@@ -40,11 +43,22 @@ public class SimpleDataTest {
     
     private static File fileCsv;
     
+    /**
+     * Rows of the pipeline tests, many batches of the pipeline
+     */
+    private static final int PIPELINE_ROW_COUNT = 5000;
+    
+    private static File filePipeline07;
+    
+    private static File filePipelineCsv;
+    
     @BeforeAll
     public static void init() {
         file07 = TestFileUtil.createNewFile("simple07.xlsx");
         file03 = TestFileUtil.createNewFile("simple03.xls");
         fileCsv = TestFileUtil.createNewFile("simpleCsv.csv");
+        filePipeline07 = TestFileUtil.createNewFile("simplePipeline07.xlsx");
+        filePipelineCsv = TestFileUtil.createNewFile("simplePipelineCsv.csv");
     }
     
     @Test
@@ -164,6 +178,104 @@ public class SimpleDataTest {
         }, 5)).sheet().doRead();
     }
     
+    @Test
+    public void t24RecycleRowObjects07() {
+        recycleRowObjects(file07);
+    }
+    
+    @Test
+    public void t25RecycleRowObjectsCsv() {
+        recycleRowObjects(fileCsv);
+    }
+    
+    /**
+     * Reuse the objects of each row, the data handed to the listener must not be changed by the next rows.
+     *
+     * @param file file
+     */
+    private void recycleRowObjects(File file) {
+        EasyExcel.read(file, SimpleData.class, new SimpleDataListener()).recycleRowObjects(Boolean.TRUE).sheet()
+                .doRead();
+        List<Map<Integer, String>> list = EasyExcel.read(file).recycleRowObjects(Boolean.TRUE).sheet().doReadSync();
+        Assertions.assertEquals(10, list.size());
+        for (int i = 0; i < list.size(); i++) {
+            Assertions.assertEquals("姓名" + i, list.get(i).get(0));
+        }
+    }
+    
+    @Test
+    public void t26PipelineRows07() {
+        pipelineRows(filePipeline07, true);
+    }
+    
+    @Test
+    public void t27PipelineRowsUnorderedCsv() {
+        pipelineRows(filePipelineCsv, false);
+    }
+    
+    /**
+     * Convert the rows on an executor, the listener must see all the rows, in the order of the file if it is ordered.
+     *
+     * @param file    file
+     * @param ordered whether the rows are in order
+     */
+    private void pipelineRows(File file, boolean ordered) {
+        List<SimpleData> data = new ArrayList<>();
+        for (int i = 0; i < PIPELINE_ROW_COUNT; i++) {
+            SimpleData simpleData = new SimpleData();
+            simpleData.setName("姓名" + i);
+            data.add(simpleData);
+        }
+        EasyExcel.write(file, SimpleData.class).sheet().doWrite(data);
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<SimpleData> list = EasyExcel.read(file).head(SimpleData.class).pipelineRows(executorService)
+                    .rowPipelineOrdered(ordered).sheet().doReadSync();
+            Assertions.assertEquals(PIPELINE_ROW_COUNT, list.size());
+            List<Integer> indexList = new ArrayList<>();
+            for (SimpleData simpleData : list) {
+                indexList.add(Integer.valueOf(simpleData.getName().substring("姓名".length())));
+            }
+            if (!ordered) {
+                Collections.sort(indexList);
+            }
+            for (int i = 0; i < indexList.size(); i++) {
+                Assertions.assertEquals(i, indexList.get(i).intValue());
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+    
+    @Test
+    public void t28ReadRowRange07() {
+        readRowRange(file07);
+    }
+    
+    @Test
+    public void t29ReadRowRange03() {
+        readRowRange(file03);
+    }
+    
+    @Test
+    public void t30ReadRowRangeCsv() {
+        readRowRange(fileCsv);
+    }
+    
+    /**
+     * Only read the rows from 3 to 5, the head row is still read.
+     *
+     * @param file file
+     */
+    private void readRowRange(File file) {
+        List<SimpleData> list = EasyExcel.read(file).head(SimpleData.class).sheet().startRow(3).endRow(5)
+                .doReadSync();
+        Assertions.assertEquals(3, list.size());
+        for (int i = 0; i < list.size(); i++) {
+            Assertions.assertEquals("姓名" + (i + 2), list.get(i).getName());
+        }
+    }
+    
     /**
      * Synchronous reading of Excel files
      * <p>
@@ -0,0 +1,201 @@
+package cn.idev.excel.test.core.tokenizer;
+
+import cn.idev.excel.EasyExcel;
+import cn.idev.excel.exception.ExcelAnalysisException;
+import cn.idev.excel.test.util.TestFileUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Reads hand written sheets with the sheet tokenizer and with the SAX parser, the results must be the same.
+ */
+@TestMethodOrder(MethodOrderer.MethodName.class)
+public class SheetTokenizerTest {
+    
+    private static final String SHEET_ENTRY_NAME = "xl/worksheets/sheet1.xml";
+    
+    private static final String SHEET_START =
+            "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">"
+                    + "<dimension ref=\"A1:C4\"/><sheetData>";
+    
+    private static final String SHEET_END = "</sheetData></worksheet>";
+    
+    private static File template07;
+    
+    @BeforeAll
+    public static void init() {
+        template07 = TestFileUtil.createNewFile("sheetTokenizerTemplate07.xlsx");
+        EasyExcel.write(template07).sheet().doWrite(
+                Collections.singletonList(Collections.singletonList("template")));
+    }
+    
+    @Test
+    public void t01ReadEntities07() throws IOException {
+        List<Map<Integer, String>> result = read("sheetTokenizerEntities07.xlsx", sheet(
+                "<row r=\"1\">"
+                        + "<c r=\"A1\" t=\"inlineStr\"><is><t>&amp;&lt;&gt;&quot;&apos;</t></is></c>"
+                        + "<c r=\"B1\" t=\"inlineStr\"><is><t>&#20013;&#x6587;&#x1F600;</t></is></c>"
+                        + "<c r=\"C1\" t=\"str\"><f>\"a\"&amp;\"b\"</f><v>a&amp;b</v></c>"
+                        + "</row>"), StandardCharsets.UTF_8);
+        Assertions.assertEquals(1, result.size());
+        Assertions.assertEquals("&<>\"'", result.get(0).get(0));
+        Assertions.assertEquals("中文😀", result.get(0).get(1));
+        Assertions.assertEquals("a&b", result.get(0).get(2));
+    }
+    
+    @Test
+    public void t02ReadCharacterData07() throws IOException {
+        List<Map<Integer, String>> result = read("sheetTokenizerCharacterData07.xlsx", sheet(
+                "<row r=\"1\">"
+                        + "<c r=\"A1\" t=\"inlineStr\"><is><t><![CDATA[a<b>&c]]></t></is></c>"
+                        + "<c r=\"B1\"><v><![CDATA[12]]>3</v></c>"
+                        + "<c r=\"C1\" t=\"inlineStr\"><is><t><![CDATA[]]]]><![CDATA[>]]></t></is></c>"
+                        + "</row>"), StandardCharsets.UTF_8);
+        Assertions.assertEquals(1, result.size());
+        Assertions.assertEquals("a<b>&c", result.get(0).get(0));
+        Assertions.assertEquals("123", result.get(0).get(1));
+        Assertions.assertEquals("]]>", result.get(0).get(2));
+    }
+    
+    @Test
+    public void t03ReadRichText07() throws IOException {
+        List<Map<Integer, String>> result = read("sheetTokenizerRichText07.xlsx", sheet(
+                "<row r=\"1\">"
+                        + "<c r=\"A1\" t=\"inlineStr\"><is><t xml:space=\"preserve\"> plain </t></is></c>"
+                        + "<c r=\"B1\" t=\"inlineStr\"><is>"
+                        + "<r><rPr><b/><sz val=\"11\"/><rFont val=\"Calibri\"/></rPr><t>bold</t></r>"
+                        + "<r><rPr><i/></rPr><t xml:space=\"preserve\"> and italic</t></r>"
+                        + "</is></c>"
+                        + "</row>"), StandardCharsets.UTF_8);
+        Assertions.assertEquals(1, result.size());
+        Assertions.assertEquals("plain", result.get(0).get(0));
+        Assertions.assertEquals("bold and italic", result.get(0).get(1));
+    }
+    
+    @Test
+    public void t04ReadSelfClosingTags07() throws IOException {
+        List<Map<Integer, String>> result = read("sheetTokenizerSelfClosing07.xlsx", sheet(
+                "<row r=\"1\"><c r=\"A1\"><v>1</v></c><c r=\"B1\" s=\"0\"/><c r=\"C1\"><v>3</v></c></row>"
+                        + "<row r=\"2\"/>"
+                        + "<row r=\"3\" spans=\"1:3\"><c r=\"A3\"/>"
+                        + "<c r=\"B3\" t=\"inlineStr\"><is><t>b</t></is></c></row>"
+                        + "<row><c><v>4</v></c><c/><c><v>6</v></c></row>"), StandardCharsets.UTF_8);
+        Assertions.assertEquals(3, result.size());
+        Assertions.assertEquals("1", result.get(0).get(0));
+        Assertions.assertNull(result.get(0).get(1));
+        Assertions.assertEquals("3", result.get(0).get(2));
+        Assertions.assertEquals("b", result.get(1).get(1));
+        Assertions.assertEquals("4", result.get(2).get(0));
+        Assertions.assertEquals("6", result.get(2).get(2));
+    }
+    
+    @Test
+    public void t05ReadComments07() throws IOException {
+        List<Map<Integer, String>> result = read("sheetTokenizerComments07.xlsx", sheet(
+                "<!-- <row r=\"1\"><c r=\"A1\"><v>0</v></c></row> -->"
+                        + "<row r=\"1\"><!-- a > b --><c r=\"A1\"><v>1<!-- - -->2</v></c>"
+                        + "<c r=\"B1\" t=\"inlineStr\"><is><t>a<!--<t>x</t>-->b</t></is></c></row>"
+                        + "<?processing instruction?>"), StandardCharsets.UTF_8);
+        Assertions.assertEquals(1, result.size());
+        Assertions.assertEquals("12", result.get(0).get(0));
+        Assertions.assertEquals("ab", result.get(0).get(1));
+    }
+    
+    @Test
+    public void t06ReadDocumentTypeDeclaration07() throws IOException {
+        File file = TestFileUtil.createNewFile("sheetTokenizerDocumentType07.xlsx");
+        writeSheet(file, ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<!DOCTYPE worksheet [<!ENTITY name \"value\">]>" + sheet(
+                "<row r=\"1\"><c r=\"A1\" t=\"inlineStr\"><is><t>&name;</t></is></c></row>")).getBytes(
+                StandardCharsets.UTF_8));
+        Assertions.assertThrows(ExcelAnalysisException.class,
+                () -> EasyExcel.read(file).headRowNumber(0).sheet().doReadSync());
+        Assertions.assertThrows(ExcelAnalysisException.class,
+                () -> EasyExcel.read(file).headRowNumber(0).useSheetTokenizer(Boolean.TRUE).sheet().doReadSync());
+    }
+    
+    @Test
+    public void t07ReadOtherEncoding07() throws IOException {
+        String rows = "<row r=\"1\"><c r=\"A1\" t=\"inlineStr\"><is><t>café &amp; crème</t></is></c>"
+                + "<c r=\"B1\"><v>1.5</v></c></row>";
+        List<Map<Integer, String>> result = read("sheetTokenizerLatin07.xlsx",
+                "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>" + sheet(rows), StandardCharsets.ISO_8859_1);
+        Assertions.assertEquals(1, result.size());
+        Assertions.assertEquals("café & crème", result.get(0).get(0));
+        Assertions.assertEquals("1.5", result.get(0).get(1));
+        
+        // UTF-16 with a byte order mark
+        result = read("sheetTokenizerUtf1607.xlsx", "<?xml version=\"1.0\" encoding=\"UTF-16\"?>" + sheet(rows),
+                StandardCharsets.UTF_16);
+        Assertions.assertEquals(1, result.size());
+        Assertions.assertEquals("café & crème", result.get(0).get(0));
+        Assertions.assertEquals("1.5", result.get(0).get(1));
+    }
+    
+    private static String sheet(String rows) {
+        return SHEET_START + rows + SHEET_END;
+    }
+    
+    /**
+     * Read the sheet with the SAX parser and with the sheet tokenizer.
+     *
+     * @return the rows read by the sheet tokenizer
+     */
+    private List<Map<Integer, String>> read(String fileName, String sheet, Charset charset) throws IOException {
+        File file = TestFileUtil.createNewFile(fileName);
+        writeSheet(file, sheet.getBytes(charset));
+        List<Map<Integer, String>> saxResult = EasyExcel.read(file).headRowNumber(0).sheet().doReadSync();
+        List<Map<Integer, String>> tokenizerResult = EasyExcel.read(file).headRowNumber(0)
+                .useSheetTokenizer(Boolean.TRUE).sheet().doReadSync();
+        Assertions.assertEquals(saxResult, tokenizerResult);
+        return tokenizerResult;
+    }
+    
+    /**
+     * Copy the template and replace its first sheet.
+     */
+    private void writeSheet(File file, byte[] sheet) throws IOException {
+        try (ZipFile zipFile = new ZipFile(template07);
+             ZipOutputStream zipOutputStream = new ZipOutputStream(new FileOutputStream(file))) {
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry zipEntry = entries.nextElement();
+                zipOutputStream.putNextEntry(new ZipEntry(zipEntry.getName()));
+                if (SHEET_ENTRY_NAME.equals(zipEntry.getName())) {
+                    zipOutputStream.write(sheet);
+                } else {
+                    try (InputStream inputStream = zipFile.getInputStream(zipEntry)) {
+                        copy(inputStream, zipOutputStream);
+                    }
+                }
+                zipOutputStream.closeEntry();
+            }
+        }
+    }
+    
+    private void copy(InputStream inputStream, OutputStream outputStream) throws IOException {
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = inputStream.read(buffer)) >= 0) {
+            outputStream.write(buffer, 0, read);
+        }
+    }
+}